@@ -0,0 +1,124 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 값 직렬화 비교: 기존 JSON (default typing) vs CompactRedisSerializer
+ *
+ * 대상 값:
+ * - user : 사용자 캐시 (CachedUser)
+ * - userInfo : /oauth2 콜백 사용자 정보 (user:info:{id})
+ * - large : LZ4 압축 임계값을 넘는 큰 Map
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=RedisCodecBenchmark
+ * 값 크기 비교는 시작 시 표준 출력으로 표시
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisCodecBenchmark {
+
+    @Param({ "user", "userInfo", "large" })
+    public String valueType;
+
+    private GenericJackson2JsonRedisSerializer legacy;
+    private CompactRedisSerializer compact;
+
+    private Object value;
+    private byte[] legacyBytes;
+    private byte[] compactBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacy = CompactRedisSerializer.legacyJsonSerializer();
+        compact = new CompactRedisSerializer(true, 1024).register(4, CachedUser.class);
+
+        value = switch (valueType) {
+            case "user" -> sampleUser();
+            case "userInfo" -> sampleUserInfo();
+            default -> sampleLarge();
+        };
+
+        legacyBytes = legacy.serialize(value);
+        compactBytes = compact.serialize(value);
+
+        System.out.printf("%n[크기] %s: json=%d bytes, compact=%d bytes (%.1f%%)%n",
+                valueType, legacyBytes.length, compactBytes.length,
+                100.0 * compactBytes.length / legacyBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeLegacy() {
+        return legacy.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() {
+        return compact.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserializeLegacy() {
+        return legacy.deserialize(legacyBytes);
+    }
+
+    @Benchmark
+    public Object deserializeCompact() {
+        return compact.deserialize(compactBytes);
+    }
+
+    // 기존 형식 값을 새 직렬화기로 읽는 경우 (전환 기간)
+    @Benchmark
+    public Object deserializeLegacyViaCompact() {
+        return compact.deserialize(legacyBytes);
+    }
+
+    private static CachedUser sampleUser() {
+        User user = User.builder()
+                .id(123456L)
+                .provider("kakao")
+                .providerId("3141592653")
+                .nickname("강경구")
+                .name("강경구")
+                .profileImageUrl("https://k.kakaocdn.net/dn/abcdEF/btsXyZ/profile_640x640.jpg")
+                .email("user@example.com")
+                .lastLoginAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+        user.setCreatedAt(LocalDateTime.of(2024, 6, 1, 9, 30));
+        return CachedUser.from(user);
+    }
+
+    private static Map<String, Object> sampleUserInfo() {
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("id", 123456L);
+        userInfo.put("nickname", "강경구");
+        userInfo.put("provider", "kakao");
+        userInfo.put("providerId", "3141592653");
+        userInfo.put("profileImageUrl", "https://k.kakaocdn.net/dn/abcdEF/btsXyZ/profile_640x640.jpg");
+        return userInfo;
+    }
+
+    private static Map<String, Object> sampleLarge() {
+        Map<String, Object> large = new HashMap<>();
+        for (int i = 0; i < 64; i++) {
+            large.put("field-" + i, "https://k.kakaocdn.net/dn/abcdEF/btsXyZ/profile_" + i + ".jpg");
+        }
+        return large;
+    }
+}
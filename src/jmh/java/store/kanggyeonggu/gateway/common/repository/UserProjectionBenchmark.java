@@ -0,0 +1,141 @@
+package store.kanggyeonggu.gateway.common.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기 전용 사용자 조회 비교: 관리 엔티티 → DTO vs 생성자 프로젝션 → DTO
+ *
+ * 대상 조회:
+ * - page : keyset 목록 페이지 (GET /api/users, rows 건)
+ *   pageProjection 은 응답 컬럼만 (UserSummary, 목록/내보내기),
+ *   pageSnapshot 은 캐시 스냅샷 전체 (CachedUser, 13 컬럼) 로 읽어 좁은 프로젝션과 비교
+ * - single : ID 단건 (사용자 캐시 DB 적재, CachedUser)
+ *
+ * 각 호출은 실제 서비스처럼 트랜잭션 하나 안에서 조회 + 매핑 + 커밋 (엔티티는 커밋 시 더티 체크)
+ * DB는 H2 인메모리 (네트워크 비용 제외, Hibernate 측 비용만 비교), JPA 콜백 (Spring 빈 리스너) 은 끔
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=UserProjectionBenchmark -Pjmh.profilers=gc
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserProjectionBenchmark {
+
+    private static final int USERS = 5000;
+
+    // 단건 조회 대상 (매 호출 새 세션이라 1차 캐시 적중 없음)
+    private static final long TARGET_ID = USERS / 2;
+
+    private static final String PAGE_QUERY = " WHERE u.deleted = false AND u.id > :afterId ORDER BY u.id";
+
+    @Param({ "20", "100" })
+    public int rows;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:users;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.JPA_CALLBACKS_ENABLED, "false")
+                .buildSessionFactory();
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 1; i <= USERS; i++) {
+                session.persist(User.builder()
+                        .provider(i % 3 == 0 ? "google" : "kakao")
+                        .providerId("31415" + i)
+                        .nickname("사용자" + i)
+                        .name("사용자" + i)
+                        .profileImageUrl("https://k.kakaocdn.net/dn/abcdEF/btsXyZ/profile_" + i + ".jpg")
+                        .email("user" + i + "@example.com")
+                        .createdAt(now)
+                        .lastLoginAt(now)
+                        .deleted(i % 50 == 0)
+                        .build());
+                if (i % 500 == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> pageEntity() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery("FROM User u" + PAGE_QUERY, User.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(UserResponse::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponse> pageProjection() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(UserRepository.USER_SUMMARY_PROJECTION + PAGE_QUERY, UserSummary.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(UserResponse::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponse> pageSnapshot() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(UserRepository.CACHED_USER_PROJECTION + PAGE_QUERY, CachedUser.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(UserResponse::from)
+                .toList());
+    }
+
+    @Benchmark
+    public CachedUser singleEntity() {
+        return sessionFactory.fromTransaction(session -> CachedUser.from(session.find(User.class, TARGET_ID)));
+    }
+
+    @Benchmark
+    public CachedUser singleProjection() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(UserRepository.CACHED_USER_PROJECTION + " WHERE u.id = :id", CachedUser.class)
+                .setParameter("id", TARGET_ID)
+                .getSingleResult());
+    }
+}
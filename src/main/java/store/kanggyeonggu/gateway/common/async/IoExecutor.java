@@ -0,0 +1,101 @@
+package store.kanggyeonggu.gateway.common.async;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 블로킹 I/O (Redis, Neon DB, 외부 HTTP) 병렬 실행용 Executor (공통)
+ *
+ * - 작업마다 가상 스레드 하나 (Java 21)
+ * - 서로 독립적인 I/O를 동시에 실행해 요청 지연을 RTT 합이 아닌 최댓값으로 줄임
+ *
+ * Executor 타입 빈으로 노출하지 않음 (Spring Boot 기본 applicationTaskExecutor 유지)
+ */
+@Component
+public class IoExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("io-", 0).factory());
+
+    // Reactor 파이프라인에서 블로킹 단계 (JPA, Redis) 를 실행할 Scheduler
+    private final Scheduler scheduler = Schedulers.fromExecutorService(executor, "io");
+
+    /**
+     * 값을 반환하는 작업을 가상 스레드에서 실행
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * 값이 없는 작업을 가상 스레드에서 실행
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * 내부 ExecutorService (Reactor Scheduler 연결 등)
+     */
+    public ExecutorService executorService() {
+        return executor;
+    }
+
+    /**
+     * Reactor용 Scheduler (subscribeOn으로 블로킹 단계를 가상 스레드로 이동)
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * 결과 대기 후 원래 예외를 그대로 던짐 (CompletionException 언랩)
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 모든 작업이 끝날 때까지 대기 (하나라도 실패하면 나머지도 끝난 뒤 첫 예외를 던짐)
+     */
+    public static void joinAll(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("I/O 작업 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executor.close();
+    }
+}
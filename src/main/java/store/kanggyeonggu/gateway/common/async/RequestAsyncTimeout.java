@@ -0,0 +1,40 @@
+package store.kanggyeonggu.gateway.common.async;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * 요청별 비동기 처리 타임아웃 (공통)
+ *
+ * spring.mvc.async.request-timeout 은 모든 비동기 요청 (Mono 반환 OAuth 콜백 등) 에 적용되는 전역값
+ * → 오래 걸리는 요청 (StreamingResponseBody 내보내기) 만 핸들러에서 따로 지정
+ *
+ * 핸들러가 set(webRequest, timeout) 으로 요청 속성을 남기면
+ * 비동기 처리 시작 직전 (beforeConcurrentHandling) 에 AsyncWebRequest 타임아웃으로 적용
+ * (WebMvcConfig 에서 Callable 인터셉터로 등록, StreamingResponseBody 는 Callable 로 처리됨)
+ */
+public class RequestAsyncTimeout implements CallableProcessingInterceptor {
+
+    private static final String ATTRIBUTE = RequestAsyncTimeout.class.getName() + ".timeoutMs";
+
+    /**
+     * 이 요청의 비동기 처리 타임아웃 지정 (핸들러 안에서 호출)
+     */
+    public static void set(WebRequest request, Duration timeout) {
+        request.setAttribute(ATTRIBUTE, timeout.toMillis(), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest
+                && request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long timeoutMs) {
+            asyncRequest.setTimeout(timeoutMs);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import store.kanggyeonggu.gateway.common.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 캐시용 사용자 스냅샷 (불변, 공통)
+ *
+ * JPA 엔티티 대신 캐시 (L1, Redis L2) 에 저장하는 값
+ * - 캐시 조회는 엔티티/Hibernate를 거치지 않음
+ * - L2에는 필드별 Redis Hash로 저장 (부분 조회/수정)
+ * - 필드를 바꾸면 SCHEMA_VERSION을 올림 → 캐시 키가 바뀌어 이전 형식 값은 읽지 않음
+ * - version / updatedAt: users 행 버전 (조건부 GET의 ETag / Last-Modified)
+ */
+public record CachedUser(
+        Long id,
+        String provider,
+        String providerId,
+        String nickname,
+        String name,
+        String profileImageUrl,
+        String email,
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt,
+        boolean enabled,
+        boolean deleted,
+        long version,
+        LocalDateTime updatedAt) {
+
+    public static final int SCHEMA_VERSION = 3;
+
+    // Redis Hash 필드 이름
+    public static final String ID = "id";
+    public static final String PROVIDER = "provider";
+    public static final String PROVIDER_ID = "providerId";
+    public static final String NICKNAME = "nickname";
+    public static final String NAME = "name";
+    public static final String PROFILE_IMAGE_URL = "profileImageUrl";
+    public static final String EMAIL = "email";
+    public static final String CREATED_AT = "createdAt";
+    public static final String LAST_LOGIN_AT = "lastLoginAt";
+    public static final String ENABLED = "enabled";
+    public static final String DELETED = "deleted";
+    public static final String VERSION = "version";
+    public static final String UPDATED_AT = "updatedAt";
+
+    public static CachedUser from(User user) {
+        return new CachedUser(
+                user.getId(),
+                user.getProvider(),
+                user.getProviderId(),
+                user.getNickname(),
+                user.getName(),
+                user.getProfileImageUrl(),
+                user.getEmail(),
+                user.getCreatedAt(),
+                user.getLastLoginAt(),
+                Boolean.TRUE.equals(user.getEnabled()),
+                Boolean.TRUE.equals(user.getDeleted()),
+                user.getVersion() != null ? user.getVersion() : 0L,
+                user.getUpdatedAt());
+    }
+
+    /**
+     * Redis Hash → 스냅샷 (id 필드가 없으면 null)
+     */
+    public static CachedUser fromHash(Map<String, String> hash) {
+        String id = hash.get(ID);
+        if (id == null) {
+            return null;
+        }
+        return new CachedUser(
+                Long.valueOf(id),
+                hash.get(PROVIDER),
+                hash.get(PROVIDER_ID),
+                hash.get(NICKNAME),
+                hash.get(NAME),
+                hash.get(PROFILE_IMAGE_URL),
+                hash.get(EMAIL),
+                parseTime(hash.get(CREATED_AT)),
+                parseTime(hash.get(LAST_LOGIN_AT)),
+                "1".equals(hash.get(ENABLED)),
+                "1".equals(hash.get(DELETED)),
+                hash.get(VERSION) != null ? Long.parseLong(hash.get(VERSION)) : 0L,
+                parseTime(hash.get(UPDATED_AT)));
+    }
+
+    /**
+     * 스냅샷 → Redis Hash (null 필드는 제외)
+     */
+    public Map<String, String> toHash() {
+        Map<String, String> hash = new HashMap<>();
+        put(hash, ID, id);
+        put(hash, PROVIDER, provider);
+        put(hash, PROVIDER_ID, providerId);
+        put(hash, NICKNAME, nickname);
+        put(hash, NAME, name);
+        put(hash, PROFILE_IMAGE_URL, profileImageUrl);
+        put(hash, EMAIL, email);
+        put(hash, CREATED_AT, createdAt);
+        put(hash, LAST_LOGIN_AT, lastLoginAt);
+        hash.put(ENABLED, enabled ? "1" : "0");
+        hash.put(DELETED, deleted ? "1" : "0");
+        hash.put(VERSION, Long.toString(version));
+        put(hash, UPDATED_AT, updatedAt);
+        return hash;
+    }
+
+    /**
+     * 로그인 시각 갱신 (touchLastLogin) 을 반영한 새 스냅샷
+     */
+    public CachedUser touched(LocalDateTime loginAt, long newVersion) {
+        return new CachedUser(id, provider, providerId, nickname, name, profileImageUrl, email,
+                createdAt, loginAt, enabled, deleted, newVersion, loginAt);
+    }
+
+    /**
+     * 일부 필드를 바꾼 새 스냅샷
+     */
+    public CachedUser with(Map<String, String> fields) {
+        Map<String, String> hash = toHash();
+        hash.putAll(fields);
+        return fromHash(hash);
+    }
+
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
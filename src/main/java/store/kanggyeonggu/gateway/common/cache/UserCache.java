@@ -0,0 +1,620 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 사용자 2단계 캐시 (공통)
+ *
+ * 조회 순서: L1 (인스턴스 내부, Caffeine) → L2 (Upstash Redis) → Neon DB
+ * 값은 JPA 엔티티가 아닌 불변 스냅샷 (CachedUser)
+ *
+ * 기능:
+ * - L1 크기 제한 + 짧은 TTL, L2는 긴 TTL
+ * - 캐시 스탬피드 방지: 같은 사용자의 동시 미스는 하나의 로드에 병합 (인스턴스 내부)
+ * - L2는 필드별 Redis Hash: 필요한 필드만 조회 (getFields, HMGET)
+ * - 여러 사용자 일괄 조회 (getAll): L1 미스만 L2 파이프라인 1회 + DB IN 쿼리 1회
+ * - 행 버전만 조회 (getVersion): 조건부 GET (ETag/Last-Modified) 을 본문 없이 판단
+ *   버전을 올리는 DB 쓰기는 모두 커밋 후 patch/evict 를 호출해야 함 (엔티티 리스너, 프로필 patch,
+ *   로그인 Upsert 는 OAuthUserService, last_login_at 은 PostLoginQueue) → 버려질 수 있는 큐에만 맡기지 않음
+ * - 프로필 수정은 변경 필드만 부분 갱신 (patch, HSET) → 재로드 없음
+ * - 쓰기 후 무효화: 트랜잭션 커밋 후 L1/L2 삭제 + 다른 인스턴스에 Pub/Sub으로 L1 무효화 전파
+ *   (탈퇴/복구 등은 UserCacheInvalidationListener가 자동 호출)
+ * - L2 스냅샷 쓰기는 버전 조건부 (Lua): 저장된 버전 / 버전 하한 (floor) 보다 낮으면 거부
+ *   → 늦게 도착한 이전 스냅샷 (미스 로드, 로그인 후속 작업) 이 patch/evict 이후 값을 덮어쓰지 못함
+ *   → 거부된 미스 로드는 DB를 다시 읽고 L2 저장은 더 새 값을 쓴 쪽에 맡김
+ *
+ * 키 구조:
+ * - user:v{CachedUser.SCHEMA_VERSION}:{userId} → Hash (필드 이름은 CachedUser 상수)
+ * - user:v{CachedUser.SCHEMA_VERSION}:{userId}:floor → 버전 하한 (patch/evict 시 설정, version-floor-ttl-ms)
+ * - 채널 app.user-cache.invalidation-channel → "{instanceId}:{userId}"
+ *
+ * 메트릭:
+ * - user.cache.requests{level,result} : 단계별 적중/미스 (level=l1|l2, result=hit|miss)
+ * - user.cache.load : 미스 시 L2/DB 로드 시간
+ * - user.cache.l1.size : L1 항목 수
+ */
+@Slf4j
+@Component
+public class UserCache implements MessageListener {
+
+    public static final String KEY_PREFIX = "user:v" + CachedUser.SCHEMA_VERSION + ":";
+
+    private static final String FLOOR_SUFFIX = ":floor";
+
+    // 버전을 알 수 없는 무효화의 하한: floor 유지 시간 동안 모든 스냅샷 쓰기 거부 (Lua 숫자로 정확한 최대 정수)
+    private static final long FLOOR_ALL = 9_007_199_254_740_991L;
+
+    // 스냅샷 전체 덮어쓰기 (버전 조건부)
+    // KEYS = [hash, floor], ARGV = [version, ttlMs, field, value, ...] → 1 저장 | 0 거부
+    private static final String WRITE_SCRIPT = """
+            local version = tonumber(ARGV[1])
+            if version < tonumber(redis.call('GET', KEYS[2]) or '-1') then return 0 end
+            local current = redis.call('HGET', KEYS[1], '%s')
+            if current and tonumber(current) > version then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], unpack(ARGV, 3))
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """.formatted(CachedUser.VERSION);
+    private static final byte[] WRITE_SCRIPT_BYTES = WRITE_SCRIPT.getBytes(StandardCharsets.UTF_8);
+
+    // 부분 갱신: floor 를 새 버전으로 올리고, 해시가 바로 이전 버전일 때만 필드 갱신
+    // (없는 키에 일부 필드만 생기는 것 방지, 중간 변경을 놓친 해시는 삭제)
+    // KEYS = [hash, floor], ARGV = [version, floorTtlMs, field, value, ...] → 1 갱신 | 0 없음/삭제 | 2 같거나 더 새 값
+    private static final DefaultRedisScript<Long> PATCH_SCRIPT = new DefaultRedisScript<>("""
+            local version = tonumber(ARGV[1])
+            if version > tonumber(redis.call('GET', KEYS[2]) or '-1') then
+                redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            local current = tonumber(redis.call('HGET', KEYS[1], '%s') or '-1')
+            if current >= version then return 2 end
+            if current ~= version - 1 then
+                redis.call('DEL', KEYS[1])
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 3))
+            return 1
+            """.formatted(CachedUser.VERSION), Long.class);
+
+    // 무효화: floor 를 올린 뒤 해시 삭제
+    // ARGV[1] < 0 (버전 모름) 이면 저장된 버전 + 1, 해시도 없으면 ARGV[3] (전체 거부)
+    // KEYS = [hash, floor], ARGV = [version, floorTtlMs, fallback]
+    private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            local version = tonumber(ARGV[1])
+            if version < 0 then
+                local current = redis.call('HGET', KEYS[1], '%s')
+                version = current and tonumber(current) + 1 or tonumber(ARGV[3])
+            end
+            if version > tonumber(redis.call('GET', KEYS[2]) or '-1') then
+                redis.call('SET', KEYS[2], string.format('%%.0f', version), 'PX', ARGV[2])
+            end
+            return redis.call('DEL', KEYS[1])
+            """.formatted(CachedUser.VERSION), Long.class);
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final IoExecutor ioExecutor;
+    private final UserCacheProperties properties;
+    private final KeyspaceStats keyspaceStats;
+
+    private final AsyncCache<Long, Optional<CachedUser>> l1;
+    private final String instanceId = UUID.randomUUID().toString();
+    // 트랜잭션별 patch 한 사용자 ID 집합의 리소스 키
+    private final Object patchedResourceKey = new Object();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Timer loadTimer;
+
+    public UserCache(
+            UserRepository userRepository,
+            StringRedisTemplate stringRedisTemplate,
+            IoExecutor ioExecutor,
+            UserCacheProperties properties,
+            KeyspaceStats keyspaceStats,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ioExecutor = ioExecutor;
+        this.properties = properties;
+        this.keyspaceStats = keyspaceStats;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(properties.getL1MaxSize())
+                .expireAfterWrite(properties.l1Ttl())
+                .buildAsync();
+
+        this.l1Hits = requestCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, "l2", "miss");
+        this.loadTimer = Timer.builder("user.cache.load")
+                .description("사용자 캐시 미스 시 L2/DB 로드 시간")
+                .register(meterRegistry);
+        Gauge.builder("user.cache.l1.size", l1, cache -> cache.synchronous().estimatedSize())
+                .description("L1 사용자 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("user.cache.requests")
+                .tag("level", level)
+                .tag("result", result)
+                .description("사용자 캐시 조회 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 조회 (탈퇴 사용자 포함, 필터링은 호출자)
+     */
+    public Optional<CachedUser> get(Long userId) {
+        boolean[] missed = { false };
+        CompletableFuture<Optional<CachedUser>> future = l1.get(userId, (id, executor) -> {
+            missed[0] = true;
+            return ioExecutor.supply(() -> loadTimer.record(() -> load(id)));
+        });
+
+        (missed[0] ? l1Misses : l1Hits).increment();
+        return IoExecutor.join(future);
+    }
+
+    /**
+     * 여러 사용자 일괄 조회 (탈퇴 사용자 포함, 없는 사용자는 결과에서 제외)
+     * - L1 미스 ID만 모아 L2 HGETALL 파이프라인 (왕복 1회) → 남은 미스는 DB IN 쿼리 1회
+     * - 진행 중인 같은 ID의 로드는 Caffeine이 병합
+     */
+    public Map<Long, CachedUser> getAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        int[] missed = { 0 };
+        CompletableFuture<Map<Long, Optional<CachedUser>>> future = l1.getAll(userIds, (ids, executor) -> {
+            missed[0] = ids.size();
+            return ioExecutor.supply(() -> loadTimer.record(() -> loadAll(ids)));
+        });
+        Map<Long, Optional<CachedUser>> cached = IoExecutor.join(future);
+
+        l1Misses.increment(missed[0]);
+        l1Hits.increment(cached.size() - missed[0]);
+
+        Map<Long, CachedUser> users = new HashMap<>(cached.size());
+        cached.forEach((id, user) -> user.ifPresent(found -> users.put(id, found)));
+        return users;
+    }
+
+    /**
+     * 필드 일부만 조회 (L1 → L2 HMGET → DB)
+     * - L2 적중 시 요청한 필드만 읽고 L1은 채우지 않음
+     * - 반환 Map에는 값이 있는 필드만 포함
+     */
+    public Optional<Map<String, String>> getFields(Long userId, String... fields) {
+        CompletableFuture<Optional<CachedUser>> local = l1.getIfPresent(userId);
+        if (local != null) {
+            l1Hits.increment();
+            return IoExecutor.join(local).map(user -> project(user.toHash(), fields));
+        }
+        l1Misses.increment();
+
+        // id 필드로 L2 존재 여부 판단
+        List<Object> requested = new ArrayList<>(fields.length + 1);
+        requested.add(CachedUser.ID);
+        requested.addAll(Arrays.asList(fields));
+
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(KEY_PREFIX + userId, requested);
+            if (values.get(0) != null) {
+                l2Hits.increment();
+                Map<String, String> hash = new HashMap<>();
+                for (int i = 0; i < requested.size(); i++) {
+                    if (values.get(i) != null) {
+                        hash.put((String) requested.get(i), (String) values.get(i));
+                    }
+                }
+                return Optional.of(project(hash, fields));
+            }
+        } catch (Exception e) {
+            log.error("❌ L2 사용자 캐시 필드 조회 실패, DB 조회: userId={}, {}", userId, e.getMessage());
+        }
+        l2Misses.increment();
+
+        CompletableFuture<Optional<CachedUser>> future = l1.get(userId,
+                (id, executor) -> ioExecutor.supply(() -> loadTimer.record(() -> loadFromDb(id))));
+        return IoExecutor.join(future).map(user -> project(user.toHash(), fields));
+    }
+
+    /**
+     * 행 버전 조회 (L1 → L2 HMGET 3필드 → DB), 없거나 탈퇴한 사용자는 empty
+     */
+    public Optional<UserVersion> getVersion(Long userId) {
+        return getFields(userId, CachedUser.VERSION, CachedUser.UPDATED_AT, CachedUser.DELETED)
+                .map(fields -> UserVersion.fromFields(userId, fields));
+    }
+
+    /**
+     * 최신 사용자 정보를 L1/L2에 저장하고 다른 인스턴스의 L1 무효화 (로그인 후속 작업)
+     * L2에 더 새 버전이 있거나 floor 보다 낮아 거부된 사용자는 이 인스턴스 L1에서도 제거
+     */
+    public void putAll(Collection<CachedUser> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Set<Long> rejected = writeHashes(users);
+        for (CachedUser user : users) {
+            if (rejected.contains(user.id())) {
+                l1.synchronous().invalidate(user.id());
+                continue;
+            }
+            l1.put(user.id(), CompletableFuture.completedFuture(Optional.of(user)));
+            publishInvalidation(user.id());
+        }
+    }
+
+    /**
+     * 변경된 필드만 캐시에 반영 (트랜잭션 안이면 커밋 후 실행)
+     * - fields 에는 변경 후 버전 (CachedUser.VERSION) 이 있어야 함 (없으면 무효화)
+     * - L2: 해시가 바로 이전 버전일 때만 HSET (없으면 다음 조회에서 DB 로드), 버전 floor 설정
+     * - L1: 이 인스턴스는 값 갱신, 다른 인스턴스는 무효화 전파 → L2에서 다시 읽음
+     * - 같은 트랜잭션의 엔티티 리스너 무효화 (evict) 는 건너뜀
+     *   (flush 가 patch 호출보다 먼저면 markPatched 를 flush 전에 호출)
+     */
+    public void patch(Long userId, Map<String, String> fields) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            patchedInTransaction().add(userId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    patchNow(userId, fields);
+                }
+            });
+            return;
+        }
+        patchNow(userId, fields);
+    }
+
+    /**
+     * 이 트랜잭션에서 patch 할 사용자로 표시 (트랜잭션 밖이면 무시)
+     *
+     * saveAndFlush 처럼 patch 전에 flush 하면 엔티티 리스너 (@PostUpdate) 의 evict 가 먼저 호출됨
+     * → 커밋 후 해시가 삭제되어 부분 갱신이 항상 "absent" 로 끝나므로 flush 전에 표시해 evict 를 건너뜀
+     * 표시 후에는 같은 트랜잭션에서 반드시 patch 호출 (patch 는 버전 없이 호출돼도 무효화로 대체)
+     */
+    public void markPatched(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            patchedInTransaction().add(userId);
+        }
+    }
+
+    private void patchNow(Long userId, Map<String, String> fields) {
+        String versionField = fields.get(CachedUser.VERSION);
+        if (versionField == null) {
+            evictNow(userId, -1);
+            return;
+        }
+        long version = Long.parseLong(versionField);
+
+        // L1도 바로 이전 버전일 때만 부분 갱신
+        CompletableFuture<Optional<CachedUser>> local = l1.getIfPresent(userId);
+        if (local != null && local.isDone() && !local.isCompletedExceptionally()
+                && local.join().filter(user -> user.version() == version - 1).isPresent()) {
+            l1.put(userId, CompletableFuture.completedFuture(local.join().map(user -> user.with(fields))));
+        } else {
+            l1.synchronous().invalidate(userId);
+        }
+
+        try {
+            List<String> args = new ArrayList<>(fields.size() * 2 + 2);
+            args.add(versionField);
+            args.add(String.valueOf(properties.getVersionFloorTtlMs()));
+            fields.forEach((field, value) -> {
+                args.add(field);
+                args.add(value);
+            });
+            Long applied = stringRedisTemplate.execute(PATCH_SCRIPT, keys(userId), args.toArray());
+            if (applied != null && applied == 1) {
+                keyspaceStats.recordWrite(KEY_PREFIX + userId);
+            }
+            publishInvalidation(userId);
+            log.info("🩹 사용자 캐시 부분 갱신: userId={}, version={}, fields={}, l2={}",
+                    userId, version, fields.keySet(), patchOutcome(applied));
+        } catch (Exception e) {
+            // 부분 갱신 실패 시 전체 무효화로 대체
+            log.error("❌ 사용자 캐시 부분 갱신 실패, 무효화: userId={}, {}", userId, e.getMessage());
+            evictNow(userId, version);
+        }
+    }
+
+    private static String patchOutcome(Long applied) {
+        if (applied == null) {
+            return "unknown";
+        }
+        return switch (applied.intValue()) {
+            case 1 -> "patched";
+            case 2 -> "newer";
+            default -> "absent";
+        };
+    }
+
+    /**
+     * 사용자 캐시 무효화 (버전 모름, 트랜잭션 안이면 커밋 후 실행)
+     * floor: L2에 남아 있던 버전 + 1, 없으면 floor 유지 시간 동안 모든 스냅샷 쓰기 거부
+     */
+    public void evict(Long userId) {
+        evict(userId, -1);
+    }
+
+    /**
+     * 사용자 캐시 무효화 (트랜잭션 안이면 커밋 후 실행)
+     *
+     * @param version 변경 후 행 버전 → floor (이보다 낮은 스냅샷은 L2에 쓰지 않음), 모르면 -1
+     */
+    public void evict(Long userId, long version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 같은 트랜잭션에서 patch 한 사용자는 커밋 후 부분 갱신으로 충분
+            Object patched = TransactionSynchronizationManager.getResource(patchedResourceKey);
+            if (patched instanceof Set<?> patchedIds && patchedIds.contains(userId)) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId, version);
+                }
+            });
+            return;
+        }
+        evictNow(userId, version);
+    }
+
+    private void evictNow(Long userId, long version) {
+        l1.synchronous().invalidate(userId);
+        try {
+            stringRedisTemplate.execute(EVICT_SCRIPT, keys(userId), String.valueOf(version),
+                    String.valueOf(properties.getVersionFloorTtlMs()), String.valueOf(FLOOR_ALL));
+            keyspaceStats.recordDelete(KEY_PREFIX + userId);
+            publishInvalidation(userId);
+            log.info("🧹 사용자 캐시 무효화: userId={}, version={}", userId, version < 0 ? "unknown" : version);
+        } catch (Exception e) {
+            log.error("❌ 사용자 캐시 무효화 실패 (L2/전파): userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> patchedInTransaction() {
+        Set<Long> patched = (Set<Long>) TransactionSynchronizationManager.getResource(patchedResourceKey);
+        if (patched == null) {
+            patched = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(patchedResourceKey, patched);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (TransactionSynchronizationManager.hasResource(patchedResourceKey)) {
+                        TransactionSynchronizationManager.unbindResource(patchedResourceKey);
+                    }
+                }
+            });
+        }
+        return patched;
+    }
+
+    /**
+     * 다른 인스턴스의 무효화 메시지 수신 → L1만 삭제
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+
+        try {
+            l1.synchronous().invalidate(Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("⚠️ 잘못된 사용자 캐시 무효화 메시지: {}", body);
+        }
+    }
+
+    private void publishInvalidation(Long userId) {
+        stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), instanceId + ":" + userId);
+    }
+
+    // L1 미스: L2 (HGETALL) → DB
+    private Optional<CachedUser> load(Long userId) {
+        try {
+            Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(KEY_PREFIX + userId);
+            CachedUser user = hash.isEmpty() ? null : CachedUser.fromHash(toStringMap(hash));
+            if (user != null) {
+                l2Hits.increment();
+                return Optional.of(user);
+            }
+        } catch (Exception e) {
+            log.error("❌ L2 사용자 캐시 조회 실패, DB 조회: userId={}, {}", userId, e.getMessage());
+        }
+        l2Misses.increment();
+        return loadFromDb(userId);
+    }
+
+    // L1 미스 일괄: L2 HGETALL 파이프라인 → DB IN 쿼리 (없는 사용자도 Optional.empty 로 L1에 저장)
+    private Map<Long, Optional<CachedUser>> loadAll(Set<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        Map<Long, Optional<CachedUser>> loaded = new HashMap<>(ids.size());
+
+        try {
+            List<Object> hashes = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Long id : ids) {
+                        ops.opsForHash().entries(KEY_PREFIX + id);
+                    }
+                    return null;
+                }
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                if (hashes.get(i) instanceof Map<?, ?> hash && !hash.isEmpty()) {
+                    @SuppressWarnings("unchecked")
+                    CachedUser user = CachedUser.fromHash(toStringMap((Map<Object, Object>) hash));
+                    if (user != null) {
+                        loaded.put(ids.get(i), Optional.of(user));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ L2 사용자 캐시 일괄 조회 실패, DB 조회: count={}, {}", ids.size(), e.getMessage());
+        }
+
+        List<Long> misses = ids.stream().filter(id -> !loaded.containsKey(id)).toList();
+        l2Hits.increment(loaded.size());
+        l2Misses.increment(misses.size());
+        if (!misses.isEmpty()) {
+            loaded.putAll(loadAllFromDb(misses));
+        }
+        return loaded;
+    }
+
+    // DB IN 쿼리 1회 후 찾은 사용자만 L2 채움
+    // 쓰기가 거부된 사용자 (조회 이후 변경됨) 는 DB를 한 번 더 읽어 L1에만 둠
+    private Map<Long, Optional<CachedUser>> loadAllFromDb(List<Long> userIds) {
+        List<CachedUser> found = userRepository.findSnapshotsByIdIn(userIds);
+        Set<Long> rejected = Set.of();
+        if (!found.isEmpty()) {
+            try {
+                rejected = writeHashes(found);
+            } catch (Exception e) {
+                log.error("❌ L2 사용자 캐시 일괄 저장 실패: count={}, {}", found.size(), e.getMessage());
+            }
+        }
+
+        Map<Long, Optional<CachedUser>> loaded = new HashMap<>(userIds.size());
+        userIds.forEach(id -> loaded.put(id, Optional.empty()));
+        found.forEach(user -> loaded.put(user.id(), Optional.of(user)));
+        if (!rejected.isEmpty()) {
+            rejected.forEach(id -> loaded.put(id, Optional.empty()));
+            userRepository.findSnapshotsByIdIn(rejected).forEach(user -> loaded.put(user.id(), Optional.of(user)));
+        }
+        return loaded;
+    }
+
+    // DB 조회 (프로젝션, 관리 엔티티 없음) 후 L2 채움
+    // 쓰기가 거부되면 (조회 이후 변경됨) DB를 한 번 더 읽어 L1에만 둠
+    private Optional<CachedUser> loadFromDb(Long userId) {
+        Optional<CachedUser> user = userRepository.findSnapshotById(userId);
+        if (user.isEmpty()) {
+            return user;
+        }
+        try {
+            if (!writeHashes(List.of(user.get())).isEmpty()) {
+                return userRepository.findSnapshotById(userId);
+            }
+        } catch (Exception e) {
+            log.error("❌ L2 사용자 캐시 저장 실패: userId={}, {}", userId, e.getMessage());
+        }
+        return user;
+    }
+
+    // 스냅샷 전체 덮어쓰기 (WRITE_SCRIPT, 파이프라인 1회) → 거부된 사용자 ID
+    // 파이프라인 안에서는 EVALSHA 의 NOSCRIPT 재시도가 불가능하므로 EVAL (짧은 스크립트) 사용
+    private Set<Long> writeHashes(Collection<CachedUser> users) {
+        List<CachedUser> ordered = List.copyOf(users);
+        byte[] ttl = bytes(String.valueOf(properties.getL2TtlMs()));
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CachedUser user : ordered) {
+                Map<String, String> hash = user.toHash();
+                byte[][] keysAndArgs = new byte[4 + hash.size() * 2][];
+                keysAndArgs[0] = bytes(KEY_PREFIX + user.id());
+                keysAndArgs[1] = bytes(KEY_PREFIX + user.id() + FLOOR_SUFFIX);
+                keysAndArgs[2] = bytes(String.valueOf(user.version()));
+                keysAndArgs[3] = ttl;
+                int i = 4;
+                for (Map.Entry<String, String> field : hash.entrySet()) {
+                    keysAndArgs[i++] = bytes(field.getKey());
+                    keysAndArgs[i++] = bytes(field.getValue());
+                }
+                connection.scriptingCommands().eval(WRITE_SCRIPT_BYTES, ReturnType.INTEGER, 2, keysAndArgs);
+            }
+            return null;
+        });
+
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Long id = ordered.get(i).id();
+            if (Long.valueOf(1L).equals(results.get(i))) {
+                keyspaceStats.recordWrite(KEY_PREFIX + id);
+            } else {
+                rejected.add(id);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.info("⏭️ 사용자 캐시 이전 버전 쓰기 거부: userIds={}", rejected);
+        }
+        return rejected;
+    }
+
+    private static List<String> keys(Long userId) {
+        return List.of(KEY_PREFIX + userId, KEY_PREFIX + userId + FLOOR_SUFFIX);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> project(Map<String, String> hash, String... fields) {
+        Map<String, String> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            String value = hash.get(field);
+            if (value != null) {
+                projected.put(field, value);
+            }
+        }
+        return projected;
+    }
+
+    private static Map<String, String> toStringMap(Map<Object, Object> hash) {
+        Map<String, String> converted = new HashMap<>(hash.size());
+        hash.forEach((field, value) -> converted.put((String) field, (String) value));
+        return converted;
+    }
+}
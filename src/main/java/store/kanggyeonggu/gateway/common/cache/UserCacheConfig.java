@@ -0,0 +1,25 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 사용자 캐시 무효화 구독 설정 (Redis Pub/Sub)
+ */
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userCacheListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            UserCache userCache,
+            UserCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userCache, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
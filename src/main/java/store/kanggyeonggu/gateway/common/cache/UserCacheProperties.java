@@ -0,0 +1,42 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 사용자 캐시 (L1 인메모리 + L2 Redis) 설정 Properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.user-cache")
+@Getter
+@Setter
+public class UserCacheProperties {
+
+    // L1 (인스턴스 내부) 최대 항목 수
+    private int l1MaxSize = 10000;
+
+    // L1 유지 시간 (무효화 메시지 유실 대비 짧게 유지)
+    private long l1TtlMs = 30000;
+
+    // L2 (Upstash Redis) 유지 시간
+    private long l2TtlMs = 86_400_000;
+
+    // patch/evict 후 버전 하한 (floor) 유지 시간: 이 안에 도착한 이전 버전 스냅샷은 L2에 쓰지 않음
+    // (미스 로드의 DB 조회 ~ L2 쓰기 사이 간격보다 충분히 길게)
+    private long versionFloorTtlMs = 30000;
+
+    // 인스턴스 간 L1 무효화 채널 (Redis Pub/Sub)
+    private String invalidationChannel = "user-cache:invalidate";
+
+    public Duration l1Ttl() {
+        return Duration.ofMillis(l1TtlMs);
+    }
+
+    public Duration l2Ttl() {
+        return Duration.ofMillis(l2TtlMs);
+    }
+}
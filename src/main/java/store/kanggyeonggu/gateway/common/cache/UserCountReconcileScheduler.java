@@ -0,0 +1,62 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import store.kanggyeonggu.gateway.common.lock.RedisLockService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 활성 사용자 수 카운터 보정 스케줄러 (공통)
+ *
+ * 증감 유실 (Redis 장애, 커밋 후 증감 전 종료, 초기화 경합) 을 DB 집계로 주기적으로 바로잡음
+ * - Redis 락으로 여러 Gateway 인스턴스 중 하나만 실행
+ *
+ * 메트릭:
+ * - users.count.reconcile.drift : 보정으로 바로잡은 차이의 합
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.user-count.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class UserCountReconcileScheduler {
+
+    private static final String LOCK_NAME = "user-count-reconcile";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(1);
+
+    private final UserCounters userCounters;
+    private final RedisLockService lockService;
+    private final Counter drift;
+
+    public UserCountReconcileScheduler(
+            UserCounters userCounters,
+            RedisLockService lockService,
+            MeterRegistry meterRegistry) {
+        this.userCounters = userCounters;
+        this.lockService = lockService;
+        this.drift = Counter.builder("users.count.reconcile.drift")
+                .description("사용자 수 카운터 보정으로 바로잡은 차이의 합")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.user-count.reconcile.cron:0 7 * * * *}")
+    public void reconcile() {
+        Optional<String> lockToken = lockService.tryAcquire(LOCK_NAME, LOCK_TTL);
+        if (lockToken.isEmpty()) {
+            log.debug("사용자 수 카운터 보정 건너뜀: 다른 인스턴스가 실행 중");
+            return;
+        }
+
+        try {
+            drift.increment(userCounters.reconcile());
+        } catch (Exception e) {
+            log.error("❌ 사용자 수 카운터 보정 실패: {}", e.getMessage(), e);
+        } finally {
+            lockService.release(LOCK_NAME, lockToken.get());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.kanggyeonggu.gateway.common.entity.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 활성 사용자 수 카운터 (Upstash Redis, 공통)
+ *
+ * 요청마다 COUNT(*) 를 실행하지 않도록 생성/탈퇴/복구 시점에 증감
+ *
+ * 기능:
+ * - 전체 / Provider별 활성 (deleted = false) 사용자 수
+ * - 증감은 트랜잭션 커밋 후 실행, 초기화된 필드만 증감 (초기화 전 증감은 버림)
+ * - 필드가 없으면 DB 집계 (GROUP BY provider) 1회로 초기화
+ * - 주기적 보정 (reconcile): DB 집계로 덮어써 유실된 증감/경합 오차 제거 (UserCountReconcileScheduler)
+ * - 근사값 (approximateActive): PostgreSQL 통계 (pg_class.reltuples × pg_stats 빈도) 로 집계 없이 추정
+ *
+ * 키 구조:
+ * - users:count → Hash { active → 전체 활성 사용자 수, provider:{provider} → Provider별 활성 사용자 수 }
+ */
+@Slf4j
+@Component
+public class UserCounters {
+
+    public static final String KEY = "users:count";
+    private static final String ACTIVE_FIELD = "active";
+    private static final String PROVIDER_FIELD = "provider:";
+
+    // 초기화된 필드만 증감 (없는 필드를 0부터 세면 DB 초기화 값과 어긋남), ARGV[1] = 증감, ARGV[2..] = 필드
+    private static final DefaultRedisScript<Long> ADJUST_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #ARGV do "
+                    + "if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 1 then "
+                    + "redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[1]) end end return 0",
+            Long.class);
+
+    // 통계 기반 활성 사용자 수 추정: reltuples × (1 - deleted = true 빈도)
+    // true 가 most_common_vals 에 없으면 빈도 0, ANALYZE 전 (reltuples = -1) 이나 deleted 통계 행이 없으면 NULL
+    private static final String APPROXIMATE_ACTIVE_SQL = """
+            SELECT CASE WHEN c.reltuples < 0 OR s.attname IS NULL THEN NULL
+                   ELSE c.reltuples * (1 - COALESCE((
+                       SELECT f.freq
+                       FROM unnest(s.most_common_vals::text::boolean[], s.most_common_freqs) AS f(val, freq)
+                       WHERE f.val = true), 0)) END
+            FROM pg_class c
+            LEFT JOIN pg_stats s
+                   ON s.schemaname = current_schema() AND s.tablename = 'users' AND s.attname = 'deleted'
+            WHERE c.oid = to_regclass('users')
+            """;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserCounters(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * 전체 활성 사용자 수 (Redis 장애 시 DB 집계)
+     */
+    public long active() {
+        return read(ACTIVE_FIELD);
+    }
+
+    /**
+     * Provider별 활성 사용자 수 (Redis 장애 시 DB 집계)
+     */
+    public long activeByProvider(String provider) {
+        return read(PROVIDER_FIELD + User.normalizeProvider(provider));
+    }
+
+    /**
+     * PostgreSQL 통계 기반 활성 사용자 수 근사값 (대시보드용, 집계 쿼리 없음)
+     * 통계가 아직 없으면 (ANALYZE 전, deleted 통계 행 없음) 카운터 값
+     */
+    public long approximateActive() {
+        try {
+            Object estimate = entityManager.createNativeQuery(APPROXIMATE_ACTIVE_SQL).getSingleResult();
+            if (estimate instanceof Number number) {
+                return Math.max(0, Math.round(number.doubleValue()));
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 사용자 수 통계 조회 실패, 카운터 사용: {}", e.getMessage());
+        }
+        return active();
+    }
+
+    private long read(String field) {
+        try {
+            Object cached = stringRedisTemplate.opsForHash().get(KEY, field);
+            if (cached != null) {
+                return Long.parseLong(cached.toString());
+            }
+            return seed(field).getOrDefault(field, 0L);
+        } catch (Exception e) {
+            log.error("❌ 사용자 수 카운터 조회 실패, DB 집계: field={}, {}", field, e.getMessage());
+            return countFromDb().getOrDefault(field, 0L);
+        }
+    }
+
+    /**
+     * 활성 사용자 수 증감: 전체 + Provider (트랜잭션 안이면 커밋 후 실행)
+     */
+    public void adjustProvider(String provider, long delta) {
+        String field = PROVIDER_FIELD + User.normalizeProvider(provider);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjustNow(field, delta);
+                }
+            });
+            return;
+        }
+        adjustNow(field, delta);
+    }
+
+    private void adjustNow(String field, long delta) {
+        try {
+            stringRedisTemplate.execute(ADJUST_SCRIPT, List.of(KEY), String.valueOf(delta), ACTIVE_FIELD, field);
+        } catch (Exception e) {
+            log.error("❌ 사용자 수 카운터 증감 실패: field={}, delta={}, {}", field, delta, e.getMessage());
+        }
+    }
+
+    /**
+     * DB 집계로 모든 필드 덮어쓰기 (주기적 보정)
+     * 집계 ~ 덮어쓰기 사이의 증감은 다음 보정까지 오차로 남을 수 있음
+     *
+     * @return 보정 전후 차이의 합 (절댓값)
+     */
+    public long reconcile() {
+        Map<String, Long> counts = countFromDb();
+        Map<Object, Object> previous = stringRedisTemplate.opsForHash().entries(KEY);
+
+        // DB에 더 이상 없는 Provider 필드는 0
+        previous.keySet().forEach(field -> counts.putIfAbsent(field.toString(), 0L));
+
+        long drift = 0;
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            Object before = previous.get(entry.getKey());
+            long diff = entry.getValue() - (before != null ? Long.parseLong(before.toString()) : 0L);
+            if (before != null && diff != 0) {
+                changed.add(entry.getKey() + "=" + diff);
+            }
+            drift += before != null ? Math.abs(diff) : 0;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        counts.forEach((field, count) -> values.put(field, count.toString()));
+        stringRedisTemplate.opsForHash().putAll(KEY, values);
+
+        if (changed.isEmpty()) {
+            log.info("🔢 사용자 수 카운터 보정 완료: 차이 없음, active={}", counts.get(ACTIVE_FIELD));
+        } else {
+            log.warn("⚠️ 사용자 수 카운터 보정: {}", changed);
+        }
+        return drift;
+    }
+
+    // DB 집계로 필드 초기화 (이미 있는 필드는 유지, 사용자가 없는 요청 Provider는 0)
+    private Map<String, Long> seed(String requestedField) {
+        Map<String, Long> counts = countFromDb();
+        counts.putIfAbsent(requestedField, 0L);
+        counts.forEach((field, count) -> stringRedisTemplate.opsForHash().putIfAbsent(KEY, field, count.toString()));
+        log.info("🔢 사용자 수 카운터 초기화: {}", counts);
+        return counts;
+    }
+
+    // Provider별 + 전체 활성 사용자 수 (GROUP BY 1회)
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> countFromDb() {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT u.provider, COUNT(u) FROM User u WHERE u.deleted = false GROUP BY u.provider")
+                .getResultList();
+
+        Map<String, Long> counts = new HashMap<>();
+        long active = 0;
+        for (Object[] row : rows) {
+            counts.merge(PROVIDER_FIELD + User.normalizeProvider((String) row[0]), (Long) row[1], Long::sum);
+            active += (Long) row[1];
+        }
+        counts.put(ACTIVE_FIELD, active);
+        return counts;
+    }
+}
@@ -0,0 +1,48 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 사용자 행 버전 (조건부 GET 검증자, 공통)
+ *
+ * 사용자 캐시의 version / updatedAt 필드만으로 만듦 (본문 조회/엔티티 로드 없음)
+ * - ETag: 응답 표현별 강한 검증자 "{representation}-{id}-{version}"
+ * - Last-Modified: updatedAt (서버 시간대 기준)
+ */
+public record UserVersion(Long id, long version, LocalDateTime updatedAt) {
+
+    /**
+     * 캐시 필드 → 버전 (탈퇴 사용자는 null)
+     */
+    static UserVersion fromFields(Long id, Map<String, String> fields) {
+        if ("1".equals(fields.get(CachedUser.DELETED))) {
+            return null;
+        }
+        String version = fields.get(CachedUser.VERSION);
+        String updatedAt = fields.get(CachedUser.UPDATED_AT);
+        return new UserVersion(
+                id,
+                version != null ? Long.parseLong(version) : 0L,
+                updatedAt != null ? LocalDateTime.parse(updatedAt) : null);
+    }
+
+    public static UserVersion of(CachedUser user) {
+        return new UserVersion(user.id(), user.version(), user.updatedAt());
+    }
+
+    /**
+     * 강한 ETag (같은 사용자라도 응답 표현이 다르면 다른 값)
+     */
+    public String eTag(String representation) {
+        return "\"" + representation + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Last-Modified (epoch ms, 변경 시각이 없으면 -1)
+     */
+    public long lastModified() {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -16,13 +16,10 @@ import java.time.LocalDateTime;
  * - 사용자별 여러 개의 Refresh Token 가능 (다중 디바이스)
  * - 토큰 무효화(revoke) 지원
  * - Token Rotation 지원
+ * - 스키마/인덱스는 Flyway 마이그레이션 (db/migration) 에서 관리
  */
 @Entity
-@Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
-        @Index(name = "idx_refresh_tokens_token", columnList = "token"),
-        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
-})
+@Table(name = "refresh_tokens")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -6,18 +6,30 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import store.kanggyeonggu.gateway.common.listener.UserCacheInvalidationListener;
+import store.kanggyeonggu.gateway.common.listener.UserCountListener;
 import store.kanggyeonggu.gateway.common.listener.UserEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * 소셜 로그인 사용자 정보를 저장하는 Entity (공통)
+ * 스키마/인덱스는 Flyway 마이그레이션 (db/migration) 에서 관리
  */
 @Entity
 @Table(name = "users", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"provider", "provider_id"})
+    @UniqueConstraint(name = "uk_users_provider_provider_id", columnNames = {"provider", "provider_id"})
 })
-@EntityListeners(UserEntityListener.class)
+// OAuth Upsert 결과 (사용자 + 신규 생성/복구/변경 여부)
+@SqlResultSetMapping(name = User.UPSERT_RESULT_MAPPING,
+    entities = @EntityResult(entityClass = User.class),
+    columns = {
+        @ColumnResult(name = "created", type = Boolean.class),
+        @ColumnResult(name = "restored", type = Boolean.class),
+        @ColumnResult(name = "updated", type = Boolean.class)
+    })
+@EntityListeners({ UserEntityListener.class, UserCacheInvalidationListener.class, UserCountListener.class })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +37,8 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    public static final String UPSERT_RESULT_MAPPING = "User.upsertResult";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -64,9 +78,30 @@ public class User {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // 행 버전 (JPA 변경 시 자동 증가, 네이티브/벌크 UPDATE 는 직접 증가) → 조건부 GET의 ETag
+    // 새 엔티티는 null 로 두어야 Spring Data save() 가 신규로 판단 (persist 시 0)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // 마지막 변경 시각 → 조건부 GET의 Last-Modified
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 로드 시점의 탈퇴 여부 (탈퇴/복구 전환 감지용, UserCountListener)
+    @Transient
+    private boolean deletedOnLoad;
+
+    @PostLoad
+    protected void onLoad() {
+        deletedOnLoad = Boolean.TRUE.equals(deleted);
+    }
+
     @PrePersist
     protected void onCreate() {
+        provider = normalizeProvider(provider);
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (lastLoginAt == null) {
             lastLoginAt = LocalDateTime.now();
         }
@@ -74,7 +109,14 @@ public class User {
 
     @PreUpdate
     protected void onUpdate() {
+        provider = normalizeProvider(provider);
         lastLoginAt = LocalDateTime.now();
+        updatedAt = lastLoginAt;
+    }
+
+    // Provider는 소문자로 저장 (인덱스를 타는 정확히 일치 조회)
+    public static String normalizeProvider(String provider) {
+        return provider != null ? provider.toLowerCase(Locale.ROOT) : null;
     }
 
     public void softDelete() {
@@ -0,0 +1,34 @@
+package store.kanggyeonggu.gateway.common.listener;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.entity.User;
+
+/**
+ * User 엔티티 변경 시 사용자 캐시 무효화 (공통)
+ *
+ * 프로필 수정, 탈퇴 (softDelete), 복구 (restore) 등 JPA를 통한 모든 변경에 적용
+ * - 무효화는 트랜잭션 커밋 후 실행 (UserCache.evict)
+ * - 변경 후 행 버전을 넘겨 그보다 이전 스냅샷이 L2에 다시 쓰이지 않게 함
+ * - 네이티브 Upsert (로그인) 는 PostLoginQueue에서 캐시를 갱신
+ *
+ * 엔티티 리스너는 EntityManagerFactory 생성 중에 만들어지므로 UserCache (→ UserRepository → EMF) 는 지연 조회
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void afterUserChanged(User user) {
+        userCache.getObject().evict(user.getId(), user.getVersion() != null ? user.getVersion() : -1);
+    }
+}
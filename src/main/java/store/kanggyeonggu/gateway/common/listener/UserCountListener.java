@@ -0,0 +1,52 @@
+package store.kanggyeonggu.gateway.common.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import store.kanggyeonggu.gateway.common.cache.UserCounters;
+import store.kanggyeonggu.gateway.common.entity.User;
+
+/**
+ * User 엔티티 생성/탈퇴/복구/삭제 시 활성 사용자 수 카운터 증감 (공통)
+ *
+ * - JPA를 통한 변경에만 적용 (네이티브 Upsert 는 OAuthUserService 에서 증감)
+ * - 증감은 트랜잭션 커밋 후 실행 (UserCounters.adjustProvider)
+ *
+ * 엔티티 리스너는 EntityManagerFactory 생성 중에 만들어지므로 UserCounters 는 지연 조회
+ */
+@Component
+public class UserCountListener {
+
+    private final ObjectProvider<UserCounters> userCounters;
+
+    public UserCountListener(ObjectProvider<UserCounters> userCounters) {
+        this.userCounters = userCounters;
+    }
+
+    @PostPersist
+    public void afterUserCreated(User user) {
+        if (!Boolean.TRUE.equals(user.getDeleted())) {
+            userCounters.getObject().adjustProvider(user.getProvider(), 1);
+        }
+        user.setDeletedOnLoad(Boolean.TRUE.equals(user.getDeleted()));
+    }
+
+    @PostUpdate
+    public void afterUserUpdated(User user) {
+        boolean deleted = Boolean.TRUE.equals(user.getDeleted());
+        if (deleted != user.isDeletedOnLoad()) {
+            // 탈퇴: -1, 복구: +1
+            userCounters.getObject().adjustProvider(user.getProvider(), deleted ? -1 : 1);
+            user.setDeletedOnLoad(deleted);
+        }
+    }
+
+    @PostRemove
+    public void afterUserRemoved(User user) {
+        if (!user.isDeletedOnLoad()) {
+            userCounters.getObject().adjustProvider(user.getProvider(), -1);
+        }
+    }
+}
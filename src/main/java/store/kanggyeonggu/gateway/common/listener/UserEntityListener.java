@@ -35,13 +35,14 @@ public class UserEntityListener implements ApplicationContextAware {
                 return;
             }
 
+            // 전체 COUNT 대신 활성 사용자 존재 여부만 확인 (첫 행에서 종료)
             UserRepository userRepository = applicationContext.getBean(UserRepository.class);
-            long remainingCount = userRepository.countByDeletedFalse();
+            boolean anyActive = userRepository.existsByDeletedFalse();
 
-            log.info("User 삭제됨: ID={}, 닉네임={}, 남은 활성 사용자 수={}",
-                    user.getId(), user.getNickname(), remainingCount);
+            log.info("User 삭제됨: ID={}, 닉네임={}, 남은 활성 사용자 존재={}",
+                    user.getId(), user.getNickname(), anyActive);
 
-            if (remainingCount == 0) {
+            if (!anyActive) {
                 log.info("모든 활성 사용자가 삭제되어 시퀀스를 1로 리셋합니다.");
                 if (userRepository instanceof UserRepositoryCustom) {
                     ((UserRepositoryCustom) userRepository).resetSequence();
@@ -0,0 +1,68 @@
+package store.kanggyeonggu.gateway.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis 기반 분산 락 (공통)
+ *
+ * 여러 Gateway 인스턴스 중 하나만 작업을 실행하도록 리더를 선출할 때 사용
+ * - SET NX PX 로 락 획득 (TTL 필수 → 인스턴스가 죽어도 자동 해제)
+ * - 소유자 토큰을 비교하는 Lua 스크립트로 해제 (다른 인스턴스의 락을 지우지 않음)
+ *
+ * 키 구조:
+ * - lock:{name} → 소유자 토큰
+ */
+@Slf4j
+@Component
+public class RedisLockService {
+
+    private static final String LOCK_PREFIX = "lock:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLockService(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 락 획득 시도 (대기하지 않음)
+     *
+     * @param name 락 이름
+     * @param ttl  락 유지 시간 (작업 최대 소요 시간보다 길게)
+     * @return 획득 시 소유자 토큰, 다른 인스턴스가 보유 중이거나 Redis 장애 시 empty
+     */
+    public Optional<String> tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + name, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("❌ 락 획득 실패: name={}, error={}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 락 해제 (자신이 보유한 락만 해제)
+     */
+    public void release(String name, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_PREFIX + name), token);
+        } catch (Exception e) {
+            // 해제 실패 시에도 TTL 만료로 자동 해제됨
+            log.warn("❌ 락 해제 실패: name={}, error={}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 버전이 있는 압축형 Redis 값 직렬화기 (공통)
+ *
+ * 기존 GenericJackson2JsonRedisSerializer (default typing) 는 값마다 전체 클래스 이름을 넣고
+ * 다형성 역직렬화 비용이 큼. 이 직렬화기는 등록된 타입을 1바이트 타입 ID + Smile (바이너리 JSON) 로 저장
+ *
+ * 형식:
+ * [MAGIC 0xC5][VERSION][TYPE ID][FLAGS] ([원본 길이 int] : LZ4 압축 시) [payload]
+ * - String 은 UTF-8 그대로, 그 외 등록 타입은 Smile
+ * - payload가 lz4-threshold-bytes 이상이면 LZ4 압축 (FLAGS bit 0)
+ *
+ * 호환성 (dual-read):
+ * - 읽기: 첫 바이트가 MAGIC이면 압축형, 아니면 기존 JSON 형식으로 해석 (JSON은 0xC5로 시작할 수 없음)
+ * - 쓰기: 등록되지 않은 타입이거나 write-format=json 이면 기존 JSON 형식
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    static final byte VERSION = 1;
+
+    private static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 4;
+
+    private static final byte TYPE_STRING = 1;
+
+    private final Map<Byte, Class<?>> typesById = new HashMap<>();
+    private final Map<Class<?>, Byte> idsByType = new HashMap<>();
+
+    private final ObjectMapper smileMapper;
+    private final GenericJackson2JsonRedisSerializer legacySerializer;
+    private final boolean compactWrite;
+    private final int lz4ThresholdBytes;
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    public CompactRedisSerializer(boolean compactWrite, int lz4ThresholdBytes) {
+        this.compactWrite = compactWrite;
+        this.lz4ThresholdBytes = lz4ThresholdBytes;
+        this.legacySerializer = legacyJsonSerializer();
+        this.smileMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) // 필드 추가에 대한 하위 호환
+                .build();
+
+        typesById.put(TYPE_STRING, String.class);
+        idsByType.put(String.class, TYPE_STRING);
+        register(2, LinkedHashMap.class);
+        idsByType.put(HashMap.class, (byte) 2);
+    }
+
+    /**
+     * 압축형으로 저장할 타입 등록 (ID는 한 번 정하면 바꾸지 않음, 1~2는 예약)
+     */
+    public CompactRedisSerializer register(int typeId, Class<?> type) {
+        byte id = (byte) typeId;
+        Class<?> existing = typesById.putIfAbsent(id, type);
+        if (existing != null && existing != type) {
+            throw new IllegalArgumentException("이미 사용 중인 타입 ID: " + typeId + " (" + existing.getName() + ")");
+        }
+        idsByType.put(type, id);
+        return this;
+    }
+
+    /**
+     * 기존 형식 (default typing JSON) 직렬화기
+     */
+    public static GenericJackson2JsonRedisSerializer legacyJsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        BasicPolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator
+                .builder()
+                .allowIfBaseType(Object.class)
+                .build();
+
+        objectMapper.activateDefaultTyping(
+                typeValidator,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        Byte typeId = idsByType.get(value.getClass());
+        if (!compactWrite || typeId == null) {
+            return legacySerializer.serialize(value);
+        }
+
+        byte[] payload = typeId == TYPE_STRING
+                ? ((String) value).getBytes(StandardCharsets.UTF_8)
+                : writeSmile(value);
+
+        if (lz4ThresholdBytes > 0 && payload.length >= lz4ThresholdBytes) {
+            byte[] compressed = new byte[compressor.maxCompressedLength(payload.length)];
+            int compressedLength = compressor.compress(payload, 0, payload.length, compressed, 0);
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressedLength);
+            buffer.put(MAGIC).put(VERSION).put(typeId).put(FLAG_LZ4);
+            buffer.putInt(payload.length);
+            buffer.put(compressed, 0, compressedLength);
+            return buffer.array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.put(MAGIC).put(VERSION).put(typeId).put((byte) 0);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != VERSION) {
+            throw new SerializationException("지원하지 않는 Redis 값 형식 버전: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        Class<?> type = typesById.get(bytes[2]);
+        if (type == null) {
+            throw new SerializationException("등록되지 않은 Redis 값 타입 ID: " + bytes[2]);
+        }
+
+        byte[] payload;
+        int offset;
+        int length;
+        if ((bytes[3] & FLAG_LZ4) != 0) {
+            int originalLength = ByteBuffer.wrap(bytes, HEADER_SIZE, Integer.BYTES).getInt();
+            payload = new byte[originalLength];
+            decompressor.decompress(bytes, HEADER_SIZE + Integer.BYTES, payload, 0, originalLength);
+            offset = 0;
+            length = originalLength;
+        } else {
+            payload = bytes;
+            offset = HEADER_SIZE;
+            length = bytes.length - HEADER_SIZE;
+        }
+
+        if (type == String.class) {
+            return new String(payload, offset, length, StandardCharsets.UTF_8);
+        }
+        try {
+            return smileMapper.readValue(payload, offset, length, type);
+        } catch (IOException e) {
+            throw new SerializationException("Redis 값 역직렬화 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    private byte[] writeSmile(Object value) {
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Redis 값 직렬화 실패: " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 키 공간 통계 설정 Properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.redis.keyspace")
+@Getter
+@Setter
+public class KeyspaceProperties {
+
+    // 집계 대상 키 접두사 (먼저 일치하는 접두사로 분류, 나머지는 other)
+    private List<String> prefixes = new ArrayList<>(List.of(
+            "access_token:",
+            "user_tokens:",
+            "refresh_grace:",
+            "jwt:user:",
+            "user:info:",
+            "user:v"));
+
+    private Sampler sampler = new Sampler();
+
+    /**
+     * SCAN 표본 조사 (actuator 요청 시에만 실행)
+     */
+    @Getter
+    @Setter
+    public static class Sampler {
+
+        private boolean enabled = true;
+
+        // 1회 조사에서 읽을 최대 키 수
+        private int maxKeys = 2000;
+
+        // SCAN COUNT 힌트 (한 번에 훑는 양)
+        private int scanCount = 200;
+
+        // scan-count 개 키마다 쉬는 시간 (Redis 부하 조절)
+        private long pauseMs = 10;
+
+        // MEMORY USAGE SAMPLES 값 (집합/해시의 일부 원소만 보고 추정, 0이면 전체)
+        private int memorySamples = 5;
+
+        // 조사 최소 간격 (그 전에는 마지막 결과 반환)
+        private long minIntervalMs = 60000;
+    }
+}
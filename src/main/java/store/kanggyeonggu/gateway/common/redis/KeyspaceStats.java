@@ -0,0 +1,245 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Redis 키 공간 통계 (공통)
+ *
+ * KEYS (O(N), 서버 전체 차단) 없이 Redis 용량을 가늠하기 위한 통계
+ *
+ * 기능:
+ * - 쓰기 카운터: 키를 쓰거나 지울 때 접두사별로 집계 (이 인스턴스, 시작 이후)
+ * - SCAN 표본 조사: 커서 기반으로 최대 max-keys 개만 훑고 MEMORY USAGE 로 크기 측정
+ *   → DBSIZE 와 표본 비율로 접두사별 키 수/메모리 추정
+ * - 표본 조사는 동시에 하나만, min-interval-ms 안에는 마지막 결과 재사용
+ *
+ * 메트릭:
+ * - redis.keyspace.writes{prefix} : 접두사별 쓰기 수
+ * - redis.keyspace.deletes{prefix} : 접두사별 삭제 수
+ */
+@Slf4j
+@Component
+public class KeyspaceStats {
+
+    public static final String OTHER = "other";
+
+    // 키 목록의 MEMORY USAGE (없는 키는 0)
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> MEMORY_USAGE_SCRIPT = new DefaultRedisScript<>(
+            "local out = {} "
+                    + "for i, key in ipairs(KEYS) do "
+                    + "out[i] = redis.call('MEMORY', 'USAGE', key, 'SAMPLES', ARGV[1]) or 0 end "
+                    + "return out",
+            List.class);
+
+    /**
+     * 접두사별 표본 조사 결과
+     *
+     * @param sampledKeys    표본에서 찾은 키 수
+     * @param sampledBytes   표본 키의 MEMORY USAGE 합 (미지원이면 -1)
+     * @param estimatedKeys  DBSIZE 기준 추정 키 수
+     * @param estimatedBytes 추정 메모리 (미지원이면 -1)
+     */
+    public record PrefixSample(long sampledKeys, long sampledBytes, long estimatedKeys, long estimatedBytes) {
+    }
+
+    /**
+     * 표본 조사 결과
+     */
+    public record Sample(
+            Instant sampledAt,
+            long dbSize,
+            long scannedKeys,
+            long elapsedMs,
+            boolean memoryUsageSupported,
+            Map<String, PrefixSample> prefixes) {
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final KeyspaceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> writes = new LinkedHashMap<>();
+    private final Map<String, Counter> deletes = new LinkedHashMap<>();
+
+    private final ReentrantLock sampling = new ReentrantLock();
+    private volatile Sample lastSample;
+
+    public KeyspaceStats(
+            StringRedisTemplate stringRedisTemplate,
+            KeyspaceProperties properties,
+            MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        for (String prefix : properties.getPrefixes()) {
+            registerCounters(prefix);
+        }
+        registerCounters(OTHER);
+    }
+
+    private void registerCounters(String prefix) {
+        writes.put(prefix, Counter.builder("redis.keyspace.writes")
+                .tag("prefix", prefix)
+                .description("Redis 접두사별 키 쓰기 수")
+                .register(meterRegistry));
+        deletes.put(prefix, Counter.builder("redis.keyspace.deletes")
+                .tag("prefix", prefix)
+                .description("Redis 접두사별 키 삭제 수")
+                .register(meterRegistry));
+    }
+
+    // ========================================
+    // 쓰기 카운터
+    // ========================================
+
+    public void recordWrite(String key) {
+        writes.get(prefixOf(key)).increment();
+    }
+
+    public void recordDelete(String key) {
+        deletes.get(prefixOf(key)).increment();
+    }
+
+    /**
+     * 접두사별 쓰기/삭제 수 (이 인스턴스, 시작 이후)
+     */
+    public Map<String, Map<String, Long>> counters() {
+        Map<String, Map<String, Long>> counters = new LinkedHashMap<>();
+        for (String prefix : writes.keySet()) {
+            counters.put(prefix, Map.of(
+                    "writes", (long) writes.get(prefix).count(),
+                    "deletes", (long) deletes.get(prefix).count()));
+        }
+        return counters;
+    }
+
+    private String prefixOf(String key) {
+        for (String prefix : properties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+        return OTHER;
+    }
+
+    // ========================================
+    // SCAN 표본 조사
+    // ========================================
+
+    public Sample lastSample() {
+        return lastSample;
+    }
+
+    /**
+     * 표본 조사 실행 (비활성, 최소 간격 이내, 다른 조사 진행 중이면 마지막 결과 반환)
+     */
+    public Sample sample() {
+        KeyspaceProperties.Sampler config = properties.getSampler();
+        Sample last = lastSample;
+        if (!config.isEnabled() || !isDue(last, config) || !sampling.tryLock()) {
+            return last;
+        }
+
+        try {
+            lastSample = scan(config);
+            log.info("📊 Redis 키 공간 표본 조사 완료: dbSize={}, scanned={}, {}ms",
+                    lastSample.dbSize(), lastSample.scannedKeys(), lastSample.elapsedMs());
+            return lastSample;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return last;
+        } catch (Exception e) {
+            log.error("❌ Redis 키 공간 표본 조사 실패: {}", e.getMessage());
+            return last;
+        } finally {
+            sampling.unlock();
+        }
+    }
+
+    private static boolean isDue(Sample last, KeyspaceProperties.Sampler config) {
+        return last == null
+                || Instant.now().isAfter(last.sampledAt().plusMillis(config.getMinIntervalMs()));
+    }
+
+    private Sample scan(KeyspaceProperties.Sampler config) throws InterruptedException {
+        long start = System.nanoTime();
+        Long dbSize = stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(
+                ScanOptions.scanOptions().count(config.getScanCount()).build())) {
+            while (cursor.hasNext() && keys.size() < config.getMaxKeys()) {
+                keys.add(cursor.next());
+                if (keys.size() % config.getScanCount() == 0) {
+                    Thread.sleep(config.getPauseMs());
+                }
+            }
+        }
+
+        long[] bytes = memoryUsage(keys, config);
+        boolean memorySupported = bytes != null;
+
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            long[] sum = totals.computeIfAbsent(prefixOf(keys.get(i)), prefix -> new long[2]);
+            sum[0]++;
+            sum[1] += memorySupported ? bytes[i] : 0;
+        }
+
+        long total = dbSize != null ? dbSize : keys.size();
+        Map<String, PrefixSample> prefixes = new LinkedHashMap<>();
+        totals.forEach((prefix, t) -> {
+            long estimatedKeys = keys.isEmpty() ? 0 : Math.round((double) total * t[0] / keys.size());
+            long estimatedBytes = memorySupported && t[0] > 0 ? estimatedKeys * (t[1] / t[0]) : -1;
+            prefixes.put(prefix, new PrefixSample(t[0], memorySupported ? t[1] : -1, estimatedKeys, estimatedBytes));
+        });
+
+        return new Sample(
+                Instant.now(),
+                total,
+                keys.size(),
+                (System.nanoTime() - start) / 1_000_000,
+                memorySupported,
+                prefixes);
+    }
+
+    // scan-count 개씩 나눠 MEMORY USAGE 측정 (미지원 서버면 null)
+    private long[] memoryUsage(List<String> keys, KeyspaceProperties.Sampler config) throws InterruptedException {
+        long[] bytes = new long[keys.size()];
+        String samples = String.valueOf(config.getMemorySamples());
+
+        try {
+            for (int from = 0; from < keys.size(); from += config.getScanCount()) {
+                List<String> chunk = keys.subList(from, Math.min(keys.size(), from + config.getScanCount()));
+                List<?> usage = stringRedisTemplate.execute(MEMORY_USAGE_SCRIPT, chunk, samples);
+                for (int i = 0; usage != null && i < usage.size(); i++) {
+                    bytes[from + i] = ((Number) usage.get(i)).longValue();
+                }
+                Thread.sleep(config.getPauseMs());
+            }
+            return bytes;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("⚠️ MEMORY USAGE 사용 불가, 키 수만 추정: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lettuce Redis 클라이언트 설정 Properties
+ *
+ * 연결 방식:
+ * - share-native-connection=true (기본): 일반 명령은 하나의 연결을 공유 (Lettuce가 요청을 파이프라인으로 다중화)
+ * - pool.enabled=true: 트랜잭션/블로킹 명령 (또는 공유 끔 시 전체 명령) 에 연결 풀 사용
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.redis.client")
+@Getter
+@Setter
+public class RedisClientProperties {
+
+    // 명령 타임아웃
+    private long commandTimeoutMs = 10000;
+
+    // 종료 타임아웃
+    private long shutdownTimeoutMs = 100;
+
+    // 일반 명령에 하나의 연결 공유 여부
+    private boolean shareNativeConnection = true;
+
+    // 프로토콜 고정 (true: RESP3, false: RESP2, null: Lettuce 기본 HELLO 협상 + RESP2 폴백)
+    // 클라이언트 캐싱은 전용 RESP3 연결을 따로 열기 때문에 기본 연결은 고정하지 않음
+    private Boolean resp3;
+
+    // executePipelined 전송 방식 (each: 명령마다 전송 | on-close: 끝에 한 번 | buffered: buffer-size 마다)
+    private String pipelineFlush = "on-close";
+
+    // pipeline-flush=buffered 일 때 묶어 보낼 명령 수
+    private int pipelineBufferSize = 64;
+
+    private Pool pool = new Pool();
+
+    private Tracking tracking = new Tracking();
+
+    private Metrics metrics = new Metrics();
+
+    public Duration commandTimeout() {
+        return Duration.ofMillis(commandTimeoutMs);
+    }
+
+    public Duration shutdownTimeout() {
+        return Duration.ofMillis(shutdownTimeoutMs);
+    }
+
+    /**
+     * 연결 풀 (commons-pool2)
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private boolean enabled = false;
+        private int maxTotal = 16;
+        private int maxIdle = 8;
+        private int minIdle = 0;
+
+        // 풀이 비었을 때 연결 대기 시간
+        private long maxWaitMs = 1000;
+    }
+
+    /**
+     * 클라이언트 캐싱 (RESP3 CLIENT TRACKING, 서버 푸시 무효화)
+     * Redis 서버가 CLIENT TRACKING 을 지원해야 함 (미지원이면 시작 시 자동으로 끄고 Redis 직접 조회)
+     */
+    @Getter
+    @Setter
+    public static class Tracking {
+
+        private boolean enabled = false;
+
+        // 로컬 캐시 대상 키 접두사 (BCAST 모드, 문자열 값 GET 전용)
+        private List<String> prefixes = new ArrayList<>(List.of("access_token:"));
+
+        // 로컬 캐시 최대 항목 수
+        private int maxSize = 50000;
+
+        // 로컬 캐시 최대 유지 시간 (무효화 유실/재연결 사이 구간 대비 상한)
+        private long maxAgeMs = 60000;
+
+        public Duration maxAge() {
+            return Duration.ofMillis(maxAgeMs);
+        }
+    }
+
+    /**
+     * 명령별 지연 시간 메트릭 (redis.command)
+     */
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        private boolean enabled = true;
+
+        // 키 접두사 태그 (먼저 일치하는 접두사, 끝의 ':' 를 뺀 값으로 태그)
+        private List<String> keyPrefixes = new ArrayList<>(List.of(
+                "access_token:",
+                "user_tokens:",
+                "jwt:user:",
+                "user:"));
+
+        // SLO 버킷 경계 (알림 기준: 해당 시간 이하 비율)
+        private List<Long> sloMs = new ArrayList<>(List.of(1L, 2L, 5L, 10L, 25L, 50L, 100L, 250L, 1000L));
+    }
+}
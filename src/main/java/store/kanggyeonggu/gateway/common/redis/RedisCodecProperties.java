@@ -0,0 +1,31 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 값 직렬화 (RedisTemplate&lt;String, Object&gt;) 설정 Properties
+ *
+ * 전환 절차:
+ * 1. write-format=json 으로 배포 (읽기는 항상 두 형식 모두 지원)
+ * 2. 모든 인스턴스 배포 후 write-format=compact 로 변경
+ * 3. 기존 JSON 값은 TTL 만료 또는 다음 쓰기 때 compact로 교체됨
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.redis.codec")
+@Getter
+@Setter
+public class RedisCodecProperties {
+
+    // 쓰기 형식 (compact | json), 기본은 json: compact 를 읽지 못하는 이전 인스턴스와 섞여 배포될 수 있음
+    private String writeFormat = "json";
+
+    // 이 크기 이상인 값은 LZ4 압축 (0 이하면 압축 안 함)
+    private int lz4ThresholdBytes = 1024;
+
+    public boolean isCompactWrite() {
+        return "compact".equalsIgnoreCase(writeFormat);
+    }
+}
@@ -0,0 +1,168 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 명령별 지연 시간 메트릭 (Lettuce CommandListener → Micrometer, 공통)
+ *
+ * 기능:
+ * - 모든 Lettuce 명령의 시작 ~ 응답 시간을 기록 (파이프라인/비동기 명령 포함)
+ * - 명령 종류, 첫 번째 키의 접두사, 성공/실패로 태그
+ * - SLO 버킷 (app.redis.client.metrics.slo-ms) 으로 히스토그램 게시 → Prometheus 알림 기준
+ *
+ * 메트릭:
+ * - redis.command{command,prefix,outcome} : 명령 지연 시간
+ *   (prefix=access_token|user_tokens|jwt:user|user|other|none, outcome=success|error)
+ */
+@Slf4j
+@Component
+public class RedisCommandMetrics implements CommandListener, SmartInitializingSingleton {
+
+    private static final String STARTED_AT = RedisCommandMetrics.class.getName() + ".startedAt";
+    private static final String OTHER = "other";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final RedisClientProperties.Metrics properties;
+    private final ObjectProvider<RedisConnectionFactory> connectionFactory;
+
+    private final byte[][] prefixBytes;
+    private final String[] prefixTags;
+    private final Duration[] slos;
+
+    private final Map<ProtocolKeyword, String> commandNames = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RedisCommandMetrics(
+            MeterRegistry meterRegistry,
+            RedisClientProperties clientProperties,
+            ObjectProvider<RedisConnectionFactory> connectionFactory) {
+        this.meterRegistry = meterRegistry;
+        this.properties = clientProperties.getMetrics();
+        this.connectionFactory = connectionFactory;
+
+        List<String> prefixes = properties.getKeyPrefixes();
+        this.prefixBytes = new byte[prefixes.size()][];
+        this.prefixTags = new String[prefixes.size()];
+        for (int i = 0; i < prefixes.size(); i++) {
+            String prefix = prefixes.get(i);
+            prefixBytes[i] = prefix.getBytes(StandardCharsets.UTF_8);
+            prefixTags[i] = prefix.endsWith(":") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        }
+        this.slos = properties.getSloMs().stream().map(Duration::ofMillis).toArray(Duration[]::new);
+    }
+
+    /**
+     * 기본 Redis 연결 팩토리의 클라이언트에 리스너 등록
+     * 등록 전에 만들어진 공유 연결은 리스너가 없으므로 재생성
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()
+                || !(connectionFactory.getIfAvailable() instanceof LettuceConnectionFactory factory)) {
+            return;
+        }
+        register(factory.getNativeClient());
+        factory.resetConnection();
+        log.info("📈 Redis 명령 지연 시간 메트릭 시작: prefixes={}", properties.getKeyPrefixes());
+    }
+
+    /**
+     * 별도 Lettuce 클라이언트 (예: RedisTrackingCache) 도 같은 메트릭으로 기록
+     */
+    public void register(AbstractRedisClient client) {
+        if (properties.isEnabled() && client != null) {
+            client.addListener(this);
+        }
+    }
+
+    // ========================================
+    // CommandListener
+    // ========================================
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        event.getContext().put(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getCommand(), event.getContext(), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getCommand(), event.getContext(), "error");
+    }
+
+    private void record(RedisCommand<Object, Object, Object> command, Map<String, Object> context, String outcome) {
+        if (!(context.get(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        String name = commandNames.computeIfAbsent(command.getType(),
+                type -> new String(type.getBytes(), StandardCharsets.US_ASCII));
+        String prefix = prefixTag(command.getArgs());
+
+        timers.computeIfAbsent(name + '|' + prefix + '|' + outcome, key -> Timer.builder("redis.command")
+                .tag("command", name)
+                .tag("prefix", prefix)
+                .tag("outcome", outcome)
+                .serviceLevelObjectives(slos)
+                .description("Redis 명령 지연 시간")
+                .register(meterRegistry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    // 첫 번째 키의 접두사 (바이트 비교, 키 전체를 디코딩하지 않음)
+    private String prefixTag(CommandArgs<Object, Object> args) {
+        ByteBuffer key = args != null ? args.getFirstEncodedKey() : null;
+        if (key == null) {
+            return NONE;
+        }
+
+        for (int i = 0; i < prefixBytes.length; i++) {
+            if (startsWith(key, prefixBytes[i])) {
+                return prefixTags[i];
+            }
+        }
+        return OTHER;
+    }
+
+    private static boolean startsWith(ByteBuffer key, byte[] prefix) {
+        if (key.remaining() < prefix.length) {
+            return false;
+        }
+        int start = key.position();
+        for (int i = 0; i < prefix.length; i++) {
+            if (key.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis 키 공간 통계 Actuator 엔드포인트
+ *
+ * - GET /actuator/redisKeyspace : 접두사별 쓰기/삭제 카운터 + 마지막 표본 조사 결과
+ * - GET /actuator/redisKeyspace?sample=true : 표본 조사 실행 (최소 간격 이내면 마지막 결과)
+ */
+@Component
+@Endpoint(id = "redisKeyspace")
+public class RedisKeyspaceEndpoint {
+
+    private final KeyspaceStats keyspaceStats;
+
+    public RedisKeyspaceEndpoint(KeyspaceStats keyspaceStats) {
+        this.keyspaceStats = keyspaceStats;
+    }
+
+    @ReadOperation
+    public Map<String, Object> keyspace(@Nullable Boolean sample) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("counters", keyspaceStats.counters());
+        response.put("sample", Boolean.TRUE.equals(sample) ? keyspaceStats.sample() : keyspaceStats.lastSample());
+        return response;
+    }
+}
@@ -0,0 +1,297 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Redis 클라이언트 캐싱 (RESP3 CLIENT TRACKING, 공통)
+ *
+ * 자주 읽는 문자열 키 (예: access_token:*) 를 인스턴스 메모리에 두고,
+ * 값이 바뀌거나 삭제되면 Redis가 보내는 무효화 푸시로 로컬 값을 지움
+ * → 요청마다 Redis 왕복 없이 화이트리스트 확인
+ *
+ * 기능:
+ * - 전용 RESP3 연결에 CLIENT TRACKING ON BCAST PREFIX {prefixes} 설정
+ * - 대상 접두사가 아닌 키, 추적이 꺼진 상태는 StringRedisTemplate 로 직접 조회
+ * - 연결 끊김 시 로컬 캐시 비움 + 추적 중지, 재연결 시 추적 다시 설정
+ * - 서버가 CLIENT TRACKING 을 지원하지 않으면 경고 후 직접 조회로 동작
+ * - 값이 없는 키 (null) 는 캐시하지 않음
+ * - 미스 조회 중 같은 키의 무효화 (또는 연결 끊김) 가 도착하면 조회 결과를 캐시하지 않음
+ *   (키별 로드 토큰: 조회 전 등록, 무효화 시 제거 → 저장 후 토큰이 없으면 로컬 값 삭제)
+ *
+ * 메트릭:
+ * - redis.tracking.requests{result} : 로컬 캐시 적중/미스 (result=hit|miss|bypass)
+ * - redis.tracking.invalidations : 수신한 무효화 키 수
+ * - redis.tracking.size : 로컬 캐시 항목 수
+ */
+@Slf4j
+@Component
+public class RedisTrackingCache implements DisposableBean {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCommandMetrics commandMetrics;
+    private final RedisClientProperties.Tracking properties;
+    private final boolean resp3;
+    private final Cache<String, String> local;
+    // 진행 중인 미스 로드의 키별 토큰 (무효화/끊김 시 제거)
+    private final Map<String, Object> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter invalidations;
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private volatile boolean tracking;
+
+    @Value("${spring.data.redis.host:}")
+    private String host;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int port;
+
+    @Value("${spring.data.redis.password:}")
+    private String password;
+
+    @Value("${spring.data.redis.ssl.enabled:true}")
+    private boolean sslEnabled;
+
+    public RedisTrackingCache(
+            StringRedisTemplate stringRedisTemplate,
+            RedisCommandMetrics commandMetrics,
+            RedisClientProperties clientProperties,
+            MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.commandMetrics = commandMetrics;
+        this.properties = clientProperties.getTracking();
+        // 전용 연결은 항상 RESP3, 명시적으로 RESP2 를 지정한 경우에만 사용하지 않음
+        this.resp3 = !Boolean.FALSE.equals(clientProperties.getResp3());
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.maxAge())
+                .build();
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.bypasses = requestCounter(meterRegistry, "bypass");
+        this.invalidations = Counter.builder("redis.tracking.invalidations")
+                .description("Redis 클라이언트 캐싱 무효화 키 수")
+                .register(meterRegistry);
+        Gauge.builder("redis.tracking.size", local, Cache::estimatedSize)
+                .description("Redis 클라이언트 캐싱 로컬 항목 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("redis.tracking.requests")
+                .tag("result", result)
+                .description("Redis 클라이언트 캐싱 조회 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * 문자열 값 조회 (추적 중이고 대상 접두사면 로컬 캐시 우선)
+     */
+    public String get(String key) {
+        if (!tracking || !isTracked(key)) {
+            bypasses.increment();
+            return stringRedisTemplate.opsForValue().get(key);
+        }
+
+        String cached = local.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return loadAndCache(key, () -> connection.sync().get(key));
+    }
+
+    /**
+     * 미스 로드: 조회 ~ 저장 사이에 무효화가 처리되면 (이벤트 루프 스레드) 저장한 값을 다시 지움
+     * 같은 키의 동시 로드는 나중 토큰만 남으므로 앞선 로드는 캐시하지 않음
+     */
+    String loadAndCache(String key, Supplier<String> remote) {
+        Object token = new Object();
+        loading.put(key, token);
+        String value;
+        try {
+            value = remote.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, token);
+            throw e;
+        }
+
+        if (value == null) {
+            loading.remove(key, token);
+            return value;
+        }
+        local.put(key, value);
+        if (!loading.remove(key, token)) {
+            local.invalidate(key);
+        }
+        return value;
+    }
+
+    // 로컬 캐시 값 (테스트/진단용)
+    String cached(String key) {
+        return local.getIfPresent(key);
+    }
+
+    private boolean isTracked(String key) {
+        for (String prefix : properties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========================================
+    // 연결 / 추적 설정
+    // ========================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled() || host.isEmpty()) {
+            return;
+        }
+        if (!resp3) {
+            log.warn("⚠️ Redis 클라이언트 캐싱은 RESP3 필요 (app.redis.client.resp3=false), 직접 조회로 동작");
+            return;
+        }
+
+        try {
+            RedisURI.Builder uri = RedisURI.builder()
+                    .withHost(host)
+                    .withPort(port)
+                    .withSsl(sslEnabled);
+            if (!password.isEmpty()) {
+                uri.withPassword(password.toCharArray());
+            }
+
+            client = RedisClient.create(uri.build());
+            client.setOptions(ClientOptions.builder()
+                    .protocolVersion(ProtocolVersion.RESP3)
+                    .build());
+            commandMetrics.register(client);
+            client.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                    // 재연결: 이전 연결의 추적 상태는 사라지므로 다시 설정
+                    if (connection != null && !tracking) {
+                        enableTrackingAsync();
+                    }
+                }
+
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                    onDisconnected();
+                }
+            });
+
+            connection = client.connect(StringCodec.UTF8);
+            connection.addListener(message -> {
+                if ("invalidate".equals(message.getType())) {
+                    onInvalidate(message.getContent(StringCodec.UTF8::decodeKey));
+                }
+            });
+
+            connection.sync().clientTracking(trackingArgs());
+            tracking = true;
+            log.info("📡 Redis 클라이언트 캐싱 시작: prefixes={}", properties.getPrefixes());
+        } catch (Exception e) {
+            log.warn("⚠️ Redis 클라이언트 캐싱 사용 불가, 직접 조회로 동작: {}", e.getMessage());
+            tracking = false;
+            closeConnection();
+        }
+    }
+
+    private void enableTrackingAsync() {
+        connection.async().clientTracking(trackingArgs()).whenComplete((reply, e) -> {
+            if (e != null) {
+                log.warn("⚠️ Redis 클라이언트 캐싱 재설정 실패: {}", e.getMessage());
+                return;
+            }
+            local.invalidateAll();
+            tracking = true;
+            log.info("📡 Redis 클라이언트 캐싱 재설정 완료");
+        });
+    }
+
+    // 끊긴 동안의 무효화는 받을 수 없음 → 로컬 값 + 진행 중인 로드 폐기
+    void onDisconnected() {
+        tracking = false;
+        loading.clear();
+        local.invalidateAll();
+    }
+
+    private TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled()
+                .bcast()
+                .prefixes(properties.getPrefixes().toArray(String[]::new));
+    }
+
+    // 푸시 메시지: ["invalidate", [key, ...]] (두 번째 값이 null 이면 FLUSHDB/FLUSHALL → 전체 무효화)
+    // 진행 중인 로드 토큰을 먼저 지워 조회 중이던 값이 무효화 뒤에 남지 않게 함
+    @SuppressWarnings("unchecked")
+    void onInvalidate(List<Object> content) {
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (!(keys instanceof List<?> invalidated)) {
+            loading.clear();
+            local.invalidateAll();
+            return;
+        }
+        invalidated.forEach(loading::remove);
+        local.invalidateAll((List<String>) invalidated);
+        invalidations.increment(invalidated.size());
+    }
+
+    @Override
+    public void destroy() {
+        tracking = false;
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (client != null) {
+            client.shutdown();
+            client = null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package store.kanggyeonggu.gateway.common.repository;
+
+import store.kanggyeonggu.gateway.common.entity.User;
+
+/**
+ * OAuth 로그인 Upsert 결과 (공통)
+ *
+ * @param user     Upsert 후 사용자
+ * @param created  이번 문장에서 새로 생성됨
+ * @param restored 탈퇴 상태였다가 이번 로그인으로 복구됨
+ * @param updated  기존 행이 이번 문장에서 변경됨 (프로필/복구, 버전 증가)
+ */
+public record OAuthUpsertResult(User user, boolean created, boolean restored, boolean updated) {
+
+    // 활성 사용자 수가 늘었는지 (생성 또는 복구)
+    public boolean activated() {
+        return created || restored;
+    }
+
+    // 행이 생성/변경되었는지 (네이티브 SQL 이라 엔티티 리스너가 호출되지 않음 → 호출자가 캐시 무효화)
+    public boolean changed() {
+        return created || updated;
+    }
+}
@@ -31,6 +31,18 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("SELECT rt FROM RefreshToken rt WHERE rt.token = :token AND rt.revoked = false AND rt.expiresAt > :now")
     Optional<RefreshToken> findValidToken(@Param("token") String token, @Param("now") LocalDateTime now);
 
+    /**
+     * 유효한 토큰 조회 + 사용자 함께 로딩 (트랜잭션 밖에서 User 필드 접근용)
+     */
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.token = :token AND rt.revoked = false AND rt.expiresAt > :now")
+    Optional<RefreshToken> findValidTokenWithUser(@Param("token") String token, @Param("now") LocalDateTime now);
+
+    /**
+     * 지정 시각 이후 무효화된 토큰인지 확인 (Refresh grace window용)
+     */
+    @Query("SELECT COUNT(rt) > 0 FROM RefreshToken rt WHERE rt.token = :token AND rt.revoked = true AND rt.revokedAt > :since")
+    boolean existsRevokedSince(@Param("token") String token, @Param("since") LocalDateTime since);
+
     /**
      * 사용자의 모든 Refresh Token 조회
      */
@@ -54,6 +66,14 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now WHERE rt.token = :token")
     int revokeByToken(@Param("token") String token, @Param("now") LocalDateTime now);
 
+    /**
+     * 유효한 토큰만 조건부 무효화 (Token Rotation용)
+     * 동시에 같은 토큰을 회전하려는 요청 중 하나만 1을 반환
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now WHERE rt.token = :token AND rt.revoked = false AND rt.expiresAt > :now")
+    int revokeIfValid(@Param("token") String token, @Param("now") LocalDateTime now);
+
     /**
      * 사용자의 모든 토큰 무효화 (전체 로그아웃)
      */
@@ -85,6 +105,43 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("DELETE FROM RefreshToken rt WHERE rt.revoked = true AND rt.revokedAt < :cutoffDate")
     int deleteRevokedTokens(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    /**
+     * 만료된 토큰 ID를 id 순서로 청크 조회 (keyset, 정리 작업용)
+     */
+    @Query(value = "SELECT id FROM refresh_tokens WHERE expires_at < :now AND id > :afterId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findExpiredTokenIds(@Param("now") LocalDateTime now,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * 보관 기간이 지난 무효화 토큰 ID를 id 순서로 청크 조회 (keyset, 정리 작업용)
+     */
+    @Query(value = "SELECT id FROM refresh_tokens WHERE revoked = true AND revoked_at < :cutoffDate AND id > :afterId ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findRevokedTokenIds(@Param("cutoffDate") LocalDateTime cutoffDate,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * ID 목록으로 토큰 삭제 (청크 정리용)
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * 아직 정리되지 않은 가장 오래된 만료 시각 (정리 지연 측정용)
+     */
+    @Query("SELECT MIN(rt.expiresAt) FROM RefreshToken rt WHERE rt.expiresAt < :now")
+    Optional<LocalDateTime> findOldestExpiredAt(@Param("now") LocalDateTime now);
+
+    /**
+     * 아직 정리되지 않은 가장 오래된 무효화 시각 (정리 지연 측정용)
+     */
+    @Query("SELECT MIN(rt.revokedAt) FROM RefreshToken rt WHERE rt.revoked = true AND rt.revokedAt < :cutoffDate")
+    Optional<LocalDateTime> findOldestRevokedAt(@Param("cutoffDate") LocalDateTime cutoffDate);
+
     /**
      * 토큰 존재 여부 확인
      */
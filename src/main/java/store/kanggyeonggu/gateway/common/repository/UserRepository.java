@@ -1,11 +1,21 @@
 package store.kanggyeonggu.gateway.common.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
 import store.kanggyeonggu.gateway.common.entity.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 사용자 정보를 관리하는 Repository (공통)
@@ -13,6 +23,20 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+    // 스트리밍 조회 시 한 번에 가져올 행 수 (PostgreSQL은 트랜잭션 안에서만 서버 커서 사용)
+    String STREAM_FETCH_SIZE = "500";
+
+    // 읽기 전용 조회용 생성자 프로젝션 (필요한 컬럼만 불변 레코드로, 영속성 컨텍스트/스냅샷 없음)
+    // 사용자 캐시 DB 적재용: 캐시 스냅샷 전체 (버전/탈퇴 여부 포함)
+    String CACHED_USER_PROJECTION = "SELECT new store.kanggyeonggu.gateway.common.cache.CachedUser("
+            + "u.id, u.provider, u.providerId, u.nickname, u.name, u.profileImageUrl, u.email, "
+            + "u.createdAt, u.lastLoginAt, u.enabled, u.deleted, u.version, u.updatedAt) FROM User u";
+
+    // 목록 / 내보내기용: 응답 컬럼만
+    String USER_SUMMARY_PROJECTION = "SELECT new store.kanggyeonggu.gateway.common.repository.UserSummary("
+            + "u.id, u.provider, u.providerId, u.nickname, u.name, u.profileImageUrl, u.email, "
+            + "u.createdAt, u.lastLoginAt, u.enabled) FROM User u";
+
     Optional<User> findByProviderAndProviderIdAndDeletedFalse(String provider, String providerId);
 
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
@@ -21,6 +45,47 @@ public interface UserRepository extends JpaRepository<User, Long>, UserRepositor
 
     Optional<User> findByEmail(String email);
 
-    long countByDeletedFalse();
+    boolean existsByDeletedFalse();
+
+    /**
+     * ID로 사용자 스냅샷 조회 (사용자 캐시 DB 적재용, 프로젝션)
+     */
+    @Query(CACHED_USER_PROJECTION + " WHERE u.id = :id")
+    Optional<CachedUser> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * ID 목록으로 사용자 스냅샷 일괄 조회 (사용자 캐시 일괄 적재용, 순서 보장 없음)
+     */
+    @Query(CACHED_USER_PROJECTION + " WHERE u.id IN :ids")
+    List<CachedUser> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 삭제되지 않은 사용자 keyset 페이지 (id > afterId, id 오름차순, 프로젝션)
+     */
+    @Query(USER_SUMMARY_PROJECTION + " WHERE u.deleted = false AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findActivePage(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * 삭제되지 않은 Provider별 사용자 keyset 페이지 (id > afterId, id 오름차순, 프로젝션)
+     */
+    @Query(USER_SUMMARY_PROJECTION + " WHERE u.deleted = false AND u.provider = :provider AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findActivePageByProvider(@Param("provider") String provider, @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * 삭제되지 않은 사용자 전체를 id 순으로 스트리밍 (내보내기용, 프로젝션)
+     * - 전진 전용 커서 + fetch size 단위로 읽음, 관리 엔티티를 만들지 않음
+     * - 트랜잭션 안에서 사용하고 반드시 닫아야 함 (try-with-resources)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(USER_SUMMARY_PROJECTION + " WHERE u.deleted = false ORDER BY u.id")
+    Stream<UserSummary> streamActive();
+
+    /**
+     * 삭제되지 않은 Provider별 사용자를 id 순으로 스트리밍 (내보내기용, (provider, id) 인덱스)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(USER_SUMMARY_PROJECTION + " WHERE u.deleted = false AND u.provider = :provider ORDER BY u.id")
+    Stream<UserSummary> streamActiveByProvider(@Param("provider") String provider);
 }
 
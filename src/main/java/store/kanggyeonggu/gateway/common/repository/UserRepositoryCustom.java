@@ -1,10 +1,34 @@
 package store.kanggyeonggu.gateway.common.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * UserRepository 커스텀 인터페이스 (공통)
  */
 public interface UserRepositoryCustom {
 
     void resetSequence();
-}
 
+    /**
+     * OAuth 로그인 사용자 Upsert (단일 SQL, 동시 첫 로그인에도 안전)
+     *
+     * - 없으면 생성 (name이 null이면 nickname 사용)
+     * - 있으면 변경된 값만 반영 (name이 null이면 기존 값 유지), 삭제된 사용자는 복구
+     * - 변경 사항이 없으면 쓰기 없이 기존 행 반환 (last_login_at은 로그인 후속 작업에서 갱신)
+     * - provider는 소문자로 저장
+     * - 생성/복구 여부를 함께 반환 (활성 사용자 수 카운터)
+     */
+    OAuthUpsertResult upsertOAuthUser(String provider, String providerId, String nickname, String name, String profileImageUrl);
+
+    /**
+     * 마지막 로그인 시각 일괄 갱신 (로그인 후속 작업 배치용, UPDATE ... RETURNING 1회)
+     *
+     * - staleBefore 이후에 이미 갱신된 사용자는 건너뜀
+     * - 응답 본문 (lastLoginAt) 이 바뀌므로 버전/변경 시각도 올림 (네이티브 UPDATE 는 @Version 자동 증가 없음)
+     *
+     * @return 갱신된 사용자 ID → 갱신 후 버전 (캐시 스냅샷을 DB와 같은 버전으로 맞추는 데 사용)
+     */
+    Map<Long, Long> touchLastLogin(Collection<Long> ids, LocalDateTime loginAt, LocalDateTime staleBefore);
+}
@@ -4,6 +4,13 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import store.kanggyeonggu.gateway.common.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * UserRepository 커스텀 구현체 (공통)
@@ -11,6 +18,59 @@ import org.springframework.transaction.annotation.Transactional;
 @Repository
 public class UserRepositoryImpl implements UserRepositoryCustom {
 
+    /**
+     * INSERT ... ON CONFLICT DO UPDATE ... WHERE (변경 시에만) RETURNING
+     * - 변경이 없으면 UPDATE가 건너뛰어져 upserted가 비므로 기존 행을 같은 문장에서 조회
+     * - nullable 파라미터는 PostgreSQL 타입 추론을 위해 CAST
+     * - created: 새 행이면 xmax = 0, restored: 문장 시작 시점 (prev) 에 탈퇴 상태였던 행
+     * - updated: 기존 행이 이번 문장에서 변경됨 (버전 증가, 캐시 무효화 대상)
+     */
+    private static final String UPSERT_OAUTH_USER_SQL = """
+            WITH prev AS (
+                SELECT deleted FROM users WHERE provider = :provider AND provider_id = :providerId
+            ),
+            upserted AS (
+                INSERT INTO users (provider, provider_id, nickname, name, profile_image_url,
+                                   created_at, last_login_at, enabled, deleted, version, updated_at)
+                VALUES (:provider, :providerId, CAST(:nickname AS VARCHAR),
+                        COALESCE(CAST(:name AS VARCHAR), CAST(:nickname AS VARCHAR)),
+                        CAST(:profileImageUrl AS VARCHAR), :now, :now, true, false, 0, :now)
+                ON CONFLICT (provider, provider_id) DO UPDATE SET
+                    nickname = EXCLUDED.nickname,
+                    name = COALESCE(CAST(:name AS VARCHAR), users.name),
+                    profile_image_url = EXCLUDED.profile_image_url,
+                    last_login_at = EXCLUDED.last_login_at,
+                    deleted = false,
+                    deleted_at = NULL,
+                    version = users.version + 1,
+                    updated_at = EXCLUDED.updated_at
+                WHERE users.nickname IS DISTINCT FROM EXCLUDED.nickname
+                   OR users.profile_image_url IS DISTINCT FROM EXCLUDED.profile_image_url
+                   OR (CAST(:name AS VARCHAR) IS NOT NULL AND users.name IS DISTINCT FROM CAST(:name AS VARCHAR))
+                   OR users.deleted
+                RETURNING *, (xmax = 0) AS created
+            )
+            SELECT upserted.*,
+                   NOT upserted.created AND COALESCE((SELECT deleted FROM prev), false) AS restored,
+                   NOT upserted.created AS updated
+            FROM upserted
+            UNION ALL
+            SELECT users.*, false AS created, false AS restored, false AS updated FROM users
+            WHERE provider = :provider AND provider_id = :providerId
+              AND NOT EXISTS (SELECT 1 FROM upserted)
+            """;
+
+    // 갱신된 행의 새 버전을 같은 문장에서 반환
+    private static final String TOUCH_LAST_LOGIN_SQL = """
+            WITH touched AS (
+                UPDATE users
+                SET last_login_at = :loginAt, version = version + 1, updated_at = :loginAt
+                WHERE id IN (:ids) AND (last_login_at IS NULL OR last_login_at < :staleBefore)
+                RETURNING id, version
+            )
+            SELECT id, version FROM touched
+            """;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -20,5 +80,58 @@ public class UserRepositoryImpl implements UserRepositoryCustom {
         entityManager.createNativeQuery("ALTER SEQUENCE users_id_seq RESTART WITH 1")
                 .executeUpdate();
     }
-}
 
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public OAuthUpsertResult upsertOAuthUser(String provider, String providerId, String nickname, String name,
+            String profileImageUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        String normalizedProvider = User.normalizeProvider(provider);
+
+        List<Object[]> result = entityManager.createNativeQuery(UPSERT_OAUTH_USER_SQL, User.UPSERT_RESULT_MAPPING)
+                .setParameter("provider", normalizedProvider)
+                .setParameter("providerId", providerId)
+                .setParameter("nickname", nickname)
+                .setParameter("name", name)
+                .setParameter("profileImageUrl", profileImageUrl)
+                .setParameter("now", now)
+                .getResultList();
+
+        if (!result.isEmpty()) {
+            Object[] row = result.get(0);
+            return new OAuthUpsertResult((User) row[0], Boolean.TRUE.equals(row[1]), Boolean.TRUE.equals(row[2]),
+                    Boolean.TRUE.equals(row[3]));
+        }
+
+        // 다른 트랜잭션이 같은 계정을 방금 생성한 경우: 충돌은 감지했지만 문장 스냅샷에는 보이지 않음
+        // → 새 스냅샷으로 다시 조회 (READ COMMITTED)
+        User user = entityManager.createQuery(
+                        "SELECT u FROM User u WHERE u.provider = :provider AND u.providerId = :providerId", User.class)
+                .setParameter("provider", normalizedProvider)
+                .setParameter("providerId", providerId)
+                .getSingleResult();
+        return new OAuthUpsertResult(user, false, false, false);
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> touchLastLogin(Collection<Long> ids, LocalDateTime loginAt, LocalDateTime staleBefore) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object[]> rows = entityManager.createNativeQuery(TOUCH_LAST_LOGIN_SQL)
+                .setParameter("ids", ids)
+                .setParameter("loginAt", loginAt)
+                .setParameter("staleBefore", staleBefore)
+                .getResultList();
+
+        Map<Long, Long> versions = new HashMap<>(rows.size());
+        for (Object[] row : rows) {
+            versions.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,22 @@
+package store.kanggyeonggu.gateway.common.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 목록 / 내보내기 조회용 프로젝션 (공통)
+ *
+ * 응답 (UserResponse) 에 쓰는 컬럼만 읽음: 캐시용 version / deleted / updatedAt 은 제외
+ * 사용자 캐시 DB 적재는 CachedUser 프로젝션 사용
+ */
+public record UserSummary(
+        Long id,
+        String provider,
+        String providerId,
+        String nickname,
+        String name,
+        String profileImageUrl,
+        String email,
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt,
+        Boolean enabled) {
+}
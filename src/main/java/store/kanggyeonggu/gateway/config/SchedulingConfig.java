@@ -0,0 +1,12 @@
+package store.kanggyeonggu.gateway.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄러 설정 (정리 작업 등 주기 작업 활성화)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,11 +1,14 @@
 package store.kanggyeonggu.gateway.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import store.kanggyeonggu.gateway.common.async.RequestAsyncTimeout;
 
 /**
  * MVC CORS 설정
+ * + 요청별 비동기 타임아웃 (RequestAsyncTimeout)
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
@@ -25,4 +28,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new RequestAsyncTimeout());
+    }
 }
@@ -1,7 +1,10 @@
 package store.kanggyeonggu.gateway.jwt;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+import store.kanggyeonggu.gateway.common.redis.RedisTrackingCache;
 
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -16,23 +19,33 @@ import java.util.concurrent.TimeUnit;
  * - 로그아웃 시 즉시 토큰 무효화
  * - 활성 세션 추적
  * - 강제 로그아웃 지원
+ * - 토큰 확인은 Redis 클라이언트 캐싱 사용 (app.redis.client.tracking, 로그아웃 시 서버 푸시로 즉시 무효화)
  * 
  * 키 구조:
  * - access_token:{token} → userId (토큰 → 사용자 매핑)
  * - user_tokens:{userId} → Set<token> (사용자 → 토큰 목록)
  */
+@Slf4j
 @Service
 public class AccessTokenService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final JwtService jwtService;
+    private final RedisTrackingCache trackingCache;
+    private final KeyspaceStats keyspaceStats;
 
     private static final String ACCESS_TOKEN_PREFIX = "access_token:";
     private static final String USER_TOKENS_PREFIX = "user_tokens:";
 
-    public AccessTokenService(RedisTemplate<String, String> redisTemplate, JwtService jwtService) {
+    public AccessTokenService(
+            RedisTemplate<String, String> redisTemplate,
+            JwtService jwtService,
+            RedisTrackingCache trackingCache,
+            KeyspaceStats keyspaceStats) {
         this.redisTemplate = redisTemplate;
         this.jwtService = jwtService;
+        this.trackingCache = trackingCache;
+        this.keyspaceStats = keyspaceStats;
     }
 
     /**
@@ -58,11 +71,13 @@ public class AccessTokenService {
             redisTemplate.opsForSet().add(userTokensKey, token);
             // 토큰 목록도 만료 설정 (가장 긴 토큰 수명 기준)
             redisTemplate.expire(userTokensKey, expirationMs * 2, TimeUnit.MILLISECONDS);
+            keyspaceStats.recordWrite(tokenKey);
+            keyspaceStats.recordWrite(userTokensKey);
 
-            System.out.println("✅ Access Token Redis 저장: userId=" + userId);
+            log.info("✅ Access Token Redis 저장: userId={}", userId);
 
         } catch (Exception e) {
-            System.err.println("❌ Access Token Redis 저장 실패: " + e.getMessage());
+            log.error("❌ Access Token Redis 저장 실패: {}", e.getMessage());
             // Redis 장애 시에도 로그인은 진행 (Graceful Degradation)
         }
     }
@@ -76,7 +91,7 @@ public class AccessTokenService {
     public Long validateAccessToken(String token) {
         try {
             String tokenKey = ACCESS_TOKEN_PREFIX + token;
-            String userIdStr = redisTemplate.opsForValue().get(tokenKey);
+            String userIdStr = trackingCache.get(tokenKey);
 
             if (userIdStr != null) {
                 return Long.parseLong(userIdStr);
@@ -85,7 +100,7 @@ public class AccessTokenService {
             return null;
 
         } catch (Exception e) {
-            System.err.println("❌ Access Token Redis 검증 실패: " + e.getMessage());
+            log.error("❌ Access Token Redis 검증 실패: {}", e.getMessage());
             // Redis 장애 시 JWT 자체 검증으로 폴백
             return null;
         }
@@ -97,9 +112,9 @@ public class AccessTokenService {
     public boolean isTokenValid(String token) {
         try {
             String tokenKey = ACCESS_TOKEN_PREFIX + token;
-            return Boolean.TRUE.equals(redisTemplate.hasKey(tokenKey));
+            return trackingCache.get(tokenKey) != null;
         } catch (Exception e) {
-            System.err.println("❌ Access Token 존재 확인 실패: " + e.getMessage());
+            log.error("❌ Access Token 존재 확인 실패: {}", e.getMessage());
             return true; // Redis 장애 시 JWT 검증으로 폴백
         }
     }
@@ -118,6 +133,7 @@ public class AccessTokenService {
 
             // 토큰 삭제
             redisTemplate.delete(tokenKey);
+            keyspaceStats.recordDelete(tokenKey);
 
             // 사용자 토큰 목록에서도 제거
             if (userIdStr != null) {
@@ -125,10 +141,10 @@ public class AccessTokenService {
                 redisTemplate.opsForSet().remove(userTokensKey, token);
             }
 
-            System.out.println("✅ Access Token Redis 삭제 완료");
+            log.info("✅ Access Token Redis 삭제 완료");
 
         } catch (Exception e) {
-            System.err.println("❌ Access Token Redis 삭제 실패: " + e.getMessage());
+            log.error("❌ Access Token Redis 삭제 실패: {}", e.getMessage());
         }
     }
 
@@ -155,18 +171,20 @@ public class AccessTokenService {
             for (String token : tokens) {
                 String tokenKey = ACCESS_TOKEN_PREFIX + token;
                 redisTemplate.delete(tokenKey);
+                keyspaceStats.recordDelete(tokenKey);
                 count++;
             }
 
             // 사용자 토큰 목록 삭제
             redisTemplate.delete(userTokensKey);
+            keyspaceStats.recordDelete(userTokensKey);
 
-            System.out.println("✅ 사용자 전체 Access Token 삭제: userId=" + userId + ", count=" + count);
+            log.info("✅ 사용자 전체 Access Token 삭제: userId={}, count={}", userId, count);
 
             return count;
 
         } catch (Exception e) {
-            System.err.println("❌ 사용자 전체 토큰 삭제 실패: " + e.getMessage());
+            log.error("❌ 사용자 전체 토큰 삭제 실패: {}", e.getMessage());
             return 0;
         }
     }
@@ -180,7 +198,7 @@ public class AccessTokenService {
             Long count = redisTemplate.opsForSet().size(userTokensKey);
             return count != null ? count : 0;
         } catch (Exception e) {
-            System.err.println("❌ 활성 세션 수 조회 실패: " + e.getMessage());
+            log.error("❌ 활성 세션 수 조회 실패: {}", e.getMessage());
             return 0;
         }
     }
@@ -0,0 +1,31 @@
+package store.kanggyeonggu.gateway.jwt;
+
+/**
+ * Access Token 갱신 결과
+ *
+ * @param status       결과 상태
+ * @param accessToken  새 Access Token (성공 시)
+ * @param refreshToken 새 Refresh Token (성공 시)
+ */
+public record RefreshResult(Status status, String accessToken, String refreshToken) {
+
+    public enum Status {
+        SUCCESS,
+        // Refresh Token이 DB에 없거나 만료/무효화됨
+        INVALID_TOKEN,
+        // 검증은 통과했지만 회전에 실패함
+        ROTATION_FAILED
+    }
+
+    public static RefreshResult success(String accessToken, String refreshToken) {
+        return new RefreshResult(Status.SUCCESS, accessToken, refreshToken);
+    }
+
+    public static RefreshResult failure(Status status) {
+        return new RefreshResult(status, null, null);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+}
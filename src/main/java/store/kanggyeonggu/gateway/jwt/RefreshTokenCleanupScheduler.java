@@ -0,0 +1,198 @@
+package store.kanggyeonggu.gateway.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import store.kanggyeonggu.gateway.common.lock.RedisLockService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh Token 정리 스케줄러 (Neon DB)
+ *
+ * 만료/무효화된 토큰을 한 번의 거대한 DELETE 대신 작은 청크로 나눠 삭제
+ * - id 기준 keyset 순서로 청크 조회 → 삭제 (청크당 짧은 트랜잭션)
+ * - 청크 사이 대기 (pause-ms) 로 DB 부하 조절
+ * - 1회 실행 시간 예산 (time-budget-ms) 초과 시 다음 주기로 이월
+ * - 예산 분배: 만료 토큰은 예산의 절반까지 → 무효화 토큰이 나머지 (최소 절반)
+ *   → 무효화 쪽이 일찍 끝나면 남은 시간으로 만료 토큰을 이어서 삭제 (어느 쪽도 밀려서 굶지 않음)
+ * - Redis 락으로 여러 Gateway 인스턴스 중 하나만 실행
+ *
+ * 메트릭:
+ * - refresh_tokens.cleanup.purged{type} : 삭제된 행 수
+ * - refresh_tokens.cleanup.lag{type} : 정리되지 않은 가장 오래된 대상의 경과 시간 (초)
+ * - refresh_tokens.cleanup.duration : 1회 실행 소요 시간
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.token-cleanup.enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenCleanupScheduler {
+
+    private static final String LOCK_NAME = "refresh-token-cleanup";
+
+    private final RefreshTokenService refreshTokenService;
+    private final RedisLockService lockService;
+    private final TokenCleanupProperties properties;
+
+    private final Counter expiredPurged;
+    private final Counter revokedPurged;
+    private final Timer runTimer;
+    private final AtomicLong expiredLagSeconds = new AtomicLong();
+    private final AtomicLong revokedLagSeconds = new AtomicLong();
+
+    public RefreshTokenCleanupScheduler(
+            RefreshTokenService refreshTokenService,
+            RedisLockService lockService,
+            TokenCleanupProperties properties,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenService = refreshTokenService;
+        this.lockService = lockService;
+        this.properties = properties;
+
+        this.expiredPurged = Counter.builder("refresh_tokens.cleanup.purged")
+                .tag("type", "expired")
+                .description("정리 작업으로 삭제된 Refresh Token 수")
+                .register(meterRegistry);
+        this.revokedPurged = Counter.builder("refresh_tokens.cleanup.purged")
+                .tag("type", "revoked")
+                .description("정리 작업으로 삭제된 Refresh Token 수")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("refresh_tokens.cleanup.duration")
+                .description("Refresh Token 정리 작업 1회 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.cleanup.lag", expiredLagSeconds, AtomicLong::get)
+                .tag("type", "expired")
+                .baseUnit("seconds")
+                .description("정리되지 않은 가장 오래된 만료 토큰의 경과 시간")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.cleanup.lag", revokedLagSeconds, AtomicLong::get)
+                .tag("type", "revoked")
+                .baseUnit("seconds")
+                .description("보관 기간이 지난 가장 오래된 무효화 토큰의 경과 시간")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.token-cleanup.cron:0 */10 * * * *}")
+    public void cleanup() {
+        // 락 TTL은 시간 예산보다 넉넉하게 (예산 초과 전 다른 인스턴스가 끼어들지 않도록)
+        Duration lockTtl = Duration.ofMillis(properties.getTimeBudgetMs() * 2 + 10000);
+        Optional<String> lockToken = lockService.tryAcquire(LOCK_NAME, lockTtl);
+        if (lockToken.isEmpty()) {
+            log.debug("Refresh Token 정리 건너뜀: 다른 인스턴스가 실행 중");
+            return;
+        }
+
+        try {
+            runTimer.record(this::purgeAll);
+        } finally {
+            lockService.release(LOCK_NAME, lockToken.get());
+        }
+    }
+
+    private void purgeAll() {
+        long start = System.currentTimeMillis();
+        long halfway = start + properties.getTimeBudgetMs() / 2;
+        long deadline = start + properties.getTimeBudgetMs();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedCutoff = now.minusDays(properties.getRevokedRetentionDays());
+
+        try {
+            Pass expired = purgeInChunks(halfway, now, 0, refreshTokenService::purgeExpiredTokenChunk);
+            expiredPurged.increment(expired.purged());
+
+            Pass revoked = purgeInChunks(deadline, revokedCutoff, 0, refreshTokenService::purgeRevokedTokenChunk);
+            revokedPurged.increment(revoked.purged());
+
+            // 무효화 토큰 정리가 예산 안에 끝났으면 남은 시간으로 만료 토큰 이어서 삭제
+            if (!expired.done() && System.currentTimeMillis() < deadline) {
+                Pass rest = purgeInChunks(deadline, now, expired.afterId(), refreshTokenService::purgeExpiredTokenChunk);
+                expiredPurged.increment(rest.purged());
+                expired = new Pass(expired.purged() + rest.purged(), rest.afterId(), rest.done());
+            }
+
+            log.info("🗑️ Refresh Token 정리 완료: 만료 {}개{}, 무효화 {}개{} 삭제",
+                    expired.purged(), expired.done() ? "" : " (이월)",
+                    revoked.purged(), revoked.done() ? "" : " (이월)");
+        } catch (Exception e) {
+            log.error("❌ Refresh Token 정리 실패: {}", e.getMessage(), e);
+        } finally {
+            updateLag(now, revokedCutoff);
+        }
+    }
+
+    /**
+     * 청크 단위 삭제 결과
+     *
+     * @param purged  삭제된 총 행 수
+     * @param afterId 마지막으로 삭제한 ID (이어서 삭제할 위치)
+     * @param done    대상이 남지 않음 (false: 시간 예산 초과/중단)
+     */
+    private record Pass(long purged, long afterId, boolean done) {
+    }
+
+    /**
+     * 시간 예산 안에서 청크 단위로 삭제
+     *
+     * @param chunkPurger (afterId, limit) → 삭제된 ID 목록
+     */
+    private Pass purgeInChunks(long deadline, LocalDateTime threshold, long startAfterId, ChunkPurger chunkPurger) {
+        int chunkSize = properties.getChunkSize();
+        long afterId = startAfterId;
+        long total = 0;
+
+        while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+            List<Long> ids = chunkPurger.purge(threshold, afterId, chunkSize);
+            total += ids.size();
+
+            if (ids.size() < chunkSize) {
+                return new Pass(total, afterId, true);
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            if (!pause()) {
+                break;
+            }
+        }
+        return new Pass(total, afterId, false);
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void updateLag(LocalDateTime now, LocalDateTime revokedCutoff) {
+        try {
+            expiredLagSeconds.set(refreshTokenService.findOldestExpiredAt(now)
+                    .map(oldest -> Duration.between(oldest, now).toSeconds())
+                    .orElse(0L));
+            revokedLagSeconds.set(refreshTokenService.findOldestRevokedAt(revokedCutoff)
+                    .map(oldest -> Duration.between(oldest, revokedCutoff).toSeconds())
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.warn("⚠️ 정리 지연 측정 실패: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkPurger {
+        List<Long> purge(LocalDateTime threshold, long afterId, int limit);
+    }
+}
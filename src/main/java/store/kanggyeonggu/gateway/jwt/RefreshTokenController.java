@@ -5,10 +5,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
 import store.kanggyeonggu.gateway.common.entity.User;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Refresh Token 관련 API 컨트롤러
@@ -21,6 +23,9 @@ import java.util.Optional;
  * - POST /api/auth/refresh : Access Token 갱신
  * - POST /api/auth/logout : 로그아웃
  * - POST /api/auth/logout-all : 전체 로그아웃
+ * 
+ * Redis와 Neon DB 작업이 서로 독립적인 경우 가상 스레드에서 동시에 실행 (IoExecutor)
+ * 쿠키 쓰기는 요청 스레드에서만 수행
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -28,15 +33,18 @@ public class RefreshTokenController {
 
     private final RefreshTokenService refreshTokenService;
     private final AccessTokenService accessTokenService;
-    private final JwtService jwtService;
+    private final TokenRefreshService tokenRefreshService;
+    private final IoExecutor ioExecutor;
 
     public RefreshTokenController(
             RefreshTokenService refreshTokenService,
             AccessTokenService accessTokenService,
-            JwtService jwtService) {
+            TokenRefreshService tokenRefreshService,
+            IoExecutor ioExecutor) {
         this.refreshTokenService = refreshTokenService;
         this.accessTokenService = accessTokenService;
-        this.jwtService = jwtService;
+        this.tokenRefreshService = tokenRefreshService;
+        this.ioExecutor = ioExecutor;
     }
 
     /**
@@ -44,6 +52,7 @@ public class RefreshTokenController {
      * 
      * HttpOnly 쿠키에서 Refresh Token을 읽어 Neon DB에서 검증 후 새 Access Token 발급
      * Token Rotation 적용 (보안 강화)
+     * 여러 탭의 동시 갱신 요청은 같은 새 토큰 쌍을 받음 (TokenRefreshService)
      * 
      * POST /api/auth/refresh
      * Cookie: refresh_token=xxx (자동 전송)
@@ -72,10 +81,10 @@ public class RefreshTokenController {
             System.out.println("🔍 Refresh Token 확인: " + 
                     refreshToken.substring(0, Math.min(8, refreshToken.length())) + "...");
 
-            // 2. Neon DB에서 Refresh Token 검증 및 User 조회
-            Optional<User> userOptional = refreshTokenService.getUserByRefreshToken(refreshToken);
+            // 2. 검증 + 새 토큰 발급 + Token Rotation (동시 요청은 하나로 병합)
+            RefreshResult result = tokenRefreshService.refresh(refreshToken);
 
-            if (userOptional.isEmpty()) {
+            if (result.status() == RefreshResult.Status.INVALID_TOKEN) {
                 System.out.println("❌ Refresh Token이 Neon DB에 없거나 만료됨");
                 refreshTokenService.clearRefreshTokenCookie(response);
                 return ResponseEntity.status(401).body(Map.of(
@@ -83,21 +92,7 @@ public class RefreshTokenController {
                         "message", "Invalid or expired refresh token"));
             }
 
-            User user = userOptional.get();
-            System.out.println("✅ Refresh Token 검증 성공, userId: " + user.getId());
-
-            // 3. 새 Access Token 발급
-            String newAccessToken = jwtService.generateToken(user.getId(), user.getNickname());
-            System.out.println("✅ 새 Access Token 발급 완료");
-
-            // 4. 새 Access Token을 Redis에 저장 (Upstash)
-            accessTokenService.saveAccessToken(newAccessToken, user.getId(), jwtService.getExpiration());
-            System.out.println("✅ 새 Access Token Redis 저장 완료");
-
-            // 5. Token Rotation: 기존 Refresh Token 무효화 + 새 토큰 발급 (Neon DB)
-            String newRefreshToken = refreshTokenService.rotateRefreshToken(refreshToken);
-            
-            if (newRefreshToken == null) {
+            if (!result.isSuccess()) {
                 System.out.println("❌ Token Rotation 실패");
                 refreshTokenService.clearRefreshTokenCookie(response);
                 return ResponseEntity.status(401).body(Map.of(
@@ -105,14 +100,14 @@ public class RefreshTokenController {
                         "message", "Token rotation failed"));
             }
 
-            // 6. 새 Refresh Token 쿠키 설정
-            refreshTokenService.setRefreshTokenCookie(response, newRefreshToken);
+            // 3. 새 Refresh Token 쿠키 설정
+            refreshTokenService.setRefreshTokenCookie(response, result.refreshToken());
             System.out.println("✅ 새 Refresh Token 발급 및 쿠키 설정 완료");
 
-            // 7. 응답
+            // 4. 응답
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "accessToken", newAccessToken));
+                    "accessToken", result.accessToken()));
 
         } catch (Exception e) {
             System.err.println("❌ Token refresh 오류: " + e.getMessage());
@@ -137,21 +132,29 @@ public class RefreshTokenController {
             HttpServletRequest request,
             HttpServletResponse response) {
         try {
-            // 1. Access Token 삭제 (Redis)
             String authHeader = request.getHeader("Authorization");
+            String refreshToken = refreshTokenService.getRefreshTokenFromCookie(request);
+
+            // 1. Access Token 삭제 (Redis) ∥ 2. Refresh Token 무효화 (Neon DB)
+            CompletableFuture<Void> accessRevocation = CompletableFuture.completedFuture(null);
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String accessToken = authHeader.substring(7);
-                accessTokenService.revokeAccessToken(accessToken);
-                System.out.println("🗑️ Access Token Redis 삭제 완료");
+                accessRevocation = ioExecutor.run(() -> {
+                    accessTokenService.revokeAccessToken(accessToken);
+                    System.out.println("🗑️ Access Token Redis 삭제 완료");
+                });
             }
 
-            // 2. Refresh Token 무효화 (Neon DB)
-            String refreshToken = refreshTokenService.getRefreshTokenFromCookie(request);
+            CompletableFuture<Void> refreshRevocation = CompletableFuture.completedFuture(null);
             if (refreshToken != null && !refreshToken.isEmpty()) {
-                boolean revoked = refreshTokenService.revokeRefreshToken(refreshToken);
-                System.out.println("🗑️ Refresh Token Neon DB 무효화: " + revoked);
+                refreshRevocation = ioExecutor.run(() -> {
+                    boolean revoked = refreshTokenService.revokeRefreshToken(refreshToken);
+                    System.out.println("🗑️ Refresh Token Neon DB 무효화: " + revoked);
+                });
             }
 
+            IoExecutor.joinAll(accessRevocation, refreshRevocation);
+
             // 3. 쿠키 삭제
             refreshTokenService.clearRefreshTokenCookie(response);
 
@@ -194,14 +197,16 @@ public class RefreshTokenController {
                 
                 if (userOptional.isPresent()) {
                     Long userId = userOptional.get().getId();
-                    
-                    // 3. 사용자의 모든 Access Token 삭제 (Redis)
-                    int accessTokensRevoked = accessTokenService.revokeAllUserTokens(userId);
-                    System.out.println("🗑️ Access Token 전체 삭제: " + accessTokensRevoked + "개");
-                    
-                    // 4. 사용자의 모든 Refresh Token 무효화 (Neon DB)
-                    int refreshTokensRevoked = refreshTokenService.revokeAllUserTokens(userId);
-                    System.out.println("🗑️ Refresh Token 전체 무효화: " + refreshTokensRevoked + "개");
+
+                    // 3. 모든 Access Token 삭제 (Redis) ∥ 4. 모든 Refresh Token 무효화 (Neon DB)
+                    CompletableFuture<Integer> accessTokensRevoked = ioExecutor.supply(
+                            () -> accessTokenService.revokeAllUserTokens(userId));
+                    CompletableFuture<Integer> refreshTokensRevoked = ioExecutor.supply(
+                            () -> refreshTokenService.revokeAllUserTokens(userId));
+
+                    IoExecutor.joinAll(accessTokensRevoked, refreshTokensRevoked);
+                    System.out.println("🗑️ Access Token 전체 삭제: " + accessTokensRevoked.join() + "개");
+                    System.out.println("🗑️ Refresh Token 전체 무효화: " + refreshTokensRevoked.join() + "개");
                 }
             }
 
@@ -3,15 +3,17 @@ package store.kanggyeonggu.gateway.jwt;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import store.kanggyeonggu.gateway.common.entity.RefreshToken;
 import store.kanggyeonggu.gateway.common.entity.User;
 import store.kanggyeonggu.gateway.common.repository.RefreshTokenRepository;
 import store.kanggyeonggu.gateway.common.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -95,9 +97,10 @@ public class RefreshTokenService {
     }
 
     /**
-     * Refresh Token 생성 및 Neon DB에 저장 (간단 버전)
+     * Refresh Token 생성 및 Neon DB에 저장 (간단 버전, 로그인 콜백)
+     * 트랜잭션 타임아웃 (persist-tx-seconds) 초과 시 INSERT 중단 + 롤백 → 응답 실패 후 토큰이 남지 않음
      */
-    @Transactional
+    @Transactional(timeoutString = "${app.oauth.timeout.persist-tx-seconds:3}")
     public String createAndSaveRefreshToken(User user) {
         return createAndSaveRefreshToken(user, null, null);
     }
@@ -140,10 +143,20 @@ public class RefreshTokenService {
      * Refresh Token으로 User 엔티티 조회
      */
     public Optional<User> getUserByRefreshToken(String tokenValue) {
-        return refreshTokenRepository.findValidToken(tokenValue, LocalDateTime.now())
+        return refreshTokenRepository.findValidTokenWithUser(tokenValue, LocalDateTime.now())
                 .map(RefreshToken::getUser);
     }
 
+    /**
+     * 최근 windowMs 이내에 무효화(회전)된 토큰인지 확인
+     *
+     * 다른 인스턴스가 회전을 커밋했지만 아직 grace 토큰 쌍을 Redis에 기록하기 전인 경우를 구분
+     */
+    public boolean isRecentlyRevoked(String tokenValue, long windowMs) {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(windowMs));
+        return refreshTokenRepository.existsRevokedSince(tokenValue, since);
+    }
+
     // ========================================
     // 토큰 무효화 (로그아웃)
     // ========================================
@@ -180,13 +193,15 @@ public class RefreshTokenService {
      * Refresh Token Rotation
      * 기존 토큰 무효화 후 새 토큰 발급
      * 
+     * 동시에 같은 토큰으로 회전을 시도하면 조건부 UPDATE에 성공한 하나만 새 토큰을 받음
+     * 
      * @param oldTokenValue 기존 Refresh Token
-     * @return 새 Refresh Token (실패 시 null)
+     * @return 새 Refresh Token (실패 또는 이미 회전된 경우 null)
      */
     @Transactional
     public String rotateRefreshToken(String oldTokenValue) {
-        Optional<RefreshToken> oldTokenOpt = refreshTokenRepository.findValidToken(
-                oldTokenValue, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        Optional<RefreshToken> oldTokenOpt = refreshTokenRepository.findValidToken(oldTokenValue, now);
         
         if (oldTokenOpt.isEmpty()) {
             System.out.println("❌ Token Rotation 실패: 유효하지 않은 토큰");
@@ -196,9 +211,11 @@ public class RefreshTokenService {
         RefreshToken oldToken = oldTokenOpt.get();
         User user = oldToken.getUser();
         
-        // 기존 토큰 무효화
-        oldToken.revoke();
-        refreshTokenRepository.save(oldToken);
+        // 기존 토큰 조건부 무효화 (다른 요청이 먼저 회전했으면 0)
+        if (refreshTokenRepository.revokeIfValid(oldTokenValue, now) == 0) {
+            System.out.println("❌ Token Rotation 실패: 이미 회전된 토큰");
+            return null;
+        }
         
         // 새 토큰 생성 및 저장
         String newTokenValue = createAndSaveRefreshToken(
@@ -222,6 +239,20 @@ public class RefreshTokenService {
      * 프로덕션: SameSite=None + Secure (cross-origin 허용, HTTPS 필수)
      */
     public void setRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
+        // Set-Cookie 헤더로 직접 설정 (SameSite 속성 지원)
+        response.setHeader("Set-Cookie", buildRefreshTokenCookie(refreshToken));
+
+        System.out.println("✅ Refresh Token 쿠키 설정 완료 (HttpOnly): " + 
+                (cookieSecure ? "Secure + SameSite=None" : "로컬 개발 모드"));
+    }
+
+    /**
+     * Refresh Token Set-Cookie 헤더 값 생성
+     * 
+     * HttpServletResponse 없이 ResponseEntity 헤더로 쿠키를 내려야 하는 경우 사용
+     * (비동기 OAuth 콜백 등)
+     */
+    public String buildRefreshTokenCookie(String refreshToken) {
         String cookieHeader;
         
         if (cookieSecure) {
@@ -248,12 +279,8 @@ public class RefreshTokenService {
                     refreshToken,
                     (int) (refreshExpiration / 1000));
         }
-        
-        // Set-Cookie 헤더로 직접 설정 (SameSite 속성 지원)
-        response.setHeader("Set-Cookie", cookieHeader);
 
-        System.out.println("✅ Refresh Token 쿠키 설정 완료 (HttpOnly): " + 
-                (cookieSecure ? "Secure + SameSite=None" : "로컬 개발 모드"));
+        return cookieHeader;
     }
 
     /**
@@ -333,4 +360,46 @@ public class RefreshTokenService {
         System.out.println("🗑️ 무효화된 토큰 정리: " + deleted + "개 삭제");
         return deleted;
     }
+
+    /**
+     * 만료된 토큰 청크 삭제 (afterId 이후 최대 limit개, 청크당 하나의 트랜잭션)
+     *
+     * @return 삭제된 토큰 ID 목록 (id 오름차순, 다음 청크의 keyset 기준)
+     */
+    @Transactional
+    public List<Long> purgeExpiredTokenChunk(LocalDateTime now, long afterId, int limit) {
+        List<Long> ids = refreshTokenRepository.findExpiredTokenIds(now, afterId, limit);
+        if (!ids.isEmpty()) {
+            refreshTokenRepository.deleteByIdIn(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * 보관 기간이 지난 무효화 토큰 청크 삭제 (afterId 이후 최대 limit개)
+     *
+     * @return 삭제된 토큰 ID 목록 (id 오름차순, 다음 청크의 keyset 기준)
+     */
+    @Transactional
+    public List<Long> purgeRevokedTokenChunk(LocalDateTime cutoffDate, long afterId, int limit) {
+        List<Long> ids = refreshTokenRepository.findRevokedTokenIds(cutoffDate, afterId, limit);
+        if (!ids.isEmpty()) {
+            refreshTokenRepository.deleteByIdIn(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * 정리되지 않고 남아 있는 가장 오래된 만료 토큰의 만료 시각
+     */
+    public Optional<LocalDateTime> findOldestExpiredAt(LocalDateTime now) {
+        return refreshTokenRepository.findOldestExpiredAt(now);
+    }
+
+    /**
+     * 정리되지 않고 남아 있는 가장 오래된 무효화 토큰의 무효화 시각
+     */
+    public Optional<LocalDateTime> findOldestRevokedAt(LocalDateTime cutoffDate) {
+        return refreshTokenRepository.findOldestRevokedAt(cutoffDate);
+    }
 }
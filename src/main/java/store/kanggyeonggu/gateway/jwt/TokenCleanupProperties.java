@@ -0,0 +1,33 @@
+package store.kanggyeonggu.gateway.jwt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refresh Token 정리 작업 설정 Properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.token-cleanup")
+@Getter
+@Setter
+public class TokenCleanupProperties {
+
+    private boolean enabled = true;
+
+    // 실행 주기 (Spring cron)
+    private String cron = "0 */10 * * * *";
+
+    // 청크당 삭제할 최대 행 수
+    private int chunkSize = 500;
+
+    // 청크 사이 대기 시간 (DB 부하 조절)
+    private long pauseMs = 50;
+
+    // 1회 실행당 최대 소요 시간 (초과 시 다음 주기로 이월, 만료 토큰은 절반까지 먼저 사용)
+    private long timeBudgetMs = 30000;
+
+    // 무효화된 토큰 보관 기간
+    private int revokedRetentionDays = 7;
+}
@@ -0,0 +1,298 @@
+package store.kanggyeonggu.gateway.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Access Token 갱신 서비스 (Token Rotation + 동시 요청 병합)
+ *
+ * 여러 탭이 만료 시점에 같은 Refresh Token 쿠키로 동시에 갱신을 요청하면
+ * 한 요청만 회전에 성공하고 나머지는 401을 받아 재로그인이 필요해짐.
+ * 이를 막기 위해:
+ * - 인스턴스 내부: 같은 토큰의 진행 중인 갱신을 하나로 병합 (single-flight)
+ * - 인스턴스 간: 회전 직후 새 토큰 쌍을 Redis에 짧게 보관 (grace window)
+ *   → 이미 회전된 토큰으로 들어온 요청도 같은 새 토큰 쌍을 돌려받음
+ *
+ * 처리 순서:
+ * - Token Rotation (Neon DB) 성공 후에만 JWT 발급 (CPU 작업이라 병렬 실행 이득 없음)
+ * - Access Token 저장 ∥ grace 저장 (Upstash Redis, 가상 스레드 IoExecutor)
+ *
+ * 키 구조:
+ * - refresh_grace:{sha256(기존 Refresh Token)} → base64(iv ‖ AES-GCM("{accessToken}\n{refreshToken}"))
+ *   암호화 키는 기존 Refresh Token에서 HMAC-SHA256으로 유도 → Redis 값만으로는 토큰 쌍을 복원할 수 없음
+ *   (기존 토큰을 가진 요청만 복호화 가능, TTL은 grace-period-ms 수 초)
+ */
+@Slf4j
+@Service
+public class TokenRefreshService {
+
+    private static final String GRACE_PREFIX = "refresh_grace:";
+    private static final String GRACE_SEPARATOR = "\n";
+    private static final long GRACE_POLL_INTERVAL_MS = 50;
+    private static final String GRACE_CIPHER = "AES/GCM/NoPadding";
+    private static final String GRACE_KDF = "HmacSHA256";
+    private static final byte[] GRACE_KDF_LABEL = "refresh_grace:enc".getBytes(StandardCharsets.UTF_8);
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenService refreshTokenService;
+    private final AccessTokenService accessTokenService;
+    private final JwtService jwtService;
+    private final StringRedisTemplate redisTemplate;
+    private final IoExecutor ioExecutor;
+    private final KeyspaceStats keyspaceStats;
+
+    private final ConcurrentHashMap<String, CompletableFuture<RefreshResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localCoalesced;
+    private final Counter graceHits;
+
+    @Value("${app.refresh.grace-period-ms:5000}")
+    private long gracePeriodMs;
+
+    @Value("${app.refresh.grace-wait-ms:1000}")
+    private long graceWaitMs;
+
+    public TokenRefreshService(
+            RefreshTokenService refreshTokenService,
+            AccessTokenService accessTokenService,
+            JwtService jwtService,
+            StringRedisTemplate redisTemplate,
+            IoExecutor ioExecutor,
+            KeyspaceStats keyspaceStats,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenService = refreshTokenService;
+        this.accessTokenService = accessTokenService;
+        this.jwtService = jwtService;
+        this.redisTemplate = redisTemplate;
+        this.ioExecutor = ioExecutor;
+        this.keyspaceStats = keyspaceStats;
+        this.localCoalesced = Counter.builder("auth.refresh.coalesced")
+                .tag("scope", "local")
+                .description("진행 중인 갱신에 병합된 요청 수")
+                .register(meterRegistry);
+        this.graceHits = Counter.builder("auth.refresh.coalesced")
+                .tag("scope", "grace")
+                .description("Redis grace window에서 토큰 쌍을 돌려받은 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refresh Token으로 새 토큰 쌍 발급
+     *
+     * 같은 토큰으로 진행 중인 갱신이 있으면 새로 회전하지 않고 그 결과를 공유
+     */
+    public RefreshResult refresh(String refreshToken) {
+        CompletableFuture<RefreshResult> mine = new CompletableFuture<>();
+        CompletableFuture<RefreshResult> existing = inFlight.putIfAbsent(refreshToken, mine);
+
+        if (existing != null) {
+            localCoalesced.increment();
+            return awaitShared(existing);
+        }
+
+        try {
+            RefreshResult result = rotate(refreshToken);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(refreshToken, mine);
+        }
+    }
+
+    private RefreshResult awaitShared(CompletableFuture<RefreshResult> shared) {
+        try {
+            return shared.get(graceWaitMs + 5000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RefreshResult.failure(RefreshResult.Status.ROTATION_FAILED);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("❌ 병합된 Token 갱신 실패: {}", e.getMessage());
+            return RefreshResult.failure(RefreshResult.Status.ROTATION_FAILED);
+        }
+    }
+
+    private RefreshResult rotate(String refreshToken) {
+        // 1. Neon DB에서 Refresh Token 검증 및 User 조회
+        Optional<User> userOptional = refreshTokenService.getUserByRefreshToken(refreshToken);
+
+        if (userOptional.isEmpty()) {
+            // 다른 인스턴스가 방금 회전한 토큰이면 grace window의 토큰 쌍 반환
+            Optional<RefreshResult> gracePair = findGracePair(refreshToken);
+            if (gracePair.isEmpty() && refreshTokenService.isRecentlyRevoked(refreshToken, gracePeriodMs)) {
+                // 회전은 커밋됐지만 JWT 발급 + Redis 기록 전 → 기록될 때까지 잠시 대기
+                gracePair = awaitGracePair(refreshToken);
+            }
+            return gracePair.orElseGet(() -> RefreshResult.failure(RefreshResult.Status.INVALID_TOKEN));
+        }
+
+        User user = userOptional.get();
+        log.info("✅ Refresh Token 검증 성공, userId: {}", user.getId());
+
+        // 2. Token Rotation (Neon DB)
+        String newRefreshToken = refreshTokenService.rotateRefreshToken(refreshToken);
+
+        if (newRefreshToken == null) {
+            // 동시에 다른 인스턴스가 회전에 성공 → 그 결과가 Redis에 기록될 때까지 잠시 대기
+            return awaitGracePair(refreshToken)
+                    .orElseGet(() -> RefreshResult.failure(RefreshResult.Status.ROTATION_FAILED));
+        }
+
+        // 회전에 성공한 경우에만 새 Access Token 발급
+        String newAccessToken;
+        try {
+            newAccessToken = jwtService.generateToken(user.getId(), user.getNickname());
+        } catch (RuntimeException e) {
+            // 발급 실패 시 방금 회전된 새 Refresh Token은 폐기 (사용되지 않는 토큰이 남지 않도록)
+            try {
+                refreshTokenService.revokeRefreshToken(newRefreshToken);
+            } catch (RuntimeException revokeError) {
+                e.addSuppressed(revokeError);
+            }
+            throw e;
+        }
+
+        // 3. 새 Access Token 저장 ∥ 늦게 도착한 동시 요청을 위한 토큰 쌍 보관 (Upstash Redis)
+        IoExecutor.joinAll(
+                ioExecutor.run(() -> accessTokenService.saveAccessToken(
+                        newAccessToken, user.getId(), jwtService.getExpiration())),
+                ioExecutor.run(() -> saveGracePair(refreshToken, newAccessToken, newRefreshToken)));
+
+        return RefreshResult.success(newAccessToken, newRefreshToken);
+    }
+
+    // ========================================
+    // Grace window (Upstash Redis)
+    // ========================================
+
+    private void saveGracePair(String oldRefreshToken, String accessToken, String refreshToken) {
+        try {
+            String key = graceKey(oldRefreshToken);
+            redisTemplate.opsForValue().set(
+                    key,
+                    seal(oldRefreshToken, key, accessToken + GRACE_SEPARATOR + refreshToken),
+                    gracePeriodMs,
+                    TimeUnit.MILLISECONDS);
+            keyspaceStats.recordWrite(key);
+        } catch (Exception e) {
+            // 저장 실패 시 동시 요청만 401을 받음 (기존 동작과 동일)
+            log.warn("❌ Refresh grace 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private Optional<RefreshResult> findGracePair(String oldRefreshToken) {
+        try {
+            String key = graceKey(oldRefreshToken);
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                return Optional.empty();
+            }
+
+            String[] pair = open(oldRefreshToken, key, value).split(GRACE_SEPARATOR, 2);
+            if (pair.length != 2) {
+                return Optional.empty();
+            }
+
+            graceHits.increment();
+            log.info("🔁 Refresh grace window에서 토큰 쌍 반환");
+            return Optional.of(RefreshResult.success(pair[0], pair[1]));
+        } catch (Exception e) {
+            log.warn("❌ Refresh grace 조회 실패: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<RefreshResult> awaitGracePair(String oldRefreshToken) {
+        long deadline = System.currentTimeMillis() + graceWaitMs;
+
+        while (true) {
+            Optional<RefreshResult> pair = findGracePair(oldRefreshToken);
+            if (pair.isPresent() || System.currentTimeMillis() >= deadline) {
+                return pair;
+            }
+            try {
+                Thread.sleep(GRACE_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+
+    // 토큰 쌍 암호화 (AES-256-GCM, 키는 기존 Refresh Token에서 유도, grace 키를 AAD로 사용)
+    String seal(String oldRefreshToken, String key, String plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        secureRandom.nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance(GRACE_CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, graceCipherKey(oldRefreshToken), new GCMParameterSpec(GCM_TAG_BITS, iv));
+        cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+        byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getEncoder().encodeToString(
+                ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+    }
+
+    static String open(String oldRefreshToken, String key, String sealed) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(sealed);
+        if (bytes.length <= GCM_IV_BYTES) {
+            throw new GeneralSecurityException("grace 값 형식 오류");
+        }
+
+        Cipher cipher = Cipher.getInstance(GRACE_CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, graceCipherKey(oldRefreshToken),
+                new GCMParameterSpec(GCM_TAG_BITS, bytes, 0, GCM_IV_BYTES));
+        cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+        byte[] plaintext = cipher.doFinal(bytes, GCM_IV_BYTES, bytes.length - GCM_IV_BYTES);
+
+        return new String(plaintext, StandardCharsets.UTF_8);
+    }
+
+    // HMAC-SHA256(기존 Refresh Token, 라벨) → Redis 키 (sha256) 와 다른 값이라 키 이름으로 유추 불가
+    private static SecretKeySpec graceCipherKey(String oldRefreshToken) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(GRACE_KDF);
+        mac.init(new SecretKeySpec(oldRefreshToken.getBytes(StandardCharsets.UTF_8), GRACE_KDF));
+        return new SecretKeySpec(mac.doFinal(GRACE_KDF_LABEL), "AES");
+    }
+
+    static String graceKey(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return GRACE_PREFIX + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -17,30 +17,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import reactor.core.publisher.Mono;
 import store.kanggyeonggu.gateway.common.entity.User;
-import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
 import store.kanggyeonggu.gateway.jwt.JwtService;
-import store.kanggyeonggu.gateway.oauthservice.google.GoogleOAuthService;
-import store.kanggyeonggu.gateway.oauthservice.google.GoogleTokenResponse;
-import store.kanggyeonggu.gateway.oauthservice.google.GoogleUserInfo;
-import store.kanggyeonggu.gateway.oauthservice.kakao.KakaoOAuthService;
-import store.kanggyeonggu.gateway.oauthservice.kakao.KakaoTokenResponse;
-import store.kanggyeonggu.gateway.oauthservice.kakao.KakaoUserInfo;
-import store.kanggyeonggu.gateway.oauthservice.naver.NaverOAuthService;
-import store.kanggyeonggu.gateway.oauthservice.naver.NaverTokenResponse;
-import store.kanggyeonggu.gateway.oauthservice.naver.NaverUserInfo;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthCallbackEngine;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProfile;
+import store.kanggyeonggu.gateway.oauthservice.service.OAuthUserService;
+import store.kanggyeonggu.gateway.oauthservice.service.PostLoginQueue;
 
 // OAuth2 콜백 컨트롤러
-// 카카오, 네이버, 구글 OAuth2 콜백 처리
+// 카카오, 네이버, 구글 OAuth2 콜백 처리 (비동기 방식)
+// 토큰 교환/사용자 정보 조회는 OAuthCallbackEngine, DB/Redis 저장은 이 컨트롤러 방식 유지
 @RestController
 @RequestMapping("/oauth2")
 public class OAuth2CallbackController {
 
-    private final KakaoOAuthService kakaoOAuthService;
-    private final NaverOAuthService naverOAuthService;
-    private final GoogleOAuthService googleOAuthService;
+    private final OAuthCallbackEngine callbackEngine;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final OAuthUserService userService;
+    private final PostLoginQueue postLoginQueue;
+    private final KeyspaceStats keyspaceStats;
 
     @Autowired(required = false)
     private RedisTemplate<String, Object> redisTemplate;
@@ -48,27 +45,24 @@ public class OAuth2CallbackController {
     @Value("${frontend.callback-url}")
     private String frontendCallbackUrl;
 
-    @Value("${jwt.expiration:86400000}")
-    private long jwtExpiration; // JWT 만료 시간 (밀리초)
-
     public OAuth2CallbackController(
-            KakaoOAuthService kakaoOAuthService,
-            NaverOAuthService naverOAuthService,
-            GoogleOAuthService googleOAuthService,
+            OAuthCallbackEngine callbackEngine,
             JwtService jwtService,
-            UserRepository userRepository) {
-        this.kakaoOAuthService = kakaoOAuthService;
-        this.naverOAuthService = naverOAuthService;
-        this.googleOAuthService = googleOAuthService;
+            OAuthUserService userService,
+            PostLoginQueue postLoginQueue,
+            KeyspaceStats keyspaceStats) {
+        this.callbackEngine = callbackEngine;
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.postLoginQueue = postLoginQueue;
+        this.keyspaceStats = keyspaceStats;
     }
 
     // 카카오 OAuth2 콜백 처리
     @GetMapping("/kakao/callback")
-    public ResponseEntity<Void> kakaoCallback(@RequestParam(required = false) String code) {
+    public Mono<ResponseEntity<Void>> kakaoCallback(@RequestParam(required = false) String code) {
         if (code != null) {
-            return processKakaoCallback(code);
+            return processCallback("kakao", code);
         }
 
         // code가 없는 경우 에러
@@ -78,12 +72,12 @@ public class OAuth2CallbackController {
                 URLEncoder.encode("missing_code", StandardCharsets.UTF_8));
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(URI.create(errorUrl));
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+        return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
     }
 
     // 네이버 OAuth2 콜백 처리
     @GetMapping("/naver/callback")
-    public ResponseEntity<Void> naverCallback(
+    public Mono<ResponseEntity<Void>> naverCallback(
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String state,
             @RequestParam(required = false) String error,
@@ -99,11 +93,11 @@ public class OAuth2CallbackController {
                     URLEncoder.encode(error_description != null ? error_description : "", StandardCharsets.UTF_8));
             HttpHeaders headers = new HttpHeaders();
             headers.setLocation(URI.create(errorUrl));
-            return new ResponseEntity<>(headers, HttpStatus.FOUND);
+            return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
         }
 
         if (code != null) {
-            return processNaverCallback(code);
+            return processCallback("naver", code);
         }
 
         // code가 없는 경우 에러
@@ -114,12 +108,12 @@ public class OAuth2CallbackController {
                 URLEncoder.encode("missing_code", StandardCharsets.UTF_8));
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(URI.create(errorUrl));
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+        return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
     }
 
     // 구글 OAuth2 콜백 처리
     @GetMapping("/google/callback")
-    public ResponseEntity<Void> googleCallback(
+    public Mono<ResponseEntity<Void>> googleCallback(
             @RequestParam(required = false) String code,
             @RequestParam(required = false) String error) {
 
@@ -132,11 +126,11 @@ public class OAuth2CallbackController {
                     URLEncoder.encode(error, StandardCharsets.UTF_8));
             HttpHeaders headers = new HttpHeaders();
             headers.setLocation(URI.create(errorUrl));
-            return new ResponseEntity<>(headers, HttpStatus.FOUND);
+            return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
         }
 
         if (code != null) {
-            return processGoogleCallback(code);
+            return processCallback("google", code);
         }
 
         // code가 없는 경우 에러
@@ -147,245 +141,52 @@ public class OAuth2CallbackController {
                 URLEncoder.encode("missing_code", StandardCharsets.UTF_8));
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(URI.create(errorUrl));
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+        return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
     }
 
-    // 카카오 콜백 처리 메서드
-    private ResponseEntity<Void> processKakaoCallback(String code) {
-        try {
-            // frontendCallbackUrl 유효성 검사
-            if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
-                System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
-                return createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED");
-            }
-
-            // 1. 액세스 토큰 요청
-            KakaoTokenResponse tokenResponse = kakaoOAuthService.getAccessToken(code);
-            String accessToken = tokenResponse.getAccessToken();
-
-            // 카카오 액세스 토큰 출력
-            System.out.println("Access Token: " + accessToken);
-
-            // 2. 사용자 정보 조회
-            KakaoUserInfo userInfo = kakaoOAuthService.getUserInfo(accessToken);
-
-            // 3. 카카오 사용자 정보 추출
-            Long kakaoId = userInfo.getId();
-            KakaoUserInfo.KakaoAccount kakaoAccount = userInfo.getKakaoAccount();
-            KakaoUserInfo.Profile profile = kakaoAccount != null ? kakaoAccount.getProfile() : null;
-
-            String nickname = profile != null ? profile.getNickname() : "사용자";
-            String profileImageUrl = profile != null
-                    ? (profile.getProfileImageUrl() != null ? profile.getProfileImageUrl() : null)
-                    : null;
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            User user = userRepository.findByProviderAndProviderId("kakao", String.valueOf(kakaoId))
-                    .map(existingUser -> {
-                        // 기존 사용자 정보 업데이트
-                        existingUser.setNickname(nickname);
-                        existingUser.setProfileImageUrl(profileImageUrl);
-                        existingUser.setLastLoginAt(java.time.LocalDateTime.now());
-                        // 삭제된 사용자인 경우 복구
-                        if (existingUser.getDeleted()) {
-                            existingUser.restore();
-                        }
-                        return existingUser;
-                    })
-                    .orElseGet(() -> {
-                        // 새 사용자 생성
-                        return User.builder()
-                                .provider("kakao")
-                                .providerId(String.valueOf(kakaoId))
-                                .nickname(nickname)
-                                .name(nickname)
-                                .profileImageUrl(profileImageUrl)
-                                .enabled(true)
-                                .deleted(false)
-                                .build();
-                    });
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            user = userRepository.save(user);
-            System.out.println("User saved to DB: " + user.getId() + " - " + user.getNickname());
-
-            // 5. JWT 토큰 생성 (DB의 user ID 사용)
-            String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
-
-            // 생성된 JWT 토큰 출력
-            System.out.println("JWT Token: " + jwtToken);
-
-            // 6. Redis에 JWT 토큰 및 사용자 정보 저장 (확인용)
-            saveToRedis(user, jwtToken);
-
-            // 7. 프론트엔드로 리다이렉트 (토큰 포함)
-            return createRedirectResponse(frontendCallbackUrl, jwtToken, null);
-
-        } catch (Exception e) {
-            // 에러 로깅
-            System.err.println("ERROR: 콜백 처리 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
-
-            // 에러 발생 시 프론트엔드로 리다이렉트
-            return createRedirectResponse(frontendCallbackUrl, null, "login_failed");
+    // 공통 콜백 처리 메서드
+    // 1~2. 액세스 토큰 요청 + 사용자 정보 조회 (OAuthCallbackEngine)
+    // 3~6. DB/Redis 저장 + JWT 생성 (가상 스레드)
+    private Mono<ResponseEntity<Void>> processCallback(String provider, String code) {
+        // frontendCallbackUrl 유효성 검사
+        if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
+            System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
+            return Mono.just(createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED"));
         }
-    }
-
-    // 네이버 콜백 처리 메서드
-    private ResponseEntity<Void> processNaverCallback(String code) {
-        try {
-            // frontendCallbackUrl 유효성 검사
-            if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
-                System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
-                return createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED");
-            }
-
-            // 1. 액세스 토큰 요청
-            NaverTokenResponse tokenResponse = naverOAuthService.getAccessToken(code);
-            String accessToken = tokenResponse.getAccessToken();
-
-            // 네이버 액세스 토큰 출력
-            System.out.println("Access Token: " + accessToken);
-
-            // 2. 사용자 정보 조회
-            NaverUserInfo userInfo = naverOAuthService.getUserInfo(accessToken);
-
-            // 3. 네이버 사용자 정보 추출
-            NaverUserInfo.Response response = userInfo.getResponse();
-            String naverId = response.getId();
-            String nickname = response.getNickname() != null ? response.getNickname() : "사용자";
-            String name = response.getName() != null ? response.getName() : nickname;
-            String profileImageUrl = response.getProfile_image() != null ? response.getProfile_image() : null;
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            User user = userRepository.findByProviderAndProviderId("naver", naverId)
-                    .map(existingUser -> {
-                        // 기존 사용자 정보 업데이트
-                        existingUser.setNickname(nickname);
-                        existingUser.setName(name);
-                        existingUser.setProfileImageUrl(profileImageUrl);
-                        existingUser.setLastLoginAt(java.time.LocalDateTime.now());
-                        // 삭제된 사용자인 경우 복구
-                        if (existingUser.getDeleted()) {
-                            existingUser.restore();
-                        }
-                        return existingUser;
-                    })
-                    .orElseGet(() -> {
-                        // 새 사용자 생성
-                        return User.builder()
-                                .provider("naver")
-                                .providerId(naverId)
-                                .nickname(nickname)
-                                .name(name)
-                                .profileImageUrl(profileImageUrl)
-                                .enabled(true)
-                                .deleted(false)
-                                .build();
-                    });
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            user = userRepository.save(user);
-            System.out.println("User saved to DB: " + user.getId() + " - " + user.getNickname());
-
-            // 5. JWT 토큰 생성 (DB의 user ID 사용)
-            String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
-
-            // 생성된 JWT 토큰 출력
-            System.out.println("JWT Token: " + jwtToken);
-
-            // 6. Redis에 JWT 토큰 및 사용자 정보 저장 (확인용)
-            saveToRedis(user, jwtToken);
-
-            // 7. 프론트엔드로 리다이렉트 (토큰 포함)
-            return createRedirectResponse(frontendCallbackUrl, jwtToken, null);
 
-        } catch (Exception e) {
-            // 에러 로깅
-            System.err.println("ERROR: 네이버 콜백 처리 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
-
-            // 에러 발생 시 프론트엔드로 리다이렉트
-            return createRedirectResponse(frontendCallbackUrl, null, "login_failed");
-        }
+        return callbackEngine.process(provider, code, this::saveUser)
+                // 7. 프론트엔드로 리다이렉트 (토큰 포함)
+                .map(jwtToken -> createRedirectResponse(frontendCallbackUrl, jwtToken, null))
+                .onErrorResume(e -> {
+                    // 에러 로깅 (타임아웃, 동시 처리 한도 초과 포함)
+                    System.err.println("ERROR: " + provider + " 콜백 처리 중 예외 발생: " + e.getMessage());
+                    e.printStackTrace();
+
+                    // 에러 발생 시 프론트엔드로 리다이렉트
+                    return Mono.just(createRedirectResponse(frontendCallbackUrl, null, "login_failed"));
+                });
     }
 
-    // 구글 콜백 처리 메서드
-    private ResponseEntity<Void> processGoogleCallback(String code) {
-        try {
-            // frontendCallbackUrl 유효성 검사
-            if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
-                System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
-                return createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED");
-            }
+    // 사용자 저장 및 JWT 토큰 생성 (블로킹, 가상 스레드에서 실행)
+    private String saveUser(OAuthProfile profile) {
+        // 3. 정규화된 사용자 정보
+        String nickname = profile.nickname();
+        String profileImageUrl = profile.profileImageUrl();
 
-            // 1. 액세스 토큰 요청
-            GoogleTokenResponse tokenResponse = googleOAuthService.getAccessToken(code);
-            String accessToken = tokenResponse.getAccessToken();
-
-            // 구글 액세스 토큰 출력
-            System.out.println("Access Token: " + accessToken);
-
-            // 2. 사용자 정보 조회
-            GoogleUserInfo userInfo = googleOAuthService.getUserInfo(accessToken);
-
-            // 3. 구글 사용자 정보 추출
-            String googleId = userInfo.getId();
-            String name = userInfo.getName() != null ? userInfo.getName() : "사용자";
-            String nickname = name; // 구글은 별명이 없으므로 이름을 별명으로 사용
-            String profileImageUrl = userInfo.getPicture() != null ? userInfo.getPicture() : null;
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            User user = userRepository.findByProviderAndProviderId("google", googleId)
-                    .map(existingUser -> {
-                        // 기존 사용자 정보 업데이트
-                        existingUser.setNickname(nickname);
-                        existingUser.setName(name);
-                        existingUser.setProfileImageUrl(profileImageUrl);
-                        existingUser.setLastLoginAt(java.time.LocalDateTime.now());
-                        // 삭제된 사용자인 경우 복구
-                        if (existingUser.getDeleted()) {
-                            existingUser.restore();
-                        }
-                        return existingUser;
-                    })
-                    .orElseGet(() -> {
-                        // 새 사용자 생성
-                        return User.builder()
-                                .provider("google")
-                                .providerId(googleId)
-                                .nickname(nickname)
-                                .name(name)
-                                .profileImageUrl(profileImageUrl)
-                                .enabled(true)
-                                .deleted(false)
-                                .build();
-                    });
-
-            // 4. DB에 사용자 정보 저장 또는 업데이트
-            user = userRepository.save(user);
-            System.out.println("User saved to DB: " + user.getId() + " - " + user.getNickname());
-
-            // 5. JWT 토큰 생성 (DB의 user ID 사용)
-            String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
-
-            // 생성된 JWT 토큰 출력
-            System.out.println("JWT Token: " + jwtToken);
-
-            // 6. Redis에 JWT 토큰 및 사용자 정보 저장 (확인용)
-            saveToRedis(user, jwtToken);
-
-            // 7. 프론트엔드로 리다이렉트 (토큰 포함)
-            return createRedirectResponse(frontendCallbackUrl, jwtToken, null);
+        // 4. DB에 사용자 정보 저장 또는 업데이트 (단일 SQL Upsert, 삭제된 사용자는 복구)
+        // 이름이 없는 Provider는 기존 이름 유지, 신규 사용자는 별명을 이름으로 사용
+        // 생성/복구 시 Provider별 활성 사용자 수 증가
+        User user = userService.upsertUser(
+                profile.provider(), profile.providerId(), nickname, profile.name(), profileImageUrl);
+        System.out.println("User saved to DB: " + user.getId() + " - " + user.getNickname());
 
-        } catch (Exception e) {
-            // 에러 로깅
-            System.err.println("ERROR: 구글 콜백 처리 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
+        // 5. JWT 토큰 생성 (DB의 user ID 사용)
+        String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
 
-            // 에러 발생 시 프론트엔드로 리다이렉트
-            return createRedirectResponse(frontendCallbackUrl, null, "login_failed");
-        }
+        // 6. Redis에 JWT 토큰 및 사용자 정보 저장 (확인용, 로그인 후속 작업 큐에서 비동기 처리)
+        postLoginQueue.submit(user, jwtToken);
+
+        return jwtToken;
     }
 
     // 안전한 리다이렉트 응답 생성
@@ -474,12 +275,8 @@ public class OAuth2CallbackController {
             response.put("savedValue", testValue);
             response.put("retrievedValue", retrievedValue);
 
-            // 모든 키 조회 (테스트용)
-            java.util.Set<String> keys = redisTemplate.keys("jwt:user:*");
-            response.put("jwtTokenKeys", keys != null ? keys.size() : 0);
-
-            java.util.Set<String> userKeys = redisTemplate.keys("user:info:*");
-            response.put("userInfoKeys", userKeys != null ? userKeys.size() : 0);
+            // 키 공간 통계 (KEYS 대신 접두사별 쓰기 카운터, 표본 조사는 /actuator/redisKeyspace)
+            response.put("keyspaceCounters", keyspaceStats.counters());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -489,30 +286,4 @@ public class OAuth2CallbackController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-
-    // Redis에 JWT 토큰 및 사용자 정보 저장
-    private void saveToRedis(User user, String jwtToken) {
-        try {
-            // JWT 토큰 저장
-            String jwtKey = "jwt:user:" + user.getId();
-            redisTemplate.opsForValue().set(jwtKey, jwtToken, jwtExpiration, TimeUnit.MILLISECONDS);
-            System.out.println("JWT Token saved to Redis: " + jwtKey);
-
-            // 사용자 정보 저장 (확인용)
-            String userInfoKey = "user:info:" + user.getId();
-            java.util.Map<String, Object> userInfo = new java.util.HashMap<>();
-            userInfo.put("id", user.getId());
-            userInfo.put("nickname", user.getNickname() != null ? user.getNickname() : "");
-            userInfo.put("provider", user.getProvider());
-            userInfo.put("providerId", user.getProviderId());
-            if (user.getProfileImageUrl() != null) {
-                userInfo.put("profileImageUrl", user.getProfileImageUrl());
-            }
-            redisTemplate.opsForValue().set(userInfoKey, userInfo, jwtExpiration, TimeUnit.MILLISECONDS);
-            System.out.println("User info saved to Redis: " + userInfoKey);
-        } catch (Exception e) {
-            System.err.println("ERROR: Redis 저장 실패: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
 }
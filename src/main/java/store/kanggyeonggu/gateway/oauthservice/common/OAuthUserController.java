@@ -2,7 +2,7 @@ package store.kanggyeonggu.gateway.oauthservice.common;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
 import store.kanggyeonggu.gateway.jwt.JwtService;
 import store.kanggyeonggu.gateway.oauthservice.response.UserInfoResponse;
 import store.kanggyeonggu.gateway.oauthservice.service.OAuthUserService;
@@ -82,8 +82,9 @@ public class OAuthUserController {
 
             log.info("🔍 사용자 정보 조회: userId={}", userId);
 
-            // 5. 사용자 정보 조회 (Redis → DB)
-            Optional<User> userOptional = userService.getUser(userId);
+            // 5. 사용자 정보 조회 (응답에 필요한 필드만, L1 → Redis HMGET → DB)
+            Optional<Map<String, String>> userOptional = userService.getUserFields(userId,
+                    CachedUser.NICKNAME, CachedUser.NAME, CachedUser.PROVIDER, CachedUser.PROFILE_IMAGE_URL);
 
             if (userOptional.isEmpty()) {
                 log.warn("⚠️ 사용자 정보 없음: userId={}", userId);
@@ -91,19 +92,19 @@ public class OAuthUserController {
                         .body(UserInfoResponse.error("사용자 정보를 찾을 수 없습니다."));
             }
 
-            User user = userOptional.get();
+            Map<String, String> user = userOptional.get();
 
             // 6. UserInfoResponse 생성
             UserInfoResponse.UserData userData = new UserInfoResponse.UserData(
-                    user.getId().toString(),
+                    userId.toString(),
                     null, // provider별 ID는 필요시 추가
-                    user.getNickname(),
-                    user.getName(),
-                    user.getProvider(),
-                    user.getProfileImageUrl());
+                    user.get(CachedUser.NICKNAME),
+                    user.get(CachedUser.NAME),
+                    user.get(CachedUser.PROVIDER),
+                    user.get(CachedUser.PROFILE_IMAGE_URL));
 
             log.info("✅ 사용자 정보 조회 성공: userId={}, provider={}, nickname={}",
-                    user.getId(), user.getProvider(), user.getNickname());
+                    userId, user.get(CachedUser.PROVIDER), user.get(CachedUser.NICKNAME));
 
             return ResponseEntity.ok(UserInfoResponse.success(userData));
 
@@ -0,0 +1,37 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 구글 ID Token 로컬 검증 설정 Properties
+ *
+ * 토큰 응답의 id_token을 구글 JWKS 공개키로 직접 검증해 사용자 정보 API 호출을 생략
+ * - enabled=false 이거나 검증에 실패하면 기존처럼 사용자 정보 API 사용
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.oauth.google-id-token")
+@Getter
+@Setter
+public class GoogleIdTokenProperties {
+
+    // 로컬 검증 사용 여부
+    private boolean enabled = true;
+
+    // 응답에 Cache-Control max-age가 없을 때의 JWKS 캐시 시간
+    private long defaultJwksTtlMs = 3_600_000;
+
+    // 모르는 kid 때문에 JWKS를 다시 받는 최소 간격 (잘못된 토큰으로 인한 반복 조회 방지)
+    private long minRefreshIntervalMs = 60_000;
+
+    // exp/iat 검증 시 허용하는 시계 오차
+    private long clockSkewSeconds = 60;
+
+    public Duration minRefreshInterval() {
+        return Duration.ofMillis(minRefreshIntervalMs);
+    }
+}
@@ -0,0 +1,32 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OAuth 콜백 Provider별 동시 처리 한도 (bulkhead) 설정 Properties
+ *
+ * 한 Provider 장애로 콜백이 쌓여도 다른 Provider 로그인용 자원 (커넥션, 가상 스레드, DB 커넥션) 을
+ * 고갈시키지 않도록 Provider마다 동시 처리 수를 제한
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.oauth.bulkhead")
+@Getter
+@Setter
+public class OAuthBulkheadProperties {
+
+    // 기본 Provider별 최대 동시 콜백 수
+    private int maxConcurrent = 50;
+
+    // Provider별 개별 한도 (예: naver: 30)
+    private Map<String, Integer> providers = new HashMap<>();
+
+    public int maxConcurrentFor(String provider) {
+        return providers.getOrDefault(provider, maxConcurrent);
+    }
+}
@@ -0,0 +1,109 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * OAuth Provider별 WebClient 설정 (Reactor Netty)
+ *
+ * 기능:
+ * - Provider별 커넥션 풀 (최대 커넥션, 획득 대기, 유휴/수명 제한, 백그라운드 정리)
+ * - 연결/응답 타임아웃
+ * - HTTP/2 (TLS ALPN) + HTTP/1.1 폴백
+ * - DNS 캐시 (Netty 비동기 resolver)
+ * - 풀/클라이언트 메트릭 (reactor.netty.connection.provider.*, reactor.netty.http.client.*)
+ *
+ * 빈 이름:
+ * - kakaoWebClient, naverWebClient, googleWebClient
+ */
+@Configuration
+public class OAuthHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kakaoConnectionProvider(OAuthHttpClientProperties properties) {
+        return connectionProvider("oauth-kakao", properties.getKakao());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider naverConnectionProvider(OAuthHttpClientProperties properties) {
+        return connectionProvider("oauth-naver", properties.getNaver());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider googleConnectionProvider(OAuthHttpClientProperties properties) {
+        return connectionProvider("oauth-google", properties.getGoogle());
+    }
+
+    @Bean
+    public WebClient kakaoWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider kakaoConnectionProvider,
+            OAuthHttpClientProperties properties) {
+        return webClient(webClientBuilder, kakaoConnectionProvider, properties.getKakao());
+    }
+
+    @Bean
+    public WebClient naverWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider naverConnectionProvider,
+            OAuthHttpClientProperties properties) {
+        return webClient(webClientBuilder, naverConnectionProvider, properties.getNaver());
+    }
+
+    @Bean
+    public WebClient googleWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider googleConnectionProvider,
+            OAuthHttpClientProperties properties) {
+        return webClient(webClientBuilder, googleConnectionProvider, properties.getGoogle());
+    }
+
+    private ConnectionProvider connectionProvider(String name, OAuthHttpClientProperties.Pool pool) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictIntervalMs()))
+                .lifo() // 최근 사용한 (살아 있을 가능성이 높은) 커넥션 우선 재사용
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient webClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider connectionProvider,
+            OAuthHttpClientProperties.Pool pool) {
+        HttpProtocol[] protocols = pool.isHttp2()
+                ? new HttpProtocol[] { HttpProtocol.H2, HttpProtocol.HTTP11 }
+                : new HttpProtocol[] { HttpProtocol.HTTP11 };
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                // https URI는 설정된 프로토콜 기준 기본 TLS (H2면 ALPN) 자동 적용
+                .protocol(protocols)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, pool.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(pool.getResponseTimeoutMs()))
+                .resolver(spec -> spec.cacheMaxTimeToLive(Duration.ofMillis(pool.getDnsCacheMaxTtlMs())))
+                // OAuth 엔드포인트 경로는 고정값이라 URI 태그 카디널리티 문제 없음
+                .metrics(true, Function.identity());
+
+        // 이벤트 루프, DNS resolver, TLS 컨텍스트를 미리 초기화 (첫 요청 지연 제거)
+        httpClient.warmup().block();
+
+        // Spring Boot 기본 Builder를 복제해 코덱/관측 설정은 그대로 유지
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OAuth Provider별 HTTP 클라이언트 (Reactor Netty) 설정 Properties
+ *
+ * Provider마다 별도 커넥션 풀을 사용해 한 Provider의 지연이 다른 Provider 로그인에 영향을 주지 않도록 함
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.oauth.http")
+@Getter
+@Setter
+public class OAuthHttpClientProperties {
+
+    private Pool kakao = new Pool();
+
+    private Pool naver = new Pool();
+
+    private Pool google = new Pool();
+
+    // 시작 시 커넥션 미리 연결 (TCP + TLS 핸드셰이크를 첫 로그인 전에 완료)
+    private boolean warmupEnabled = true;
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        // 풀 최대 커넥션 수 (호스트별)
+        private int maxConnections = 50;
+
+        // 커넥션 획득 대기 최대 시간 (풀 고갈 시)
+        private long pendingAcquireTimeoutMs = 2000;
+
+        // 커넥션 획득 대기 요청 최대 수 (초과 시 즉시 실패)
+        private int pendingAcquireMaxCount = 200;
+
+        // 유휴 커넥션 유지 시간 (Provider 서버 keep-alive보다 짧게)
+        private long maxIdleTimeMs = 55000;
+
+        // 커넥션 최대 수명 (DNS 변경 반영)
+        private long maxLifeTimeMs = 300000;
+
+        // 백그라운드 유휴 커넥션 정리 주기
+        private long evictIntervalMs = 30000;
+
+        private int connectTimeoutMs = 2000;
+
+        // 응답 대기 시간 (read timeout)
+        private long responseTimeoutMs = 3000;
+
+        // HTTP/2 사용 (TLS ALPN 협상, 미지원 서버는 HTTP/1.1로 동작)
+        private boolean http2 = true;
+
+        // 시작 시 호스트별로 미리 연결할 커넥션 수
+        private int warmupConnections = 2;
+
+        // DNS 캐시 최대 TTL
+        private long dnsCacheMaxTtlMs = 60000;
+    }
+}
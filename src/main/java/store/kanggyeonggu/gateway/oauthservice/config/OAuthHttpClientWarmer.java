@@ -0,0 +1,117 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * OAuth Provider 커넥션 풀 예열
+ *
+ * 애플리케이션 시작 직후 각 Provider 호스트로 HEAD 요청을 보내
+ * TCP + TLS 핸드셰이크가 끝난 커넥션을 풀에 미리 확보 (첫 로그인 지연 제거)
+ * - 시작을 막지 않도록 비동기로 실행
+ * - 실패해도 로그만 남김 (첫 요청에서 정상적으로 연결)
+ */
+@Slf4j
+@Component
+public class OAuthHttpClientWarmer {
+
+    private static final Duration WARMUP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient kakaoWebClient;
+    private final WebClient naverWebClient;
+    private final WebClient googleWebClient;
+    private final OAuthHttpClientProperties properties;
+
+    @Value("${kakao.token-uri}")
+    private String kakaoTokenUri;
+
+    @Value("${kakao.user-info-uri}")
+    private String kakaoUserInfoUri;
+
+    @Value("${naver.token-uri}")
+    private String naverTokenUri;
+
+    @Value("${naver.user-info-uri}")
+    private String naverUserInfoUri;
+
+    @Value("${google.token-uri}")
+    private String googleTokenUri;
+
+    @Value("${google.user-info-uri}")
+    private String googleUserInfoUri;
+
+    public OAuthHttpClientWarmer(
+            @Qualifier("kakaoWebClient") WebClient kakaoWebClient,
+            @Qualifier("naverWebClient") WebClient naverWebClient,
+            @Qualifier("googleWebClient") WebClient googleWebClient,
+            OAuthHttpClientProperties properties) {
+        this.kakaoWebClient = kakaoWebClient;
+        this.naverWebClient = naverWebClient;
+        this.googleWebClient = googleWebClient;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmup() {
+        if (!properties.isWarmupEnabled()) {
+            return;
+        }
+
+        Flux.merge(
+                warmup("kakao", kakaoWebClient, properties.getKakao(), kakaoTokenUri, kakaoUserInfoUri),
+                warmup("naver", naverWebClient, properties.getNaver(), naverTokenUri, naverUserInfoUri),
+                warmup("google", googleWebClient, properties.getGoogle(), googleTokenUri, googleUserInfoUri))
+                .subscribe();
+    }
+
+    private Mono<Void> warmup(
+            String provider,
+            WebClient webClient,
+            OAuthHttpClientProperties.Pool pool,
+            String... endpointUris) {
+        // 토큰/사용자 정보 엔드포인트의 호스트 (origin) 단위로 예열
+        Set<String> origins = new LinkedHashSet<>();
+        for (String endpointUri : endpointUris) {
+            URI uri = URI.create(endpointUri);
+            origins.add(uri.getScheme() + "://" + uri.getAuthority() + "/");
+        }
+
+        List<Mono<Boolean>> connections = origins.stream()
+                .flatMap(origin -> IntStream.range(0, pool.getWarmupConnections())
+                        .mapToObj(i -> connect(webClient, origin)))
+                .toList();
+
+        return Flux.merge(connections)
+                .filter(Boolean::booleanValue)
+                .count()
+                .doOnNext(opened -> log.info("✅ OAuth 커넥션 예열 완료: provider={}, hosts={}, connections={}/{}",
+                        provider, origins.size(), opened, connections.size()))
+                .then();
+    }
+
+    private Mono<Boolean> connect(WebClient webClient, String origin) {
+        // 응답 상태와 무관하게 본문만 해제하면 커넥션은 풀로 반환되어 재사용됨
+        return webClient.head()
+                .uri(origin)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(true))
+                .timeout(WARMUP_TIMEOUT)
+                .onErrorResume(e -> {
+                    log.warn("⚠️ OAuth 커넥션 예열 실패: {} - {}", origin, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+}
@@ -0,0 +1,38 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * OAuth 콜백 단계별 타임아웃 설정 Properties
+ *
+ * 단계:
+ * - token : 인가 코드 → 액세스 토큰 교환 (Provider HTTP)
+ * - user-info : 사용자 정보 조회 (Provider HTTP)
+ * - persist-tx : 사용자 Upsert / Refresh Token 저장 트랜잭션 (Neon DB, 초과 시 롤백)
+ *   Reactor 타임아웃과 달리 실행 중인 저장을 실제로 중단 (@Transactional timeoutString 에서 참조)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.oauth.timeout")
+@Getter
+@Setter
+public class OAuthTimeoutProperties {
+
+    private long tokenMs = 3000;
+
+    private long userInfoMs = 3000;
+
+    private int persistTxSeconds = 3;
+
+    public Duration token() {
+        return Duration.ofMillis(tokenMs);
+    }
+
+    public Duration userInfo() {
+        return Duration.ofMillis(userInfoMs);
+    }
+}
@@ -0,0 +1,34 @@
+package store.kanggyeonggu.gateway.oauthservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 로그인 후속 작업 큐 설정 Properties
+ *
+ * 리다이렉트 응답에 필요 없는 쓰기 (Redis 사용자 캐시, last_login_at 갱신) 를
+ * 인메모리 큐에 넣고 백그라운드에서 묶어서 처리
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.oauth.post-login")
+@Getter
+@Setter
+public class PostLoginQueueProperties {
+
+    // 큐 최대 크기 (가득 차면 새 작업은 버림)
+    private int capacity = 10000;
+
+    // 한 번에 처리할 최대 작업 수
+    private int batchSize = 200;
+
+    // 큐가 비었을 때 대기 시간 (종료 신호 확인 주기)
+    private long pollTimeoutMs = 200;
+
+    // last_login_at 갱신 단위 (이 시간 안의 재로그인은 UPDATE 생략)
+    private long lastLoginGranularityMs = 60000;
+
+    // 종료 시 남은 작업 처리 대기 시간
+    private long shutdownTimeoutMs = 5000;
+}
@@ -1,9 +1,8 @@
 package store.kanggyeonggu.gateway.oauthservice.config;
 
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
@@ -12,10 +11,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import store.kanggyeonggu.gateway.common.redis.CompactRedisSerializer;
+import store.kanggyeonggu.gateway.common.redis.RedisClientProperties;
+import store.kanggyeonggu.gateway.common.redis.RedisCodecProperties;
 
 import java.time.Duration;
 
@@ -23,7 +26,7 @@ import java.time.Duration;
  * Redis 설정 (Spring Boot 3.x + Java 21 최적화)
  * Upstash Redis 연결을 위한 최신 설정
  * - SSL/TLS 연결 지원
- * - Connection Pool 최적화
+ * - 공유 연결 / Connection Pool 선택 (app.redis.client)
  * - Java 8+ 날짜/시간 타입 지원
  */
 @Configuration
@@ -46,11 +49,12 @@ public class RedisConfig {
     /**
      * Redis Connection Factory (Lettuce 기반, Spring Boot 3.x 최적화)
      * - SSL/TLS 지원
-     * - Connection Pool 설정
+     * - 공유 연결 (기본) 또는 Connection Pool
+     * - 프로토콜은 app.redis.client.resp3 로 지정한 경우에만 고정 (기본은 Lettuce 협상), executePipelined 전송 방식
      * - Timeout 설정
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public RedisConnectionFactory redisConnectionFactory(RedisClientProperties properties) {
         // Redis 서버 설정
         RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration();
         serverConfig.setHostName(host);
@@ -60,49 +64,67 @@ public class RedisConfig {
             serverConfig.setPassword(password);
         }
 
-        // Lettuce Client 설정 (최신 방식)
-        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = LettuceClientConfiguration.builder()
-                .commandTimeout(Duration.ofSeconds(10)) // 명령 타임아웃
-                .shutdownTimeout(Duration.ofMillis(100)); // 종료 타임아웃
+        // Lettuce Client 설정 (풀 사용 시 트랜잭션/블로킹 명령은 풀에서 연결을 빌림)
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = properties.getPool().isEnabled()
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig(properties.getPool()))
+                : LettuceClientConfiguration.builder();
+
+        clientConfig
+                .commandTimeout(properties.commandTimeout()) // 명령 타임아웃
+                .shutdownTimeout(properties.shutdownTimeout()); // 종료 타임아웃
+
+        // 프로토콜 (지정하지 않으면 HELLO 협상, 미지원 서버는 RESP2 로 폴백)
+        if (properties.getResp3() != null) {
+            clientConfig.clientOptions(ClientOptions.builder()
+                    .protocolVersion(properties.getResp3() ? ProtocolVersion.RESP3 : ProtocolVersion.RESP2)
+                    .build());
+        }
 
         // SSL 설정
         if (sslEnabled) {
             clientConfig.useSsl();
         }
 
-        return new LettuceConnectionFactory(serverConfig, clientConfig.build());
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(serverConfig, clientConfig.build());
+        factory.setShareNativeConnection(properties.isShareNativeConnection());
+        factory.setPipeliningFlushPolicy(pipeliningFlushPolicy(properties));
+        return factory;
+    }
+
+    private static GenericObjectPoolConfig<?> poolConfig(RedisClientProperties.Pool pool) {
+        GenericObjectPoolConfig<Object> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(pool.getMaxTotal());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMinIdle());
+        config.setMaxWait(Duration.ofMillis(pool.getMaxWaitMs()));
+        return config;
+    }
+
+    private static LettuceConnection.PipeliningFlushPolicy pipeliningFlushPolicy(RedisClientProperties properties) {
+        return switch (properties.getPipelineFlush().toLowerCase()) {
+            case "each" -> LettuceConnection.PipeliningFlushPolicy.flushEachCommand();
+            case "buffered" -> LettuceConnection.PipeliningFlushPolicy.buffered(properties.getPipelineBufferSize());
+            default -> LettuceConnection.PipeliningFlushPolicy.flushOnClose();
+        };
     }
 
     /**
      * Redis Template (Spring Boot 3.x + Java 21 최적화)
+     * - 값: CompactRedisSerializer (타입 ID + Smile, 큰 값은 LZ4, 기존 JSON 형식도 읽기 지원)
      * - Java 8+ 날짜/시간 타입 지원 (LocalDateTime, Instant 등)
-     * - 타입 안전성 보장
-     * - JSON 직렬화 최적화
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(
+            RedisConnectionFactory connectionFactory,
+            RedisCodecProperties codecProperties) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // ObjectMapper 설정 (최신 방식)
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        // Java 8+ 날짜/시간 모듈 등록
-        objectMapper.registerModule(new JavaTimeModule());
-
-        // 타입 안전성을 위한 Polymorphic Type Validator (Spring Boot 3.x)
-        BasicPolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator
-                .builder()
-                .allowIfBaseType(Object.class)
-                .build();
-
-        objectMapper.activateDefaultTyping(
-                typeValidator,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY);
-
-        // JSON Serializer 생성
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        // 값 Serializer (타입 ID는 한 번 정하면 바꾸지 않음)
+        // 사용 중지: 3 (이전 User 엔티티), 4 (CachedUser 값, 사용자 캐시는 Redis Hash로 전환)
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(
+                codecProperties.isCompactWrite(),
+                codecProperties.getLz4ThresholdBytes());
 
         // Key Serializer (String)
         StringRedisSerializer stringSerializer = new StringRedisSerializer();
@@ -110,11 +132,11 @@ public class RedisConfig {
         // Serializer 설정
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         // 기본 Serializer 설정
-        template.setDefaultSerializer(jsonSerializer);
+        template.setDefaultSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
@@ -6,13 +6,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import store.kanggyeonggu.gateway.jwt.AccessTokenService;
+import reactor.core.publisher.Mono;
 import store.kanggyeonggu.gateway.jwt.JwtService;
 import store.kanggyeonggu.gateway.jwt.RefreshTokenService;
 import store.kanggyeonggu.gateway.oauthservice.response.*;
-import store.kanggyeonggu.gateway.oauthservice.service.OAuthUserService;
-
-import jakarta.servlet.http.HttpServletResponse;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthCallbackEngine;
 
 import java.net.URI;
 import java.net.URLEncoder;
@@ -23,11 +21,9 @@ import java.nio.charset.StandardCharsets;
 @RequestMapping("/auth/google")
 public class GoogleController {
 
-    private final GoogleOAuthService googleOAuthService;
+    private final OAuthCallbackEngine callbackEngine;
     private final JwtService jwtService;
-    private final OAuthUserService userService;
     private final RefreshTokenService refreshTokenService;
-    private final AccessTokenService accessTokenService;
 
     @Value("${google.client-id}")
     private String googleClientId;
@@ -42,16 +38,12 @@ public class GoogleController {
     private String frontendCallbackUrl;
 
     public GoogleController(
-            GoogleOAuthService googleOAuthService,
+            OAuthCallbackEngine callbackEngine,
             JwtService jwtService,
-            OAuthUserService userService,
-            RefreshTokenService refreshTokenService,
-            AccessTokenService accessTokenService) {
-        this.googleOAuthService = googleOAuthService;
+            RefreshTokenService refreshTokenService) {
+        this.callbackEngine = callbackEngine;
         this.jwtService = jwtService;
-        this.userService = userService;
         this.refreshTokenService = refreshTokenService;
-        this.accessTokenService = accessTokenService;
     }
 
     // 구글 로그인 URL 생성
@@ -72,15 +64,15 @@ public class GoogleController {
         return ResponseEntity.ok(LoginResponse.success(googleAuthUrl));
     }
 
-    // 구글 OAuth2 콜백 처리 (동기 방식)
+    // 구글 OAuth2 콜백 처리 (비동기 방식)
+    // Provider 호출 동안 서블릿 스레드를 점유하지 않음 (Spring MVC 비동기 요청 처리)
     // GET /auth/google/callback?code=xxx (구글 표준)
     @GetMapping("/callback")
-    public ResponseEntity<Void> googleCallback(
-            @RequestParam(required = false) String code,
-            HttpServletResponse httpResponse) {
+    public Mono<ResponseEntity<Void>> googleCallback(
+            @RequestParam(required = false) String code) {
         // GET 방식 (구글 표준)
         if (code != null) {
-            return processCallback(code, httpResponse);
+            return processCallback(code);
         }
 
         // code가 없는 경우 에러
@@ -90,65 +82,38 @@ public class GoogleController {
                 URLEncoder.encode("missing_code", StandardCharsets.UTF_8));
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(URI.create(errorUrl));
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+        return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
     }
 
     // 공통 콜백 처리 메서드
-    private ResponseEntity<Void> processCallback(String code, HttpServletResponse httpResponse) {
-        try {
-            // frontendCallbackUrl 유효성 검사
-            if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
-                System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
-                return createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED");
-            }
-
-            // 1. 액세스 토큰 요청 (동기 처리)
-            GoogleTokenResponse tokenResponse = googleOAuthService.getAccessToken(code);
-            String accessToken = tokenResponse.getAccessToken();
-
-            // 구글 액세스 토큰 출력
-            System.out.println("Access Token: " + accessToken);
-
-            // 2. 사용자 정보 조회 (동기 처리)
-            GoogleUserInfo userInfo = googleOAuthService.getUserInfo(accessToken);
-
-            // 3. 구글 사용자 정보 추출
-            String googleId = userInfo.getId();
-            String name = userInfo.getName() != null ? userInfo.getName() : "사용자";
-            String nickname = name; // 구글은 별명이 없으므로 이름을 별명으로 사용
-            String profileImageUrl = userInfo.getPicture();
-
-            // 4. DB Upsert + Redis 저장 (핵심!)
-            store.kanggyeonggu.gateway.common.entity.User user = userService.upsertUser(
-                    "google",
-                    googleId,
-                    nickname,
-                    profileImageUrl);
-
-            // 5. JWT Access Token 생성 (DB에 저장된 user.id 사용)
-            String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
-            System.out.println("JWT Access Token 생성 완료");
-
-            // 6. Access Token을 Redis에 저장 (Upstash)
-            accessTokenService.saveAccessToken(jwtToken, user.getId(), jwtService.getExpiration());
-
-            // 7. Refresh Token 생성 및 Neon DB에 저장
-            String refreshToken = refreshTokenService.createAndSaveRefreshToken(user);
-
-            // HttpOnly 쿠키로 Refresh Token 설정
-            refreshTokenService.setRefreshTokenCookie(httpResponse, refreshToken);
-
-            // 7. 프론트엔드로 리다이렉트 (Access Token은 URL 파라미터로)
-            return createRedirectResponse(frontendCallbackUrl, jwtToken, null);
-
-        } catch (Exception e) {
-            // 에러 로깅
-            System.err.println("ERROR: 콜백 처리 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
-
-            // 에러 발생 시 프론트엔드로 리다이렉트
-            return createRedirectResponse(frontendCallbackUrl, null, "login_failed");
+    // 토큰 교환 → 사용자 정보 조회 → DB Upsert + 토큰 발급은 OAuthCallbackEngine이 처리
+    // (Provider별 동시 처리 한도, 단계별 메트릭)
+    // 타임아웃: 토큰 교환/사용자 정보 조회는 GoogleOAuthService (app.oauth.timeout.token-ms / user-info-ms),
+    // 저장은 DB 트랜잭션 타임아웃 (app.oauth.timeout.persist-tx-seconds)
+    private Mono<ResponseEntity<Void>> processCallback(String code) {
+        // frontendCallbackUrl 유효성 검사
+        if (frontendCallbackUrl == null || frontendCallbackUrl.trim().isEmpty()) {
+            System.err.println("ERROR: frontend.callback-url이 설정되지 않았습니다.");
+            return Mono.just(createErrorResponse("FRONTEND_CALLBACK_URL_NOT_CONFIGURED"));
         }
+
+        return callbackEngine.login("google", code)
+                .map(tokens -> {
+                    // HttpOnly 쿠키로 Refresh Token 설정 + 프론트엔드로 리다이렉트 (Access Token은 URL 파라미터로)
+                    ResponseEntity<Void> redirect = createRedirectResponse(frontendCallbackUrl, tokens.accessToken(), null);
+                    return ResponseEntity.status(redirect.getStatusCode())
+                            .headers(redirect.getHeaders())
+                            .header(HttpHeaders.SET_COOKIE, refreshTokenService.buildRefreshTokenCookie(tokens.refreshToken()))
+                            .<Void>build();
+                })
+                .onErrorResume(e -> {
+                    // 에러 로깅 (타임아웃, 동시 처리 한도 초과 포함)
+                    System.err.println("ERROR: 콜백 처리 중 예외 발생: " + e.getMessage());
+                    e.printStackTrace();
+
+                    // 에러 발생 시 프론트엔드로 리다이렉트
+                    return Mono.just(createRedirectResponse(frontendCallbackUrl, null, "login_failed"));
+                });
     }
 
     // 안전한 리다이렉트 응답 생성
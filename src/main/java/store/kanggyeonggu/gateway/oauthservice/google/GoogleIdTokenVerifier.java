@@ -0,0 +1,266 @@
+package store.kanggyeonggu.gateway.oauthservice.google;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import store.kanggyeonggu.gateway.oauthservice.config.GoogleIdTokenProperties;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthTimeoutProperties;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 구글 ID Token 로컬 검증기
+ *
+ * 구글 JWKS (RSA 공개키 목록) 를 한 번 받아 캐시해 두고 id_token 서명/클레임을 직접 검증
+ * → 로그인마다 사용자 정보 API 왕복 1회 생략
+ *
+ * 기능:
+ * - JWKS 캐시: 응답의 Cache-Control max-age 동안 유지 (없으면 default-jwks-ttl-ms)
+ * - 키 교체 대응: 캐시에 없는 kid가 오면 JWKS 재조회 (min-refresh-interval-ms 간격 제한)
+ * - 재조회는 동시에 하나만 실행 (진행 중인 조회에 병합)
+ * - 재조회 실패 시 기존 캐시 키로 계속 검증
+ *
+ * 검증 항목: 서명 (RS256), iss, aud (client-id), exp (필수, clock-skew-seconds 허용)
+ */
+@Slf4j
+@Component
+public class GoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final WebClient webClient;
+    private final GoogleIdTokenProperties properties;
+    private final OAuthTimeoutProperties timeouts;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<KeySet> keySet = new AtomicReference<>(KeySet.EMPTY);
+    private final AtomicReference<Mono<KeySet>> refreshing = new AtomicReference<>();
+
+    @Value("${google.client-id}")
+    private String googleClientId;
+
+    @Value("${google.jwks-uri}")
+    private String googleJwksUri;
+
+    public GoogleIdTokenVerifier(
+            @Qualifier("googleWebClient") WebClient webClient,
+            GoogleIdTokenProperties properties,
+            OAuthTimeoutProperties timeouts,
+            ObjectMapper objectMapper) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.timeouts = timeouts;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 시작 시 JWKS 미리 조회 (첫 구글 로그인 지연 제거, 실패해도 첫 요청에서 다시 조회)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refresh().subscribe(
+                keys -> {
+                },
+                e -> log.warn("⚠️ 구글 JWKS 사전 조회 실패: {}", e.getMessage()));
+    }
+
+    /**
+     * id_token 검증 후 클레임 반환
+     */
+    public Mono<Claims> verify(String idToken) {
+        return Mono.defer(() -> {
+            String kid = keyId(idToken);
+            return publicKey(kid).map(key -> parse(idToken, key));
+        });
+    }
+
+    private Claims parse(String idToken, PublicKey key) {
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .requireAudience(googleClientId)
+                .clockSkewSeconds(properties.getClockSkewSeconds())
+                .build()
+                .parseSignedClaims(idToken)
+                .getPayload();
+
+        // jjwt는 exp 없는 토큰을 만료 없음으로 통과시킴 → 구글 id_token은 항상 exp를 가지므로 없으면 거부
+        if (claims.getExpiration() == null) {
+            throw new IllegalArgumentException("id_token에 exp 없음");
+        }
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            throw new IllegalArgumentException("허용되지 않은 id_token 발급자: " + claims.getIssuer());
+        }
+        return claims;
+    }
+
+    // ========================================
+    // JWKS 캐시
+    // ========================================
+
+    private Mono<PublicKey> publicKey(String kid) {
+        KeySet current = keySet.get();
+        PublicKey cached = current.keys().get(kid);
+
+        if (cached != null && !current.isExpired()) {
+            return Mono.just(cached);
+        }
+
+        // 만료되었거나 모르는 kid → 재조회 (모르는 kid는 최소 간격 제한)
+        if (cached == null && !current.isExpired() && !current.canRefresh(properties.minRefreshInterval())) {
+            return Mono.error(new IllegalStateException("알 수 없는 id_token kid: " + kid));
+        }
+
+        return refresh()
+                .onErrorResume(e -> {
+                    log.warn("⚠️ 구글 JWKS 재조회 실패, 기존 키 사용: {}", e.getMessage());
+                    return Mono.just(current);
+                })
+                .flatMap(keys -> {
+                    PublicKey key = keys.keys().get(kid);
+                    return key != null
+                            ? Mono.just(key)
+                            : Mono.error(new IllegalStateException("알 수 없는 id_token kid: " + kid));
+                });
+    }
+
+    private Mono<KeySet> refresh() {
+        while (true) {
+            Mono<KeySet> inFlight = refreshing.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            Sinks.One<KeySet> sink = Sinks.one();
+            Mono<KeySet> shared = sink.asMono();
+            if (refreshing.compareAndSet(null, shared)) {
+                fetchKeySet().subscribe(
+                        keys -> {
+                            keySet.set(keys);
+                            refreshing.set(null);
+                            sink.tryEmitValue(keys);
+                        },
+                        e -> {
+                            refreshing.set(null);
+                            sink.tryEmitError(e);
+                        });
+                return shared;
+            }
+        }
+    }
+
+    private Mono<KeySet> fetchKeySet() {
+        return webClient.get()
+                .uri(googleJwksUri)
+                .retrieve()
+                .toEntity(JsonNode.class)
+                .timeout(timeouts.userInfo())
+                .map(this::toKeySet);
+    }
+
+    private KeySet toKeySet(ResponseEntity<JsonNode> response) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        JsonNode body = response.getBody();
+
+        if (body != null) {
+            for (JsonNode jwk : body.path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText())) {
+                    continue;
+                }
+                keys.put(jwk.path("kid").asText(), rsaPublicKey(jwk.path("n").asText(), jwk.path("e").asText()));
+            }
+        }
+
+        long ttlMs = maxAgeMs(response.getHeaders().getCacheControl());
+        log.info("🔑 구글 JWKS 갱신: keys={}, ttl={}s", keys.keySet(), ttlMs / 1000);
+
+        long now = System.currentTimeMillis();
+        return new KeySet(Map.copyOf(keys), now, now + ttlMs);
+    }
+
+    private long maxAgeMs(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1)) * 1000;
+            }
+        }
+        return properties.getDefaultJwksTtlMs();
+    }
+
+    private static PublicKey rsaPublicKey(String modulus, String exponent) {
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(modulus)),
+                    new BigInteger(1, decoder.decode(exponent)));
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (Exception e) {
+            throw new IllegalStateException("구글 JWKS 공개키 변환 실패", e);
+        }
+    }
+
+    // id_token 헤더의 kid (서명 검증 전이므로 키 선택에만 사용)
+    private String keyId(String idToken) {
+        int dot = idToken.indexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("id_token 형식 오류");
+        }
+        try {
+            JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(idToken.substring(0, dot)));
+            String kid = header.path("kid").asText(null);
+            if (kid == null) {
+                throw new IllegalArgumentException("id_token 헤더에 kid 없음");
+            }
+            return kid;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("id_token 헤더 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 캐시된 JWKS (kid → 공개키)
+     */
+    private record KeySet(Map<String, PublicKey> keys, long fetchedAtMs, long expiresAtMs) {
+
+        static final KeySet EMPTY = new KeySet(Map.of(), 0, 0);
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMs;
+        }
+
+        boolean canRefresh(Duration minInterval) {
+            return System.currentTimeMillis() - fetchedAtMs >= minInterval.toMillis();
+        }
+    }
+}
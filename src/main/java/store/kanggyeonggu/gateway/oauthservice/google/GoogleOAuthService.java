@@ -1,5 +1,8 @@
 package store.kanggyeonggu.gateway.oauthservice.google;
 
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -7,14 +10,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthTimeoutProperties;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProfile;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProvider;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthTokens;
 
 import java.util.Map;
 
-// 구글 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용)
+// 구글 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용, 전용 커넥션 풀)
+// id_token이 있으면 로컬 검증으로 사용자 정보 API 호출 생략 (실패 시 사용자 정보 API로 대체)
+@Slf4j
 @Service
-public class GoogleOAuthService {
+public class GoogleOAuthService implements OAuthProvider {
 
     private final WebClient webClient;
+    private final OAuthTimeoutProperties timeouts;
+    private final GoogleIdTokenVerifier idTokenVerifier;
 
     @Value("${google.client-id}")
     private String googleClientId;
@@ -25,14 +37,69 @@ public class GoogleOAuthService {
     @Value("${google.redirect-uri}")
     private String googleRedirectUri;
 
-    public GoogleOAuthService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    // 토큰/사용자 정보 엔드포인트 (loadtest 프로파일에서는 로컬 시뮬레이터로 교체)
+    @Value("${google.token-uri}")
+    private String googleTokenUri;
+
+    @Value("${google.user-info-uri}")
+    private String googleUserInfoUri;
+
+    public GoogleOAuthService(
+            @Qualifier("googleWebClient") WebClient webClient,
+            OAuthTimeoutProperties timeouts,
+            GoogleIdTokenVerifier idTokenVerifier) {
+        this.webClient = webClient;
+        this.timeouts = timeouts;
+        this.idTokenVerifier = idTokenVerifier;
+    }
+
+    @Override
+    public String name() {
+        return "google";
     }
 
-    // 구글 인가 코드로 액세스 토큰 요청 (동기 방식)
-    public GoogleTokenResponse getAccessToken(String authorizationCode) {
-        String tokenUrl = "https://oauth2.googleapis.com/token";
+    @Override
+    public Mono<OAuthTokens> exchangeCode(String authorizationCode) {
+        return requestAccessToken(authorizationCode)
+                .map(tokenResponse -> new OAuthTokens(tokenResponse.getAccessToken(), tokenResponse.getIdToken()));
+    }
+
+    @Override
+    public Mono<OAuthProfile> fetchProfile(OAuthTokens tokens) {
+        Mono<OAuthProfile> fromUserInfo = requestUserInfo(tokens.accessToken()).map(this::toProfile);
+
+        if (tokens.idToken() == null || !idTokenVerifier.isEnabled()) {
+            return fromUserInfo;
+        }
+
+        // id_token 로컬 검증 (네트워크 왕복 없음), 실패 시 사용자 정보 API
+        return idTokenVerifier.verify(tokens.idToken())
+                .map(this::toProfile)
+                .onErrorResume(e -> {
+                    log.warn("⚠️ 구글 id_token 검증 실패, 사용자 정보 API 사용: {}", e.getMessage());
+                    return fromUserInfo;
+                });
+    }
 
+    // 구글 id_token 클레임 → 공통 프로필 정규화
+    public OAuthProfile toProfile(Claims claims) {
+        GoogleUserInfo userInfo = new GoogleUserInfo();
+        userInfo.setId(claims.getSubject());
+        userInfo.setName(claims.get("name", String.class));
+        userInfo.setPicture(claims.get("picture", String.class));
+        return toProfile(userInfo);
+    }
+
+    // 구글 사용자 정보 → 공통 프로필 정규화
+    public OAuthProfile toProfile(GoogleUserInfo userInfo) {
+        String name = userInfo.getName() != null ? userInfo.getName() : "사용자";
+
+        // 구글은 별명이 없으므로 이름을 별명으로 사용
+        return new OAuthProfile(name(), userInfo.getId(), name, name, userInfo.getPicture());
+    }
+
+    // 구글 인가 코드로 액세스 토큰 요청 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<GoogleTokenResponse> requestAccessToken(String authorizationCode) {
         MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
         body.add("grant_type", "authorization_code");
         body.add("client_id", googleClientId);
@@ -41,24 +108,22 @@ public class GoogleOAuthService {
         body.add("code", authorizationCode);
 
         return webClient.post()
-                .uri(tokenUrl)
+                .uri(googleTokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(GoogleTokenResponse.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.token());
     }
 
-    // 액세스 토큰으로 구글 사용자 정보 조회 (동기 방식)
-    public GoogleUserInfo getUserInfo(String accessToken) {
-        String userInfoUrl = "https://www.googleapis.com/oauth2/v2/userinfo";
-
+    // 액세스 토큰으로 구글 사용자 정보 조회 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<GoogleUserInfo> requestUserInfo(String accessToken) {
         return webClient.get()
-                .uri(userInfoUrl)
+                .uri(googleUserInfoUri)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
                 .bodyToMono(GoogleUserInfo.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.userInfo());
     }
 
     // 구글 로그아웃 (동기 방식)
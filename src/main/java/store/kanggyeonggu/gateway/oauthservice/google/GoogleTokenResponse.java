@@ -20,6 +20,10 @@ public class GoogleTokenResponse {
     @JsonProperty("scope")
     private String scope;
 
+    // OpenID Connect ID Token (scope에 openid 포함 시)
+    @JsonProperty("id_token")
+    private String idToken;
+
     // Getters and Setters
     public String getAccessToken() {
         return accessToken;
@@ -60,5 +64,13 @@ public class GoogleTokenResponse {
     public void setScope(String scope) {
         this.scope = scope;
     }
+
+    public String getIdToken() {
+        return idToken;
+    }
+
+    public void setIdToken(String idToken) {
+        this.idToken = idToken;
+    }
 }
 
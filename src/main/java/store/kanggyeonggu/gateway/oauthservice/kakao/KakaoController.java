@@ -6,13 +6,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import store.kanggyeonggu.gateway.jwt.AccessTokenService;
+import reactor.core.publisher.Mono;
 import store.kanggyeonggu.gateway.jwt.JwtService;
 import store.kanggyeonggu.gateway.jwt.RefreshTokenService;
 import store.kanggyeonggu.gateway.oauthservice.response.*;
-import store.kanggyeonggu.gateway.oauthservice.service.OAuthUserService;
-
-import jakarta.servlet.http.HttpServletResponse;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthCallbackEngine;
 
 import java.net.URI;
 import java.net.URLEncoder;
@@ -23,11 +21,9 @@ import java.nio.charset.StandardCharsets;
 @RequestMapping("/auth/kakao")
 public class KakaoController {
 
-    private final KakaoOAuthService kakaoOAuthService;
+    private final OAuthCallbackEngine callbackEngine;
     private final JwtService jwtService;
-    private final OAuthUserService userService;
     private final RefreshTokenService refreshTokenService;
-    private final AccessTokenService accessTokenService;
 
     @Value("${kakao.rest-api-key}")
     private String kakaoRestApiKey;
@@ -42,16 +38,12 @@ public class KakaoController {
     private String frontendCallbackUrl;
 
     public KakaoController(
-            KakaoOAuthService kakaoOAuthService,
+            OAuthCallbackEngine callbackEngine,
             JwtService jwtService,
-            OAuthUserService userService,
-            RefreshTokenService refreshTokenService,
-            AccessTokenService accessTokenService) {
-        this.kakaoOAuthService = kakaoOAuthService;
+            RefreshTokenService refreshTokenService) {
+        this.callbackEngine = callbackEngine;
         this.jwtService = jwtService;
-        this.userService = userService;
         this.refreshTokenService = refreshTokenService;
-        this.accessTokenService = accessTokenService;
     }
 
     // 카카오 로그인 URL 생성
@@ -70,15 +62,15 @@ public class KakaoController {
         return ResponseEntity.ok(LoginResponse.success(kakaoAuthUrl));
     }
 
-    // 카카오 OAuth2 콜백 처리 (동기 방식)
+    // 카카오 OAuth2 콜백 처리 (비동기 방식)
+    // Provider 호출 동안 서블릿 스레드를 점유하지 않음 (Spring MVC 비동기 요청 처리)
     // GET /auth/kakao/callback?code=xxx (카카오 표준)
     @GetMapping("/callback")
-    public ResponseEntity<Void> kakaoCallback(
-            @RequestParam(required = false) String code,
-            HttpServletResponse httpResponse) {
+    public Mono<ResponseEntity<Void>> kakaoCallback(
+            @RequestParam(required = false) String code) {
         // GET 방식 (카카오 표준)
         if (code != null) {
-            return processCallback(code, httpResponse);
+            return processCallback(code);
         }
 
         // code가 없는 경우 에러
@@ -88,61 +80,32 @@ public class KakaoController {
                 URLEncoder.encode("missing_code", StandardCharsets.UTF_8));
         HttpHeaders headers = new HttpHeaders();
         headers.setLocation(URI.create(errorUrl));
-        return new ResponseEntity<>(headers, HttpStatus.FOUND);
+        return Mono.just(new ResponseEntity<>(headers, HttpStatus.FOUND));
     }
 
     // 공통 콜백 처리 메서드
-    private ResponseEntity<Void> processCallback(String code, HttpServletResponse httpResponse) {
-        try {
-            // 1. 액세스 토큰 요청 (동기 처리)
-            KakaoTokenResponse tokenResponse = kakaoOAuthService.getAccessToken(code);
-            String accessToken = tokenResponse.getAccessToken();
-
-            // 카카오 액세스 토큰 출력
-            System.out.println("Access Token: " + accessToken);
-
-            // 2. 사용자 정보 조회 (동기 처리)
-            KakaoUserInfo userInfo = kakaoOAuthService.getUserInfo(accessToken);
-
-            // 3. 카카오 사용자 정보 추출
-            Long kakaoId = userInfo.getId();
-            KakaoUserInfo.KakaoAccount kakaoAccount = userInfo.getKakaoAccount();
-            KakaoUserInfo.Profile profile = kakaoAccount != null ? kakaoAccount.getProfile() : null;
-
-            String nickname = profile != null ? profile.getNickname() : "사용자";
-            String profileImageUrl = profile != null ? profile.getProfileImageUrl() : null;
-
-            // 4. DB Upsert + Redis 저장 (핵심!)
-            store.kanggyeonggu.gateway.common.entity.User user = userService.upsertUser(
-                    "kakao",
-                    String.valueOf(kakaoId),
-                    nickname,
-                    profileImageUrl);
-
-            // 5. JWT Access Token 생성 (DB에 저장된 user.id 사용)
-            String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
-            System.out.println("JWT Access Token 생성 완료");
-
-            // 6. Access Token을 Redis에 저장 (Upstash)
-            accessTokenService.saveAccessToken(jwtToken, user.getId(), jwtService.getExpiration());
-
-            // 7. Refresh Token 생성 및 Neon DB에 저장
-            String refreshToken = refreshTokenService.createAndSaveRefreshToken(user);
-
-            // HttpOnly 쿠키로 Refresh Token 설정
-            refreshTokenService.setRefreshTokenCookie(httpResponse, refreshToken);
-
-            // 7. 프론트엔드로 리다이렉트 (Access Token은 URL 파라미터로)
-            return createRedirectResponse(frontendCallbackUrl, jwtToken, null);
-
-        } catch (Exception e) {
-            // 에러 로깅
-            System.err.println("ERROR: 콜백 처리 중 예외 발생: " + e.getMessage());
-            e.printStackTrace();
-
-            // 에러 발생 시 프론트엔드로 리다이렉트
-            return createRedirectResponse(frontendCallbackUrl, null, "login_failed");
-        }
+    // 토큰 교환 → 사용자 정보 조회 → DB Upsert + 토큰 발급은 OAuthCallbackEngine이 처리
+    // (Provider별 동시 처리 한도, 단계별 메트릭)
+    // 타임아웃: 토큰 교환/사용자 정보 조회는 KakaoOAuthService (app.oauth.timeout.token-ms / user-info-ms),
+    // 저장은 DB 트랜잭션 타임아웃 (app.oauth.timeout.persist-tx-seconds)
+    private Mono<ResponseEntity<Void>> processCallback(String code) {
+        return callbackEngine.login("kakao", code)
+                .map(tokens -> {
+                    // HttpOnly 쿠키로 Refresh Token 설정 + 프론트엔드로 리다이렉트 (Access Token은 URL 파라미터로)
+                    ResponseEntity<Void> redirect = createRedirectResponse(frontendCallbackUrl, tokens.accessToken(), null);
+                    return ResponseEntity.status(redirect.getStatusCode())
+                            .headers(redirect.getHeaders())
+                            .header(HttpHeaders.SET_COOKIE, refreshTokenService.buildRefreshTokenCookie(tokens.refreshToken()))
+                            .<Void>build();
+                })
+                .onErrorResume(e -> {
+                    // 에러 로깅 (타임아웃, 동시 처리 한도 초과 포함)
+                    System.err.println("ERROR: 콜백 처리 중 예외 발생: " + e.getMessage());
+                    e.printStackTrace();
+
+                    // 에러 발생 시 프론트엔드로 리다이렉트
+                    return Mono.just(createRedirectResponse(frontendCallbackUrl, null, "login_failed"));
+                });
     }
 
     // 안전한 리다이렉트 응답 생성
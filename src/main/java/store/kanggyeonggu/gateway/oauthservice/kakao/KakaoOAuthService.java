@@ -1,5 +1,6 @@
 package store.kanggyeonggu.gateway.oauthservice.kakao;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -7,14 +8,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthTimeoutProperties;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProfile;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProvider;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthTokens;
 
 import java.util.Map;
 
-// 카카오 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용)
+// 카카오 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용, 전용 커넥션 풀)
 @Service
-public class KakaoOAuthService {
+public class KakaoOAuthService implements OAuthProvider {
 
     private final WebClient webClient;
+    private final OAuthTimeoutProperties timeouts;
 
     @Value("${kakao.rest-api-key}")
     private String kakaoRestApiKey;
@@ -25,14 +32,50 @@ public class KakaoOAuthService {
     @Value("${kakao.client-secret:}")
     private String kakaoClientSecret;
 
-    public KakaoOAuthService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    // 토큰/사용자 정보 엔드포인트 (loadtest 프로파일에서는 로컬 시뮬레이터로 교체)
+    @Value("${kakao.token-uri}")
+    private String kakaoTokenUri;
+
+    @Value("${kakao.user-info-uri}")
+    private String kakaoUserInfoUri;
+
+    public KakaoOAuthService(
+            @Qualifier("kakaoWebClient") WebClient webClient,
+            OAuthTimeoutProperties timeouts) {
+        this.webClient = webClient;
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public String name() {
+        return "kakao";
+    }
+
+    @Override
+    public Mono<OAuthTokens> exchangeCode(String authorizationCode) {
+        return requestAccessToken(authorizationCode)
+                .map(tokenResponse -> OAuthTokens.of(tokenResponse.getAccessToken()));
+    }
+
+    @Override
+    public Mono<OAuthProfile> fetchProfile(OAuthTokens tokens) {
+        return requestUserInfo(tokens.accessToken()).map(this::toProfile);
     }
 
-    // 카카오 인가 코드로 액세스 토큰 요청 (동기 방식)
-    public KakaoTokenResponse getAccessToken(String authorizationCode) {
-        String tokenUrl = "https://kauth.kakao.com/oauth/token";
+    // 카카오 사용자 정보 → 공통 프로필 정규화
+    public OAuthProfile toProfile(KakaoUserInfo userInfo) {
+        KakaoUserInfo.KakaoAccount kakaoAccount = userInfo.getKakaoAccount();
+        KakaoUserInfo.Profile profile = kakaoAccount != null ? kakaoAccount.getProfile() : null;
+
+        String nickname = profile != null && profile.getNickname() != null ? profile.getNickname() : "사용자";
+        String profileImageUrl = profile != null ? profile.getProfileImageUrl() : null;
+
+        // 카카오는 이름을 제공하지 않음
+        return new OAuthProfile(name(), String.valueOf(userInfo.getId()), nickname, null, profileImageUrl);
+    }
 
+    // 카카오 인가 코드로 액세스 토큰 요청 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<KakaoTokenResponse> requestAccessToken(String authorizationCode) {
         MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
         body.add("grant_type", "authorization_code");
         body.add("client_id", kakaoRestApiKey);
@@ -44,24 +87,22 @@ public class KakaoOAuthService {
         }
 
         return webClient.post()
-                .uri(tokenUrl)
+                .uri(kakaoTokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(KakaoTokenResponse.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.token());
     }
 
-    // 액세스 토큰으로 카카오 사용자 정보 조회 (동기 방식)
-    public KakaoUserInfo getUserInfo(String accessToken) {
-        String userInfoUrl = "https://kapi.kakao.com/v2/user/me";
-
+    // 액세스 토큰으로 카카오 사용자 정보 조회 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<KakaoUserInfo> requestUserInfo(String accessToken) {
         return webClient.get()
-                .uri(userInfoUrl)
+                .uri(kakaoUserInfoUri)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
                 .bodyToMono(KakaoUserInfo.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.userInfo());
     }
 
     // 카카오 로그아웃 (동기 방식)
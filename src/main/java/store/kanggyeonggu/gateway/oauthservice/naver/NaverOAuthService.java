@@ -1,5 +1,6 @@
 package store.kanggyeonggu.gateway.oauthservice.naver;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -7,14 +8,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthTimeoutProperties;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProfile;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProvider;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthTokens;
 
 import java.util.Map;
 
-// 네이버 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용)
+// 네이버 OAuth2 API 호출 서비스 (WebClient를 HTTP 클라이언트로만 사용, 전용 커넥션 풀)
 @Service
-public class NaverOAuthService {
+public class NaverOAuthService implements OAuthProvider {
 
     private final WebClient webClient;
+    private final OAuthTimeoutProperties timeouts;
 
     @Value("${naver.client-id}")
     private String naverClientId;
@@ -25,14 +32,51 @@ public class NaverOAuthService {
     @Value("${naver.redirect-uri}")
     private String naverRedirectUri;
 
-    public NaverOAuthService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    // 토큰/사용자 정보 엔드포인트 (loadtest 프로파일에서는 로컬 시뮬레이터로 교체)
+    @Value("${naver.token-uri}")
+    private String naverTokenUri;
+
+    @Value("${naver.user-info-uri}")
+    private String naverUserInfoUri;
+
+    public NaverOAuthService(
+            @Qualifier("naverWebClient") WebClient webClient,
+            OAuthTimeoutProperties timeouts) {
+        this.webClient = webClient;
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public String name() {
+        return "naver";
+    }
+
+    @Override
+    public Mono<OAuthTokens> exchangeCode(String authorizationCode) {
+        return requestAccessToken(authorizationCode)
+                .map(tokenResponse -> OAuthTokens.of(tokenResponse.getAccessToken()));
+    }
+
+    @Override
+    public Mono<OAuthProfile> fetchProfile(OAuthTokens tokens) {
+        return requestUserInfo(tokens.accessToken()).map(this::toProfile);
     }
 
-    // 네이버 인가 코드로 액세스 토큰 요청 (동기 방식)
-    public NaverTokenResponse getAccessToken(String authorizationCode) {
-        String tokenUrl = "https://nid.naver.com/oauth2.0/token";
+    // 네이버 사용자 정보 → 공통 프로필 정규화
+    public OAuthProfile toProfile(NaverUserInfo userInfo) {
+        NaverUserInfo.Response response = userInfo.getResponse();
+        if (response == null) {
+            throw new IllegalStateException("네이버 사용자 정보 응답이 비어 있습니다: " + userInfo.getMessage());
+        }
+
+        String nickname = response.getNickname() != null ? response.getNickname() : "사용자";
+        String name = response.getName() != null ? response.getName() : nickname;
+
+        return new OAuthProfile(name(), response.getId(), nickname, name, response.getProfile_image());
+    }
 
+    // 네이버 인가 코드로 액세스 토큰 요청 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<NaverTokenResponse> requestAccessToken(String authorizationCode) {
         MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
         body.add("grant_type", "authorization_code");
         body.add("client_id", naverClientId);
@@ -41,24 +85,22 @@ public class NaverOAuthService {
         body.add("code", authorizationCode);
 
         return webClient.post()
-                .uri(tokenUrl)
+                .uri(naverTokenUri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(NaverTokenResponse.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.token());
     }
 
-    // 액세스 토큰으로 네이버 사용자 정보 조회 (동기 방식)
-    public NaverUserInfo getUserInfo(String accessToken) {
-        String userInfoUrl = "https://openapi.naver.com/v1/nid/me";
-
+    // 액세스 토큰으로 네이버 사용자 정보 조회 (비동기 방식, 단계 타임아웃 적용)
+    public Mono<NaverUserInfo> requestUserInfo(String accessToken) {
         return webClient.get()
-                .uri(userInfoUrl)
+                .uri(naverUserInfoUri)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
                 .bodyToMono(NaverUserInfo.class)
-                .block(); // 동기 방식으로 변환
+                .timeout(timeouts.userInfo());
     }
 
     // 네이버 로그아웃 (동기 방식)
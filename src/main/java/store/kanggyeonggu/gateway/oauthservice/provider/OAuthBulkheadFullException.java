@@ -0,0 +1,11 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+/**
+ * Provider별 동시 콜백 처리 한도 초과 (대기하지 않고 즉시 실패)
+ */
+public class OAuthBulkheadFullException extends RuntimeException {
+
+    public OAuthBulkheadFullException(String provider, int maxConcurrent) {
+        super("OAuth 콜백 동시 처리 한도 초과: provider=" + provider + ", maxConcurrent=" + maxConcurrent);
+    }
+}
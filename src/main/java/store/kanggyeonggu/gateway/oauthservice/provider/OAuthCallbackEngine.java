@@ -0,0 +1,242 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthBulkheadProperties;
+import store.kanggyeonggu.gateway.oauthservice.service.OAuthLoginService;
+import store.kanggyeonggu.gateway.oauthservice.service.OAuthLoginService.LoginTokens;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * OAuth 콜백 처리 엔진 (모든 Provider 공통)
+ *
+ * 흐름:
+ * 1. exchange : 인가 코드 → 토큰 (OAuthProvider)
+ * 2. profile : 사용자 정보 조회 + 정규화 (OAuthProvider)
+ * 3. persist : 사용자 저장 + 토큰 발급 (가상 스레드)
+ *    Reactor 타임아웃 없음: 구독만 취소되고 저장은 계속 실행되어 커밋된 사용자/토큰이 남기 때문
+ *    → DB 트랜잭션 타임아웃 (app.oauth.timeout.persist-tx-seconds, 초과 시 롤백) 과
+ *      커넥션 풀 / Redis 명령 타임아웃으로 제한, 응답은 실제 저장 결과를 따름
+ *
+ * 기능:
+ * - Provider별 bulkhead: 동시 처리 한도 초과 시 대기 없이 즉시 실패 (OAuthBulkheadFullException)
+ *   persist가 시작되면 구독이 취소돼도 (비동기 요청 타임아웃, 클라이언트 연결 끊김) 저장이 끝날 때까지 한도를 점유
+ * - 단계별 지연 메트릭
+ *
+ * 메트릭:
+ * - oauth.callback.stage{provider,stage,outcome} : 단계별 소요 시간 (stage=exchange|profile|persist|total)
+ *   outcome=timeout : Reactor/HTTP 타임아웃, DB 트랜잭션/쿼리 타임아웃
+ * - oauth.callback.inflight{provider} : 처리 중인 콜백 수
+ * - oauth.callback.rejected{provider} : bulkhead 한도 초과로 거절된 콜백 수
+ */
+@Slf4j
+@Component
+public class OAuthCallbackEngine {
+
+    private final Map<String, OAuthProvider> providers = new HashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    private final OAuthLoginService loginService;
+    private final IoExecutor ioExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public OAuthCallbackEngine(
+            List<OAuthProvider> oauthProviders,
+            OAuthLoginService loginService,
+            IoExecutor ioExecutor,
+            OAuthBulkheadProperties bulkheadProperties,
+            MeterRegistry meterRegistry) {
+        this.loginService = loginService;
+        this.ioExecutor = ioExecutor;
+        this.meterRegistry = meterRegistry;
+
+        for (OAuthProvider provider : oauthProviders) {
+            String name = provider.name();
+            providers.put(name, provider);
+            bulkheads.put(name, new Bulkhead(name, bulkheadProperties.maxConcurrentFor(name), meterRegistry));
+        }
+    }
+
+    /**
+     * 콜백 처리 후 로그인 완료 (사용자 Upsert + Access/Refresh Token 발급)
+     */
+    public Mono<LoginTokens> login(String providerName, String authorizationCode) {
+        return process(providerName, authorizationCode, profile -> loginService.completeLogin(profile));
+    }
+
+    /**
+     * 콜백 처리 후 정규화된 프로필을 호출자가 지정한 방식으로 저장
+     *
+     * @param persister 블로킹 저장 로직 (가상 스레드에서 실행)
+     */
+    public <T> Mono<T> process(
+            String providerName,
+            String authorizationCode,
+            Function<OAuthProfile, T> persister) {
+        OAuthProvider provider = providers.get(providerName);
+        if (provider == null) {
+            return Mono.error(new IllegalArgumentException("지원하지 않는 OAuth Provider: " + providerName));
+        }
+        Bulkhead bulkhead = bulkheads.get(providerName);
+
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                log.warn("⚠️ OAuth 콜백 거절 (동시 처리 한도 초과): provider={}", providerName);
+                return Mono.error(new OAuthBulkheadFullException(providerName, bulkhead.maxConcurrent));
+            }
+
+            Permit permit = new Permit(bulkhead);
+
+            Mono<T> pipeline = timed(providerName, "exchange", provider.exchangeCode(authorizationCode))
+                    .flatMap(tokens -> timed(providerName, "profile", provider.fetchProfile(tokens)))
+                    .flatMap(profile -> timed(providerName, "persist", persist(permit, profile, persister)));
+
+            // persist 시작 전에 끝나면 (성공 없이 실패/취소) 여기서 반환, 시작 후에는 저장 완료 시 반환
+            return timed(providerName, "total", pipeline)
+                    .doFinally(signal -> permit.releaseIfHeld());
+        });
+    }
+
+    /**
+     * 저장 단계 (가상 스레드)
+     *
+     * 저장은 인터럽트되지 않으므로 구독 취소와 상관없이 저장 작업이 끝날 때 한도를 반환
+     */
+    private <T> Mono<T> persist(Permit permit, OAuthProfile profile, Function<OAuthProfile, T> persister) {
+        if (!permit.handOff()) {
+            // 이미 취소되어 한도를 반환한 경우 저장을 시작하지 않음
+            return Mono.empty();
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = ioExecutor.supply(() -> persister.apply(profile));
+        } catch (RuntimeException e) {
+            // 작업 제출 실패 (종료 중 등)
+            permit.release();
+            return Mono.error(e);
+        }
+        future.whenComplete((value, e) -> permit.release());
+
+        // suppressCancel: 구독 취소가 future를 취소 완료시켜 한도를 먼저 반환하지 않도록
+        return Mono.fromFuture(future, true);
+    }
+
+    private <T> Mono<T> timed(String providerName, String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(value -> stop(sample, providerName, stage, "success"))
+                    .doOnError(e -> stop(sample, providerName, stage, isTimeout(e) ? "timeout" : "error"));
+        });
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void stop(Timer.Sample sample, String providerName, String stage, String outcome) {
+        sample.stop(Timer.builder("oauth.callback.stage")
+                .tag("provider", providerName)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .description("OAuth 콜백 단계별 소요 시간")
+                .register(meterRegistry));
+    }
+
+    /**
+     * 콜백 하나가 잡은 bulkhead 한도 (정확히 한 번 반환)
+     *
+     * HELD → PERSISTING (저장 시작, 저장 완료 시 반환) 또는 HELD → RELEASED (저장 전 종료)
+     */
+    private static final class Permit {
+
+        private static final int HELD = 0;
+        private static final int PERSISTING = 1;
+        private static final int RELEASED = 2;
+
+        private final Bulkhead bulkhead;
+        private final AtomicInteger state = new AtomicInteger(HELD);
+
+        private Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        boolean handOff() {
+            return state.compareAndSet(HELD, PERSISTING);
+        }
+
+        void releaseIfHeld() {
+            if (state.compareAndSet(HELD, RELEASED)) {
+                bulkhead.release();
+            }
+        }
+
+        void release() {
+            if (state.compareAndSet(PERSISTING, RELEASED)) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Provider별 동시 처리 한도 (대기열 없는 세마포어)
+     */
+    private static final class Bulkhead {
+
+        private final int maxConcurrent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter rejected;
+
+        private Bulkhead(String providerName, int maxConcurrent, MeterRegistry meterRegistry) {
+            this.maxConcurrent = maxConcurrent;
+            this.rejected = Counter.builder("oauth.callback.rejected")
+                    .tag("provider", providerName)
+                    .description("동시 처리 한도 초과로 거절된 OAuth 콜백 수")
+                    .register(meterRegistry);
+            Gauge.builder("oauth.callback.inflight", inFlight, AtomicInteger::get)
+                    .tag("provider", providerName)
+                    .description("처리 중인 OAuth 콜백 수")
+                    .register(meterRegistry);
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxConcurrent) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
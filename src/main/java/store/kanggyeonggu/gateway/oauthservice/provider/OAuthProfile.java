@@ -0,0 +1,18 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+/**
+ * Provider 사용자 정보를 공통 형태로 정규화한 프로필
+ *
+ * @param provider        Provider 이름 (kakao, naver, google)
+ * @param providerId      Provider 내 사용자 고유 ID
+ * @param nickname        별명 (없으면 "사용자")
+ * @param name            이름 (Provider가 제공하지 않으면 null)
+ * @param profileImageUrl 프로필 이미지 URL (없으면 null)
+ */
+public record OAuthProfile(
+        String provider,
+        String providerId,
+        String nickname,
+        String name,
+        String profileImageUrl) {
+}
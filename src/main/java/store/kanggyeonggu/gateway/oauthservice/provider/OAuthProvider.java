@@ -0,0 +1,27 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * OAuth Provider SPI
+ *
+ * 구현체 (카카오/네이버/구글 OAuthService) 는 Provider별 HTTP 호출과 응답 정규화만 담당하고,
+ * 타임아웃 이외의 공통 정책 (동시성 제한, 메트릭, 저장) 은 OAuthCallbackEngine이 적용
+ */
+public interface OAuthProvider {
+
+    /**
+     * Provider 이름 (kakao, naver, google) - 메트릭 태그와 DB provider 컬럼에 사용
+     */
+    String name();
+
+    /**
+     * 인가 코드 → 토큰 교환
+     */
+    Mono<OAuthTokens> exchangeCode(String authorizationCode);
+
+    /**
+     * 토큰으로 사용자 정보 조회 후 공통 프로필로 정규화
+     */
+    Mono<OAuthProfile> fetchProfile(OAuthTokens tokens);
+}
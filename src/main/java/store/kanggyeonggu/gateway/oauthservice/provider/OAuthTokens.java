@@ -0,0 +1,14 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+/**
+ * 인가 코드 교환 결과 (Provider 공통)
+ *
+ * @param accessToken Provider 액세스 토큰
+ * @param idToken     OpenID Connect ID Token (지원하는 Provider만, 없으면 null)
+ */
+public record OAuthTokens(String accessToken, String idToken) {
+
+    public static OAuthTokens of(String accessToken) {
+        return new OAuthTokens(accessToken, null);
+    }
+}
@@ -0,0 +1,89 @@
+package store.kanggyeonggu.gateway.oauthservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.jwt.AccessTokenService;
+import store.kanggyeonggu.gateway.jwt.JwtService;
+import store.kanggyeonggu.gateway.jwt.RefreshTokenService;
+import store.kanggyeonggu.gateway.oauthservice.provider.OAuthProfile;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OAuth 로그인 완료 처리 서비스 (카카오/네이버/구글 공통)
+ *
+ * Provider에서 사용자 정보를 받은 뒤의 블로킹 단계를 담당:
+ * 1. 사용자 Upsert (Neon DB + Upstash Redis)
+ * 2. JWT Access Token 발급
+ * 3. Access Token 저장 (Upstash Redis) ∥ Refresh Token 생성 (Neon DB)
+ * 4. 부가 쓰기 (Redis 사용자 캐시, last_login_at) 는 PostLoginQueue에 넘기고 바로 반환
+ *
+ * 비동기 콜백 파이프라인 (OAuthCallbackEngine) 에서는 가상 스레드 위에서 실행되어
+ * 서블릿 스레드나 Netty 이벤트 루프를 점유하지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OAuthLoginService {
+
+    private final OAuthUserService userService;
+    private final JwtService jwtService;
+    private final AccessTokenService accessTokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final IoExecutor ioExecutor;
+    private final PostLoginQueue postLoginQueue;
+
+    /**
+     * 로그인 완료 결과
+     *
+     * @param accessToken  JWT Access Token (프론트엔드 리다이렉트 URL 파라미터)
+     * @param refreshToken Refresh Token (HttpOnly 쿠키)
+     */
+    public record LoginTokens(String accessToken, String refreshToken) {
+    }
+
+    /**
+     * 로그인 완료 처리 (정규화된 Provider 프로필)
+     */
+    public LoginTokens completeLogin(OAuthProfile profile) {
+        return completeLogin(
+                profile.provider(),
+                profile.providerId(),
+                profile.nickname(),
+                profile.name(),
+                profile.profileImageUrl());
+    }
+
+    /**
+     * 로그인 완료 처리 (동기 방식)
+     */
+    public LoginTokens completeLogin(
+            String provider,
+            String providerId,
+            String nickname,
+            String name,
+            String profileImageUrl) {
+        // 1. DB Upsert (단일 SQL)
+        User user = userService.upsertUser(provider, providerId, nickname, name, profileImageUrl);
+
+        // 2. JWT Access Token 생성 (DB에 저장된 user.id 사용)
+        String jwtToken = jwtService.generateToken(user.getId(), user.getNickname());
+        log.info("✅ JWT Access Token 생성 완료: userId={}", user.getId());
+
+        // 3. Access Token 저장 (Upstash) ∥ Refresh Token 생성 및 저장 (Neon DB)
+        CompletableFuture<Void> accessTokenSave = ioExecutor.run(
+                () -> accessTokenService.saveAccessToken(jwtToken, user.getId(), jwtService.getExpiration()));
+        CompletableFuture<String> refreshTokenSave = ioExecutor.supply(
+                () -> refreshTokenService.createAndSaveRefreshToken(user));
+
+        IoExecutor.joinAll(accessTokenSave, refreshTokenSave);
+
+        // 4. Redis 사용자 캐시, last_login_at 갱신 (비동기 배치)
+        postLoginQueue.submit(user, null);
+
+        return new LoginTokens(jwtToken, refreshTokenSave.join());
+    }
+}
@@ -2,21 +2,25 @@ package store.kanggyeonggu.gateway.oauthservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.cache.UserCounters;
 import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.repository.OAuthUpsertResult;
 import store.kanggyeonggu.gateway.common.repository.UserRepository;
 
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 /**
  * OAuth 사용자 관리 서비스
  * - DB Upsert (생성 또는 업데이트)
- * - Upstash Redis 저장
+ * - 사용자 조회 (UserCache: L1 → Upstash Redis → DB)
  */
 @Slf4j
 @Service
@@ -24,103 +28,69 @@ import java.util.concurrent.TimeUnit;
 public class OAuthUserService {
 
     private final UserRepository userRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final UserCache userCache;
+    private final UserCounters userCounters;
 
     /**
      * OAuth 로그인 시 사용자 정보를 DB와 Redis에 저장
+     * - 단일 SQL Upsert (INSERT ... ON CONFLICT DO UPDATE ... RETURNING)
+     * - 변경 사항이 없으면 UPDATE 생략
+     * - 생성/복구 시 Provider별 활성 사용자 수 증가 (커밋 후)
+     * - 생성/변경 시 사용자 캐시 무효화 (커밋 후, 새 버전을 floor 로)
+     *   네이티브 SQL 이라 UserCacheInvalidationListener 가 호출되지 않고,
+     *   PostLoginQueue 는 가득 차면 작업을 버리므로 캐시 갱신을 큐에만 맡기지 않음
+     * - Redis 캐시 저장, last_login_at 갱신은 호출자가 PostLoginQueue로 넘김
+     *
+     * - 트랜잭션 타임아웃 (persist-tx-seconds): 초과 시 SQL 중단 + 롤백 (로그인 콜백 persist 단계 제한)
+     *
+     * @param name 실명 (없는 Provider는 null → 기존 값 유지, 신규는 별명 사용)
      */
-    @Transactional
-    public User upsertUser(String provider, String providerId, String nickname, String profileImageUrl) {
+    @Transactional(timeoutString = "${app.oauth.timeout.persist-tx-seconds:3}")
+    public User upsertUser(String provider, String providerId, String nickname, String name, String profileImageUrl) {
         log.info("🔄 사용자 Upsert 시작: provider={}, providerId={}", provider, providerId);
 
-        Optional<User> existingUser = userRepository
-                .findByProviderAndProviderIdAndDeletedFalse(provider, providerId);
-
-        User user;
-        if (existingUser.isPresent()) {
-            user = existingUser.get();
-            log.info("✅ 기존 사용자 발견: id={}, nickname={}", user.getId(), user.getNickname());
-
-            user.setNickname(nickname);
-            user.setProfileImageUrl(profileImageUrl);
-            user.setLastLoginAt(LocalDateTime.now());
-
-            log.info("📝 사용자 정보 업데이트 완료");
-        } else {
-            user = User.builder()
-                    .provider(provider)
-                    .providerId(providerId)
-                    .nickname(nickname)
-                    .profileImageUrl(profileImageUrl)
-                    .enabled(true)
-                    .deleted(false)
-                    .build();
+        OAuthUpsertResult result = userRepository.upsertOAuthUser(provider, providerId, nickname, name, profileImageUrl);
+        User user = result.user();
+        log.info("💾 Neon DB Upsert 완료: id={}, created={}, restored={}", user.getId(), result.created(), result.restored());
 
-            log.info("🆕 신규 사용자 생성");
+        if (result.activated()) {
+            userCounters.adjustProvider(user.getProvider(), 1);
         }
-
-        user = userRepository.save(user);
-        log.info("💾 Neon DB 저장 완료: id={}", user.getId());
-
-        saveToRedis(user);
-
-        return user;
-    }
-
-    private void saveToRedis(User user) {
-        try {
-            String key = "user:" + user.getId();
-            redisTemplate.opsForValue().set(key, user);
-            redisTemplate.expire(key, 24, TimeUnit.HOURS);
-            log.info("✅ Upstash Redis 저장 완료: key={}", key);
-        } catch (Exception e) {
-            log.error("❌ Redis 저장 실패: {}", e.getMessage(), e);
+        if (result.changed()) {
+            userCache.evict(user.getId(), user.getVersion() != null ? user.getVersion() : -1);
         }
+        return user;
     }
 
-    public Optional<User> getUserFromRedis(Long userId) {
-        try {
-            String key = "user:" + userId;
-            Object value = redisTemplate.opsForValue().get(key);
-
-            if (value instanceof User) {
-                log.info("✅ Redis에서 사용자 조회 성공: userId={}", userId);
-                return Optional.of((User) value);
-            }
-
-            log.info("⚠️ Redis에 사용자 없음: userId={}", userId);
-            return Optional.empty();
-        } catch (Exception e) {
-            log.error("❌ Redis 조회 실패: {}", e.getMessage(), e);
-            return Optional.empty();
-        }
+    /**
+     * last_login_at 일괄 갱신 (로그인 후속 작업 배치)
+     * - staleBefore 이후에 이미 갱신된 사용자는 건너뜀
+     *
+     * @return 갱신된 사용자 ID → 갱신 후 버전
+     */
+    @Transactional
+    public Map<Long, Long> touchLastLogin(Collection<Long> userIds, LocalDateTime loginAt, LocalDateTime staleBefore) {
+        return userRepository.touchLastLogin(userIds, loginAt, staleBefore);
     }
 
-    public void deleteFromRedis(Long userId) {
-        try {
-            String key = "user:" + userId;
-            redisTemplate.delete(key);
-            log.info("✅ Redis에서 사용자 삭제 완료: userId={}", userId);
-        } catch (Exception e) {
-            log.error("❌ Redis 삭제 실패: {}", e.getMessage(), e);
-        }
+    /**
+     * 사용자 조회 (L1 → Redis → DB, UserCache)
+     */
+    public Optional<CachedUser> getUser(Long userId) {
+        return userCache.get(userId);
     }
 
-    public Optional<User> getUserFromDB(Long userId) {
-        return userRepository.findById(userId);
+    /**
+     * 사용자 필드 일부 조회 (L1 → Redis HMGET → DB, UserCache)
+     */
+    public Optional<Map<String, String>> getUserFields(Long userId, String... fields) {
+        return userCache.getFields(userId, fields);
     }
 
-    public Optional<User> getUser(Long userId) {
-        Optional<User> userFromRedis = getUserFromRedis(userId);
-        if (userFromRedis.isPresent()) {
-            return userFromRedis;
-        }
-
-        Optional<User> userFromDB = getUserFromDB(userId);
-        if (userFromDB.isPresent()) {
-            saveToRedis(userFromDB.get());
-        }
-
-        return userFromDB;
+    /**
+     * 사용자 캐시 무효화 (모든 인스턴스)
+     */
+    public void deleteFromRedis(Long userId) {
+        userCache.evict(userId);
     }
 }
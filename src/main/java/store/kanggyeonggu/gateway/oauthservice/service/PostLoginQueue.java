@@ -0,0 +1,292 @@
+package store.kanggyeonggu.gateway.oauthservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+import store.kanggyeonggu.gateway.oauthservice.config.PostLoginQueueProperties;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 후속 작업 큐 (비동기, 배치 처리)
+ *
+ * JWT 발급 이후의 부가 쓰기를 요청 스레드에서 분리해
+ * 리다이렉트 지연이 핵심 경로 (사용자 Upsert + 토큰 발급) 에만 의존하도록 함
+ *
+ * 처리 작업 (배치 단위):
+ * - last_login_at 갱신 (UPDATE ... WHERE id IN (...) RETURNING 한 번, 갱신된 행의 새 버전)
+ *   배치 내 가장 늦은 로그인 시각을 모든 사용자에 적용하는 근사 (의도된 동작)
+ *   → 배치 간격만큼 늦게 기록될 수 있으나 last-login-granularity-ms 단위로만 갱신하는 값이라 허용
+ * - 사용자 캐시 갱신 (UserCache: L1 + L2 파이프라인, 다른 인스턴스 L1 무효화)
+ *   스냅샷은 갱신 후 버전/시각으로 맞춰 저장 (조건부 GET의 ETag 가 DB 행 버전과 일치)
+ * - /oauth2 콜백 세션 키 저장 (jwt:user:{id}, user:info:{id}, 파이프라인)
+ *
+ * 기능:
+ * - 고정 크기 큐: 가득 차면 대기 없이 버림 (요청 스레드를 막지 않음)
+ *   버려져도 사용자 캐시는 낡지 않음 (Upsert 가 행을 바꾸면 OAuthUserService 가 커밋 후 무효화), last_login_at 만 다음 로그인까지 늦어짐
+ * - 단일 워커 (가상 스레드) 가 쌓인 작업을 batch-size 단위로 꺼내 처리
+ * - 종료 시 남은 작업 처리 (shutdown-timeout-ms 까지)
+ *
+ * 메트릭:
+ * - login.post_login.queue.size : 대기 중인 작업 수
+ * - login.post_login.events{outcome, reason} : enqueued | dropped | failed
+ *   dropped 의 reason: queue_full (큐 가득 참) | shutdown (종료 중 등록), 그 외 none
+ * - login.post_login.batch : 배치 처리 시간
+ * - login.post_login.batch.size : 배치당 작업 수
+ */
+@Slf4j
+@Component
+public class PostLoginQueue implements InitializingBean, DisposableBean {
+
+    private static final String JWT_USER_PREFIX = "jwt:user:";
+    private static final String USER_INFO_PREFIX = "user:info:";
+
+    /**
+     * 로그인 후속 작업
+     *
+     * @param user     로그인한 사용자 스냅샷 (Upsert 결과, 엔티티를 스레드 간에 넘기지 않음)
+     * @param loginAt  로그인 시각
+     * @param jwtToken /oauth2 콜백 세션 키용 JWT (해당 경로만, 없으면 null)
+     */
+    public record PostLoginEvent(CachedUser user, LocalDateTime loginAt, String jwtToken) {
+    }
+
+    private final OAuthUserService userService;
+    private final UserCache userCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PostLoginQueueProperties properties;
+    private final KeyspaceStats keyspaceStats;
+    private final BlockingQueue<PostLoginEvent> queue;
+
+    private final Counter enqueued;
+    private final Counter droppedQueueFull;
+    private final Counter droppedShutdown;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+
+    @Value("${jwt.expiration:86400000}")
+    private long jwtExpiration; // JWT 만료 시간 (밀리초)
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public PostLoginQueue(
+            OAuthUserService userService,
+            UserCache userCache,
+            RedisTemplate<String, Object> redisTemplate,
+            PostLoginQueueProperties properties,
+            KeyspaceStats keyspaceStats,
+            MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.userCache = userCache;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.keyspaceStats = keyspaceStats;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        Gauge.builder("login.post_login.queue.size", queue, BlockingQueue::size)
+                .description("대기 중인 로그인 후속 작업 수")
+                .register(meterRegistry);
+        this.enqueued = eventCounter(meterRegistry, "enqueued", "none");
+        this.droppedQueueFull = eventCounter(meterRegistry, "dropped", "queue_full");
+        this.droppedShutdown = eventCounter(meterRegistry, "dropped", "shutdown");
+        this.failed = eventCounter(meterRegistry, "failed", "none");
+        this.batchTimer = Timer.builder("login.post_login.batch")
+                .description("로그인 후속 작업 배치 처리 시간")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("login.post_login.batch.size")
+                .description("배치당 로그인 후속 작업 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome, String reason) {
+        return Counter.builder("login.post_login.events")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .description("로그인 후속 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로그인 후속 작업 등록 (대기 없음)
+     *
+     * @return 큐가 가득 찼거나 종료 중이라 버려졌으면 false
+     */
+    public boolean submit(User user, String jwtToken) {
+        if (!running) {
+            droppedShutdown.increment();
+            log.warn("⚠️ 로그인 후속 작업 버림 (종료 중): userId={}", user.getId());
+            return false;
+        }
+
+        PostLoginEvent event = new PostLoginEvent(CachedUser.from(user), LocalDateTime.now(), jwtToken);
+        if (queue.offer(event)) {
+            enqueued.increment();
+            return true;
+        }
+
+        droppedQueueFull.increment();
+        log.warn("⚠️ 로그인 후속 작업 버림 (큐 가득 참): userId={}, queueSize={}", user.getId(), queue.size());
+        return false;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        worker = Thread.ofVirtual().name("post-login-worker").start(this::drainLoop);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(Duration.ofMillis(properties.getShutdownTimeoutMs()));
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("⚠️ 로그인 후속 작업 종료 시간 초과: 남은 작업={}", queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<PostLoginEvent> batch = new ArrayList<>(properties.getBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PostLoginEvent first = queue.poll(properties.getPollTimeoutMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+
+                batchSizes.record(batch.size());
+                batchTimer.record(() -> process(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PostLoginEvent> batch) {
+        // 같은 사용자가 여러 번 로그인했으면 마지막 상태만 반영
+        // loginAt 은 배치 내 최댓값 하나를 모든 사용자에 적용 (사용자별 시각 대신 의도된 근사, 클래스 설명 참고)
+        Map<Long, CachedUser> users = new LinkedHashMap<>();
+        Map<Long, String> jwtTokens = new HashMap<>();
+        LocalDateTime loginAt = batch.get(0).loginAt();
+
+        for (PostLoginEvent event : batch) {
+            users.put(event.user().id(), event.user());
+            if (event.jwtToken() != null) {
+                jwtTokens.put(event.user().id(), event.jwtToken());
+            }
+            if (event.loginAt().isAfter(loginAt)) {
+                loginAt = event.loginAt();
+            }
+        }
+
+        // 1. last_login_at 일괄 갱신 (UPDATE ... RETURNING 1회) → 갱신된 사용자의 새 버전
+        Map<Long, Long> touched = Map.of();
+        try {
+            touched = userService.touchLastLogin(users.keySet(), loginAt,
+                    loginAt.minus(Duration.ofMillis(properties.getLastLoginGranularityMs())));
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("❌ 로그인 후속 작업 last_login_at 갱신 실패: users={}, {}", users.size(), e.getMessage());
+        }
+
+        // 2. 사용자 캐시 + 세션 키 (각각 파이프라인 1회)
+        try {
+            Map<Long, Long> stale = new HashMap<>();
+            userCache.putAll(snapshots(users, touched, loginAt, stale));
+            stale.forEach(userCache::evict);
+            writeSessionKeys(users, jwtTokens);
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("❌ 로그인 후속 작업 Redis 저장 실패: users={}, {}", users.size(), e.getMessage());
+            // 버전이 오른 사용자는 무효화로 대체 (이전 버전 스냅샷이 ETag 로 쓰이지 않도록, L1은 Redis 장애와 무관하게 제거)
+            touched.forEach(userCache::evict);
+        }
+    }
+
+    // 캐시에 저장할 스냅샷: 갱신된 사용자는 DB와 같은 버전/시각으로 맞춤
+    // Upsert ~ 갱신 사이에 다른 변경 (프로필 수정 등) 이 있었으면 (버전 차이 > 1) 스냅샷이 낡았으므로 stale 로 분리
+    private static List<CachedUser> snapshots(
+            Map<Long, CachedUser> users, Map<Long, Long> touched, LocalDateTime loginAt, Map<Long, Long> stale) {
+        List<CachedUser> snapshots = new ArrayList<>(users.size());
+        for (CachedUser user : users.values()) {
+            Long version = touched.get(user.id());
+            if (version == null) {
+                snapshots.add(user);
+            } else if (version == user.version() + 1) {
+                snapshots.add(user.touched(loginAt, version));
+            } else {
+                stale.put(user.id(), version);
+            }
+        }
+        return snapshots;
+    }
+
+    private void writeSessionKeys(Map<Long, CachedUser> users, Map<Long, String> jwtTokens) {
+        if (jwtTokens.isEmpty()) {
+            return;
+        }
+        Duration sessionTtl = Duration.ofMillis(jwtExpiration);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+
+                jwtTokens.forEach((userId, jwtToken) -> {
+                    ops.opsForValue().set(JWT_USER_PREFIX + userId, jwtToken, sessionTtl);
+                    ops.opsForValue().set(USER_INFO_PREFIX + userId, userInfo(users.get(userId)), sessionTtl);
+                });
+                return null;
+            }
+        });
+
+        jwtTokens.keySet().forEach(userId -> {
+            keyspaceStats.recordWrite(JWT_USER_PREFIX + userId);
+            keyspaceStats.recordWrite(USER_INFO_PREFIX + userId);
+        });
+    }
+
+    // 사용자 정보 (확인용, /oauth2 콜백 경로)
+    private Map<String, Object> userInfo(CachedUser user) {
+        Map<String, Object> userInfo = new HashMap<>();
+        userInfo.put("id", user.id());
+        userInfo.put("nickname", user.nickname() != null ? user.nickname() : "");
+        userInfo.put("provider", user.provider());
+        userInfo.put("providerId", user.providerId());
+        if (user.profileImageUrl() != null) {
+            userInfo.put("profileImageUrl", user.profileImageUrl());
+        }
+        return userInfo;
+    }
+}
@@ -0,0 +1,167 @@
+package store.kanggyeonggu.gateway.oauthservice.simulator;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * OAuth Provider 시뮬레이터 (loadtest 프로파일 전용)
+ *
+ * 실제 카카오/네이버/구글 대신 같은 응답 형식의 토큰/사용자 정보 엔드포인트를 제공해
+ * 외부 호출 없이 로그인 흐름 전체를 부하 테스트할 수 있도록 함
+ *
+ * 엔드포인트:
+ * - POST /sim/{provider}/token    : 인가 코드 → 액세스 토큰 (code=user-{n})
+ * - GET  /sim/{provider}/userinfo : 액세스 토큰 → 사용자 정보
+ *
+ * 동작 (app.oauth-simulator.*):
+ * - 응답 지연 (latency-ms + 0~latency-jitter-ms), 서블릿 스레드를 점유하지 않음
+ * - error-rate 비율로 503 응답
+ * - 사용자 수 (user-population) 범위 안에서 같은 코드는 항상 같은 사용자로 매핑
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/sim")
+public class OAuthProviderSimulatorController {
+
+    private static final String TOKEN_PREFIX = "sim-";
+
+    private final OAuthSimulatorProperties properties;
+
+    public OAuthProviderSimulatorController(OAuthSimulatorProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostMapping("/{provider}/token")
+    public Mono<ResponseEntity<Map<String, Object>>> token(
+            @PathVariable String provider,
+            @RequestParam(required = false) String code) {
+        OAuthSimulatorProperties.Behavior behavior = properties.behaviorFor(provider);
+        if (code == null) {
+            return respond(behavior, ResponseEntity.badRequest().body(Map.of("error", "invalid_request")));
+        }
+
+        int userIndex = userIndex(code, behavior.getUserPopulation());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("access_token", TOKEN_PREFIX + provider + "-" + userIndex);
+        body.put("token_type", "bearer");
+        body.put("expires_in", 21599);
+
+        return respond(behavior, ResponseEntity.ok(body));
+    }
+
+    @GetMapping("/{provider}/userinfo")
+    public Mono<ResponseEntity<Map<String, Object>>> userInfo(
+            @PathVariable String provider,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        OAuthSimulatorProperties.Behavior behavior = properties.behaviorFor(provider);
+
+        String expectedPrefix = "Bearer " + TOKEN_PREFIX + provider + "-";
+        if (authorization == null || !authorization.startsWith(expectedPrefix)) {
+            return respond(behavior, ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "invalid_token")));
+        }
+
+        int userIndex;
+        try {
+            userIndex = Integer.parseInt(authorization.substring(expectedPrefix.length()));
+        } catch (NumberFormatException e) {
+            return respond(behavior, ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "invalid_token")));
+        }
+
+        Map<String, Object> body = switch (provider) {
+            case "kakao" -> kakaoUser(userIndex);
+            case "naver" -> naverUser(userIndex);
+            case "google" -> googleUser(userIndex);
+            default -> null;
+        };
+        if (body == null) {
+            return respond(behavior, ResponseEntity.notFound().build());
+        }
+
+        return respond(behavior, ResponseEntity.ok(body));
+    }
+
+    // ========================================
+    // Provider별 사용자 정보 응답 형식
+    // ========================================
+
+    private Map<String, Object> kakaoUser(int userIndex) {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("nickname", "sim-kakao-" + userIndex);
+        profile.put("profile_image_url", "https://example.com/sim/kakao/" + userIndex + ".png");
+
+        return Map.of(
+                "id", 1_000_000_000L + userIndex,
+                "kakao_account", Map.of("profile", profile));
+    }
+
+    private Map<String, Object> naverUser(int userIndex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", "sim-naver-" + userIndex);
+        response.put("nickname", "sim-naver-" + userIndex);
+        response.put("name", "Naver User " + userIndex);
+        response.put("profile_image", "https://example.com/sim/naver/" + userIndex + ".png");
+
+        return Map.of(
+                "resultcode", "00",
+                "message", "success",
+                "response", response);
+    }
+
+    private Map<String, Object> googleUser(int userIndex) {
+        return Map.of(
+                "id", "sim-google-" + userIndex,
+                "name", "Google User " + userIndex,
+                "picture", "https://example.com/sim/google/" + userIndex + ".png");
+    }
+
+    // ========================================
+    // 공통 동작 (지연, 오류)
+    // ========================================
+
+    private Mono<ResponseEntity<Map<String, Object>>> respond(
+            OAuthSimulatorProperties.Behavior behavior,
+            ResponseEntity<Map<String, Object>> response) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        ResponseEntity<Map<String, Object>> result = random.nextDouble() < behavior.getErrorRate()
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "simulated_failure"))
+                : response;
+
+        long jitter = behavior.getLatencyJitterMs() > 0 ? random.nextLong(behavior.getLatencyJitterMs() + 1) : 0;
+        long delayMs = behavior.getLatencyMs() + jitter;
+
+        return delayMs > 0
+                ? Mono.just(result).delayElement(Duration.ofMillis(delayMs))
+                : Mono.just(result);
+    }
+
+    private int userIndex(String code, int population) {
+        int bound = Math.max(population, 1);
+        if (code.startsWith("user-")) {
+            try {
+                return Math.floorMod(Integer.parseInt(code.substring(5)), bound);
+            } catch (NumberFormatException ignored) {
+                // 형식이 다르면 임의 사용자로 매핑
+            }
+        }
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,48 @@
+package store.kanggyeonggu.gateway.oauthservice.simulator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OAuth Provider 시뮬레이터 설정 Properties (loadtest 프로파일 전용)
+ */
+@Configuration
+@Profile("loadtest")
+@ConfigurationProperties(prefix = "app.oauth-simulator")
+@Getter
+@Setter
+public class OAuthSimulatorProperties {
+
+    // 모든 Provider 기본 동작
+    private Behavior defaults = new Behavior();
+
+    // Provider별 개별 동작 (kakao, naver, google)
+    private Map<String, Behavior> providers = new HashMap<>();
+
+    public Behavior behaviorFor(String provider) {
+        return providers.getOrDefault(provider, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Behavior {
+
+        // 응답 기본 지연 시간
+        private long latencyMs = 50;
+
+        // 기본 지연에 더해지는 임의 지연 (0 ~ jitter)
+        private long latencyJitterMs = 30;
+
+        // 503 응답 비율 (0.0 ~ 1.0)
+        private double errorRate = 0.0;
+
+        // 시뮬레이션 사용자 수 (인가 코드 user-{n} 의 n을 이 범위로 매핑)
+        private int userPopulation = 10000;
+    }
+}
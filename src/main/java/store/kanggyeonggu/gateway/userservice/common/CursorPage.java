@@ -0,0 +1,25 @@
+package store.kanggyeonggu.gateway.userservice.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 (keyset) 페이지 응답 DTO
+ * - nextCursor: 다음 페이지 요청의 after 값 (마지막 페이지면 null)
+ * - next: 다음 페이지 URL (마지막 페이지면 null, Link 헤더 rel="next" 와 동일)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasNext;
+    private int limit;
+    private String next;
+}
@@ -0,0 +1,26 @@
+package store.kanggyeonggu.gateway.userservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Actuator 접근 계정 Properties (HTTP Basic)
+ *
+ * health / info 를 제외한 모든 Actuator 엔드포인트 (metrics, prometheus, redisKeyspace 등) 는
+ * 이 계정 (ACTUATOR 역할) 으로만 접근
+ * - Prometheus 는 같은 계정으로 스크레이프 (scrape_config 의 basic_auth)
+ * - password 는 평문 또는 인코딩된 값 ({bcrypt}...)
+ * - password 가 비어 있으면 계정을 만들지 않음 (health / info 외 전부 401)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.actuator")
+@Getter
+@Setter
+public class ActuatorSecurityProperties {
+
+    private String username = "actuator";
+
+    private String password = "";
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import store.kanggyeonggu.gateway.jwt.AccessTokenService;
 import store.kanggyeonggu.gateway.jwt.JwtService;
 
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -30,17 +31,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final AccessTokenService accessTokenService;
+    private final boolean simulatorEnabled;
 
-    public JwtAuthenticationFilter(JwtService jwtService, AccessTokenService accessTokenService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            AccessTokenService accessTokenService,
+            Environment environment) {
         this.jwtService = jwtService;
         this.accessTokenService = accessTokenService;
+        this.simulatorEnabled = SecurityConfig.isSimulatorEnabled(environment);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // 공개 엔드포인트는 인증 불필요
+        // 공개 엔드포인트는 인증 불필요 (Actuator 는 별도 체인에서 HTTP Basic, /sim/ 은 loadtest 프로파일만, SecurityConfig)
         String requestUri = request.getRequestURI();
         if (requestUri.equals("/user/health") ||
                 requestUri.startsWith("/actuator/") ||
@@ -49,6 +55,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 requestUri.startsWith("/auth/") ||
                 requestUri.startsWith("/oauth2/") ||
                 requestUri.startsWith("/api/auth/") ||
+                (simulatorEnabled && requestUri.startsWith(SecurityConfig.SIMULATOR_PATH)) ||
                 "OPTIONS".equalsIgnoreCase(request.getMethod())) {
             filterChain.doFilter(request, response);
             return;
@@ -1,11 +1,24 @@
 package store.kanggyeonggu.gateway.userservice.config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -16,38 +29,102 @@ import java.util.List;
 
 /**
  * Spring Security 설정
+ *
+ * 필터 체인:
+ * 1. Actuator (management 포트를 분리해도 동일하게 적용)
+ *    - health / info 공개 (상세 정보는 ACTUATOR 역할만, management.endpoint.health.show-details)
+ *    - 그 외 (metrics, prometheus, redisKeyspace 등) 는 HTTP Basic + ACTUATOR 역할 (app.actuator)
+ * 2. API: JWT (JwtAuthenticationFilter)
+ *    - /sim/** (OAuth Provider 시뮬레이터) 는 loadtest 프로파일에서만 공개
  */
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+        public static final String ACTUATOR_ROLE = "ACTUATOR";
+        public static final String SIMULATOR_PROFILE = "loadtest";
+        public static final String SIMULATOR_PATH = "/sim/";
+
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final ActuatorSecurityProperties actuatorProperties;
+        private final Environment environment;
+
+        /**
+         * OAuth Provider 시뮬레이터 공개 여부 (loadtest 프로파일에서만)
+         */
+        public static boolean isSimulatorEnabled(Environment environment) {
+                return environment.acceptsProfiles(Profiles.of(SIMULATOR_PROFILE));
+        }
+
+        @Bean
+        @Order(1)
+        public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+                http
+                                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                                .csrf(csrf -> csrf.disable())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                .authorizeHttpRequests(auth -> auth
+                                                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class))
+                                                .permitAll()
+                                                .anyRequest().hasRole(ACTUATOR_ROLE))
+                                .httpBasic(Customizer.withDefaults());
 
+                return http.build();
+        }
+
+        /**
+         * Actuator 계정 (HTTP Basic 전용, API 체인은 JWT만 사용)
+         * 평문 비밀번호는 시작 시 한 번 인코딩
+         */
         @Bean
+        public UserDetailsService actuatorUserDetailsService() {
+                InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+                String password = actuatorProperties.getPassword();
+                if (password == null || password.isBlank()) {
+                        log.warn("⚠️ app.actuator.password 미설정: health / info 외 Actuator 엔드포인트 접근 불가");
+                        return users;
+                }
+
+                PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+                users.createUser(User.withUsername(actuatorProperties.getUsername())
+                                .password(password.startsWith("{") ? password : encoder.encode(password))
+                                .roles(ACTUATOR_ROLE)
+                                .build());
+                return users;
+        }
+
+        @Bean
+        @Order(2)
         public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
                 http
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .csrf(csrf -> csrf.disable())
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                                .authorizeHttpRequests(auth -> auth
-                                                // 공개 엔드포인트 (인증 불필요)
-                                                .requestMatchers(
-                                                                "/",
-                                                                "/user/health",
-                                                                "/actuator/**",
-                                                                "/docs/**", // Swagger UI
-                                                                "/swagger-ui/**", // Swagger UI (대체 경로)
-                                                                "/swagger-ui.html", // Swagger UI (구버전)
-                                                                "/docs/api-docs/**", // OpenAPI JSON
-                                                                "/auth/**", // OAuth 로그인 (카카오, 네이버, 구글)
-                                                                "/oauth2/**", // OAuth 콜백
-                                                                "/api/auth/refresh", // Access Token 갱신
-                                                                "/api/auth/logout" // 로그아웃
-                                                ).permitAll()
-                                                // 나머지 요청은 인증 필요
-                                                .anyRequest().authenticated())
+                                .authorizeHttpRequests(auth -> {
+                                        // 공개 엔드포인트 (인증 불필요)
+                                        auth.requestMatchers(
+                                                "/",
+                                                "/user/health",
+                                                "/docs/**", // Swagger UI
+                                                "/swagger-ui/**", // Swagger UI (대체 경로)
+                                                "/swagger-ui.html", // Swagger UI (구버전)
+                                                "/docs/api-docs/**", // OpenAPI JSON
+                                                "/auth/**", // OAuth 로그인 (카카오, 네이버, 구글)
+                                                "/oauth2/**", // OAuth 콜백
+                                                "/api/auth/refresh", // Access Token 갱신
+                                                "/api/auth/logout" // 로그아웃
+                                        ).permitAll();
+                                        // OAuth Provider 시뮬레이터 (loadtest 프로파일에서만, 그 외에는 인증 필요)
+                                        if (isSimulatorEnabled(environment)) {
+                                                auth.requestMatchers(SIMULATOR_PATH + "**").permitAll();
+                                        }
+                                        // 나머지 요청은 인증 필요
+                                        auth.anyRequest().authenticated();
+                                })
                                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
                 return http.build();
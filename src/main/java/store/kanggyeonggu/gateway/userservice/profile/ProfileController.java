@@ -1,25 +1,33 @@
 package store.kanggyeonggu.gateway.userservice.profile;
 
 import lombok.RequiredArgsConstructor;
+import store.kanggyeonggu.gateway.common.cache.UserVersion;
 import store.kanggyeonggu.gateway.userservice.common.ApiResponse;
 import store.kanggyeonggu.gateway.userservice.profile.dto.ProfileResponse;
 import store.kanggyeonggu.gateway.userservice.profile.dto.ProfileUpdateRequest;
 import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 /**
  * 프로필 관리 API
  * - 프로필 수정
- * - 프로필 조회
+ * - 프로필 조회 (ETag / Last-Modified 조건부 GET)
  */
 @RestController
 @RequiredArgsConstructor
 public class ProfileController {
 
+    // 브라우저가 저장 후 매번 검증하도록 (Spring Security 기본값 no-store 대신, 조건부 GET 전제)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ProfileService profileService;
 
     /**
@@ -36,9 +44,11 @@ public class ProfileController {
     /**
      * 현재 사용자 프로필 조회
      * GET /api/users/me/profile
+     * - If-None-Match / If-Modified-Since 가 현재 버전과 같으면 본문 없이 304 (캐시의 version 필드만 확인)
      */
     @GetMapping("/api/users/me/profile")
-    public ResponseEntity<ApiResponse<ProfileResponse>> getCurrentProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse<ProfileResponse>> getCurrentProfile(
+            Authentication authentication, WebRequest webRequest) {
         try {
             if (authentication == null || authentication.getPrincipal() == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -46,6 +56,13 @@ public class ProfileController {
             }
 
             Long userId = Long.parseLong(authentication.getPrincipal().toString());
+            Optional<UserVersion> version = profileService.getProfileVersion(userId);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(version.get().eTag("profile"), version.get().lastModified())) {
+                // 304 상태/검증자 헤더는 checkNotModified 가 설정
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
+
             ProfileResponse profile = profileService.getProfile(userId);
 
             if (profile == null) {
@@ -53,7 +70,7 @@ public class ProfileController {
                         .body(ApiResponse.error("프로필을 찾을 수 없습니다."));
             }
 
-            return ResponseEntity.ok(ApiResponse.success(profile));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(profile));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,6 +1,9 @@
 package store.kanggyeonggu.gateway.userservice.profile;
 
 import lombok.RequiredArgsConstructor;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.cache.UserVersion;
 import store.kanggyeonggu.gateway.common.entity.User;
 import store.kanggyeonggu.gateway.common.repository.UserRepository;
 import store.kanggyeonggu.gateway.userservice.profile.dto.ProfileResponse;
@@ -8,8 +11,11 @@ import store.kanggyeonggu.gateway.userservice.profile.dto.ProfileUpdateRequest;
 import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,20 +27,32 @@ import java.util.Optional;
 public class ProfileService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     /**
-     * 프로필 조회
+     * 프로필 조회 (UserCache: L1 → Redis → DB)
+     * 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProfileResponse getProfile(Long userId) {
-        return userRepository.findById(userId)
-                .filter(user -> !user.getDeleted())
+        return userCache.get(userId)
+                .filter(user -> !user.deleted())
                 .map(ProfileResponse::from)
                 .orElse(null);
     }
 
+    /**
+     * 프로필 행 버전 조회 (조건부 GET 판단용, 캐시의 version 필드만 읽음)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<UserVersion> getProfileVersion(Long userId) {
+        return userCache.getVersion(userId);
+    }
+
     /**
      * 프로필 수정
+     * 커밋 후 변경된 필드만 사용자 캐시에 반영 (UserCache.patch, 무효화/재로드 없음)
+     * 버전/변경 시각도 함께 반영 (같은 버전의 캐시 본문이 DB와 달라지지 않도록 flush 후 값 사용)
      */
     public UserResponse updateProfile(Long userId, ProfileUpdateRequest request) {
         Optional<User> userOptional = userRepository.findById(userId);
@@ -44,22 +62,37 @@ public class ProfileService {
         }
 
         User user = userOptional.get();
+        Map<String, String> changed = new LinkedHashMap<>();
 
         // 요청된 필드만 업데이트
         if (request.getNickname() != null && !request.getNickname().trim().isEmpty()) {
             user.setNickname(request.getNickname());
+            changed.put(CachedUser.NICKNAME, request.getNickname());
         }
         if (request.getName() != null && !request.getName().trim().isEmpty()) {
             user.setName(request.getName());
+            changed.put(CachedUser.NAME, request.getName());
         }
         if (request.getProfileImageUrl() != null) {
             user.setProfileImageUrl(request.getProfileImageUrl());
+            changed.put(CachedUser.PROFILE_IMAGE_URL, request.getProfileImageUrl());
         }
         if (request.getEmail() != null && !request.getEmail().trim().isEmpty()) {
             user.setEmail(request.getEmail());
+            changed.put(CachedUser.EMAIL, request.getEmail());
         }
 
-        User updatedUser = userRepository.save(user);
+        // flush 시 엔티티 리스너 (@PostUpdate) 의 무효화가 커밋 후 부분 갱신을 지우지 않도록 먼저 표시
+        if (!changed.isEmpty()) {
+            userCache.markPatched(userId);
+        }
+        User updatedUser = userRepository.saveAndFlush(user);
+        if (!changed.isEmpty()) {
+            changed.put(CachedUser.VERSION, String.valueOf(updatedUser.getVersion()));
+            changed.put(CachedUser.UPDATED_AT, updatedUser.getUpdatedAt().toString());
+            changed.put(CachedUser.LAST_LOGIN_AT, updatedUser.getLastLoginAt().toString());
+        }
+        userCache.patch(userId, changed);
         return UserResponse.from(updatedUser);
     }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
 import store.kanggyeonggu.gateway.common.entity.User;
 
 import java.time.LocalDateTime;
@@ -35,5 +36,17 @@ public class ProfileResponse {
                 .lastLoginAt(user.getLastLoginAt())
                 .build();
     }
+
+    public static ProfileResponse from(CachedUser user) {
+        return ProfileResponse.builder()
+                .id(user.id())
+                .nickname(user.nickname())
+                .name(user.name())
+                .profileImageUrl(user.profileImageUrl())
+                .email(user.email())
+                .createdAt(user.createdAt())
+                .lastLoginAt(user.lastLoginAt())
+                .build();
+    }
 }
 
@@ -1,39 +1,57 @@
 package store.kanggyeonggu.gateway.userservice.user;
 
 import lombok.RequiredArgsConstructor;
-import store.kanggyeonggu.gateway.common.entity.User;
-import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.common.async.RequestAsyncTimeout;
+import store.kanggyeonggu.gateway.common.cache.UserVersion;
 import store.kanggyeonggu.gateway.userservice.common.ApiResponse;
+import store.kanggyeonggu.gateway.userservice.common.CursorPage;
 import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * 사용자 정보 조회 API
- * - 현재 로그인한 사용자 정보 조회
- * - 전체 사용자 조회 (관리자용)
+ * - 현재 로그인한 사용자 정보 조회 (ETag / Last-Modified 조건부 GET)
+ * - 전체 사용자 조회 (관리자용, 커서 페이지: ?after={id}&limit={n}, limit 최대 100)
+ * - 전체 사용자 내보내기 (관리자용, NDJSON / CSV 스트리밍)
  * - 특정 사용자 조회
+ * - 여러 사용자 일괄 조회 (?ids=1,2,3, 최대 100개, 요청 순서 유지)
+ * - OAuth 제공자별 사용자 수 조회
  */
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    // 브라우저가 저장 후 매번 검증하도록 (Spring Security 기본값 no-store 대신, 조건부 GET 전제)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserQueryService userService;
-    private final UserRepository userRepository;
+    private final UserExportService userExportService;
+    private final UserExportProperties exportProperties;
 
     /**
      * 현재 로그인한 사용자 정보 조회
      * GET /api/users/me
+     * - If-None-Match / If-Modified-Since 가 현재 버전과 같으면 본문 없이 304 (캐시의 version 필드만 확인)
      */
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(Authentication authentication) {
+    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(
+            Authentication authentication, WebRequest webRequest) {
         try {
             if (authentication == null || authentication.getPrincipal() == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -41,6 +59,13 @@ public class UserController {
             }
 
             Long userId = Long.parseLong(authentication.getPrincipal().toString());
+            Optional<UserVersion> version = userService.getUserVersion(userId);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(version.get().eTag("user"), version.get().lastModified())) {
+                // 304 상태/검증자 헤더는 checkNotModified 가 설정
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
+
             UserResponse userResponse = userService.getUserById(userId);
 
             if (userResponse == null) {
@@ -48,7 +73,7 @@ public class UserController {
                         .body(ApiResponse.error("사용자를 찾을 수 없습니다."));
             }
 
-            return ResponseEntity.ok(ApiResponse.success(userResponse));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(userResponse));
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -57,20 +82,69 @@ public class UserController {
     }
 
     /**
-     * 모든 사용자 조회 (관리자용)
-     * GET /api/users
+     * 모든 사용자 조회 (관리자용, 커서 페이지)
+     * GET /api/users?after={id}&limit={n}
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + UserQueryService.DEFAULT_LIMIT) int limit) {
         try {
-            List<UserResponse> users = userService.getAllUsers();
-            return ResponseEntity.ok(ApiResponse.success(users));
+            return pageResponse(userService.getUsers(after, limit));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("사용자 목록 조회 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
 
+    /**
+     * 여러 사용자 일괄 조회 (목록 화면의 작성자 정보 등)
+     * GET /api/users?ids=1,2,3
+     * - 요청 순서대로 반환, 없거나 탈퇴한 사용자는 제외
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<UserResponse>>> getUsersByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > UserQueryService.MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("ids는 1 ~ " + UserQueryService.MAX_BATCH_IDS + "개까지 요청할 수 있습니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userService.getUsersByIds(ids)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("사용자 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 사용자 내보내기 (관리자용, 스트리밍)
+     * GET /api/users/export?format=ndjson|csv&provider={provider}
+     * - 행 단위로 바로 출력 (테이블 크기와 무관하게 메모리 일정)
+     * - 전체 소요 시간은 app.user-export.timeout-ms 이내 (이 요청만, 전역 비동기 타임아웃은 그대로)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String provider,
+            WebRequest webRequest) {
+        UserExportService.Format exportFormat = UserExportService.Format.parse(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("지원하지 않는 형식입니다: " + format + " (ndjson, csv)"));
+        }
+
+        String filename = "users-" + LocalDate.now() + "." + exportFormat.extension();
+        StreamingResponseBody body = out -> userExportService.export(provider, exportFormat, out);
+        RequestAsyncTimeout.set(webRequest, exportProperties.timeout());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * 특정 사용자 조회
      * GET /api/users/{id}
@@ -93,14 +167,16 @@ public class UserController {
     }
 
     /**
-     * OAuth 제공자별 사용자 조회
-     * GET /api/users/provider/{provider}
+     * OAuth 제공자별 사용자 조회 (커서 페이지)
+     * GET /api/users/provider/{provider}?after={id}&limit={n}
      */
     @GetMapping("/provider/{provider}")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getUsersByProvider(@PathVariable String provider) {
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getUsersByProvider(
+            @PathVariable String provider,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + UserQueryService.DEFAULT_LIMIT) int limit) {
         try {
-            List<UserResponse> users = userService.getUsersByProvider(provider);
-            return ResponseEntity.ok(ApiResponse.success(users));
+            return pageResponse(userService.getUsersByProvider(provider, after, limit));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("사용자 조회 중 오류가 발생했습니다: " + e.getMessage()));
@@ -108,18 +184,54 @@ public class UserController {
     }
 
     /**
-     * 사용자 수 조회
-     * GET /api/users/count
+     * OAuth 제공자별 사용자 수 조회
+     * GET /api/users/provider/{provider}/count
+     */
+    @GetMapping("/provider/{provider}/count")
+    public ResponseEntity<ApiResponse<Long>> getUserCountByProvider(@PathVariable String provider) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userService.countByProvider(provider)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("사용자 수 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 사용자 수 조회 (Redis 카운터)
+     * GET /api/users/count?approximate=true (PostgreSQL 통계 기반 근사값, 대시보드용)
      */
     @GetMapping("/count")
-    public ResponseEntity<ApiResponse<Long>> getUserCount() {
+    public ResponseEntity<ApiResponse<Long>> getUserCount(@RequestParam(defaultValue = "false") boolean approximate) {
         try {
-            long count = userRepository.countByDeletedFalse();
+            long count = userService.countActive(approximate);
             return ResponseEntity.ok(ApiResponse.success(count));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("사용자 수 조회 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
-}
 
+    // 커서 페이지 응답 (다음 페이지가 있으면 next 링크 + Link 헤더)
+    private ResponseEntity<ApiResponse<CursorPage<UserResponse>>> pageResponse(UserQueryService.UserPage page) {
+        String next = page.nextCursor() == null ? null
+                : ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("after", page.nextCursor())
+                        .replaceQueryParam("limit", page.limit())
+                        .toUriString();
+
+        CursorPage<UserResponse> body = CursorPage.<UserResponse>builder()
+                .items(page.users())
+                .nextCursor(page.nextCursor())
+                .hasNext(page.nextCursor() != null)
+                .limit(page.limit())
+                .next(next)
+                .build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(ApiResponse.success(body));
+    }
+}
@@ -0,0 +1,27 @@
+package store.kanggyeonggu.gateway.userservice.user;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 사용자 내보내기 설정 Properties
+ *
+ * 내보내기 요청에만 적용되는 비동기 타임아웃 (전역 spring.mvc.async.request-timeout 은 짧게 유지)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.user-export")
+@Getter
+@Setter
+public class UserExportProperties {
+
+    // 내보내기 전체 소요 시간 상한 (스트리밍 응답 완료까지)
+    private long timeoutMs = 300_000;
+
+    public Duration timeout() {
+        return Duration.ofMillis(timeoutMs);
+    }
+}
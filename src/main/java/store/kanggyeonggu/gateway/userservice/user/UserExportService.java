@@ -0,0 +1,188 @@
+package store.kanggyeonggu.gateway.userservice.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.common.repository.UserSummary;
+import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * 사용자 내보내기 서비스 (NDJSON / CSV 스트리밍)
+ *
+ * 전체 목록을 메모리에 올리지 않고 커서로 한 행씩 읽어 바로 출력
+ *
+ * 기능:
+ * - UserRepository.streamActive*: 전진 전용 커서, fetch size 단위로 DB에서 읽음
+ * - 엔티티 대신 UserSummary 프로젝션으로 응답 컬럼만 읽음 (영속성 컨텍스트가 커지지 않음)
+ * - FLUSH_EVERY 행마다 flush (클라이언트가 진행 상황을 바로 받음)
+ * - 내보내는 동안 DB 커넥션 1개를 점유 (읽기 전용 트랜잭션)
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    // 응답으로 밀어낼 행 간격
+    private static final int FLUSH_EVERY = 1000;
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final String[] CSV_HEADER = {
+            "id", "provider", "provider_id", "nickname", "name", "profile_image_url",
+            "email", "created_at", "last_login_at", "enabled"
+    };
+
+    private final UserRepository userRepository;
+    private final ObjectWriter jsonWriter;
+
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.jsonWriter = objectMapper.writerFor(UserResponse.class);
+    }
+
+    /**
+     * 내보내기 형식
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * 요청 파라미터 → 형식 (지원하지 않으면 null)
+         */
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 삭제되지 않은 사용자 내보내기 (id 순)
+     *
+     * @param provider OAuth 제공자 (null이면 전체)
+     * @param out      응답 스트림 (닫지 않음)
+     * @return 출력한 행 수
+     */
+    @Transactional(readOnly = true)
+    public long export(String provider, Format format, OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = 0;
+
+        try (Stream<UserSummary> users = provider == null
+                ? userRepository.streamActive()
+                : userRepository.streamActiveByProvider(User.normalizeProvider(provider))) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, CSV_HEADER);
+            }
+
+            Iterator<UserSummary> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserResponse row = UserResponse.from(iterator.next());
+
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, csvValues(row));
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("📤 사용자 내보내기 완료: format={}, provider={}, rows={}, {}ms",
+                format, provider, rows, System.currentTimeMillis() - startedAt);
+        return rows;
+    }
+
+    private static String[] csvValues(UserResponse user) {
+        return new String[] {
+                String.valueOf(user.getId()),
+                user.getProvider(),
+                user.getProviderId(),
+                user.getNickname(),
+                user.getName(),
+                user.getProfileImageUrl(),
+                user.getEmail(),
+                format(user.getCreatedAt()),
+                format(user.getLastLoginAt()),
+                user.getEnabled() != null ? user.getEnabled().toString() : null
+        };
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+
+    // RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번, null은 빈 칸
+    // 수식으로 해석될 수 있는 값 (=, +, -, @, 탭, CR 로 시작) 은 ' 를 붙이고 따옴표로 감쌈 (CSV 수식 주입 방지)
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            boolean formula = startsLikeFormula(value);
+            if (formula) {
+                value = "'" + value;
+            }
+            if (formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
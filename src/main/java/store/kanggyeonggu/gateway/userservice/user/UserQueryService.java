@@ -1,15 +1,24 @@
 package store.kanggyeonggu.gateway.userservice.user;
 
 import lombok.RequiredArgsConstructor;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.cache.UserCounters;
+import store.kanggyeonggu.gateway.common.cache.UserVersion;
 import store.kanggyeonggu.gateway.common.entity.User;
 import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.common.repository.UserSummary;
 import store.kanggyeonggu.gateway.userservice.user.dto.UserResponse;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * 사용자 정보 조회 서비스
@@ -19,37 +28,116 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class UserQueryService {
 
+    // 페이지 크기 (요청 limit 은 1 ~ MAX_LIMIT 로 제한)
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // 일괄 조회 최대 ID 수
+    public static final int MAX_BATCH_IDS = 100;
+
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserCounters userCounters;
 
     /**
-     * ID로 사용자 조회
+     * ID로 사용자 조회 (UserCache: L1 → Redis → DB)
+     * 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse getUserById(Long userId) {
-        return userRepository.findById(userId)
-                .filter(user -> !user.getDeleted())
+        return userCache.get(userId)
+                .filter(user -> !user.deleted())
                 .map(UserResponse::from)
                 .orElse(null);
     }
 
     /**
-     * 모든 사용자 조회 (삭제되지 않은 사용자만)
+     * 사용자 행 버전 조회 (조건부 GET 판단용, 캐시의 version 필드만 읽음)
      */
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .filter(user -> !user.getDeleted())
-                .map(UserResponse::from)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<UserVersion> getUserVersion(Long userId) {
+        return userCache.getVersion(userId);
     }
 
     /**
-     * OAuth 제공자별 사용자 조회
+     * ID 목록으로 사용자 일괄 조회 (UserCache.getAll: L1 → Redis 파이프라인 → DB IN 쿼리)
+     * - 요청 순서대로 반환, 중복 ID는 한 번만, 없거나 탈퇴한 사용자는 제외
+     * - 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행
      */
-    public List<UserResponse> getUsersByProvider(String provider) {
-        return userRepository.findAll().stream()
-                .filter(user -> !user.getDeleted())
-                .filter(user -> user.getProvider().equalsIgnoreCase(provider))
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserResponse> getUsersByIds(List<Long> userIds) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        Map<Long, CachedUser> users = userCache.getAll(ids);
+        return ids.stream()
+                .map(users::get)
+                .filter(user -> user != null && !user.deleted())
                 .map(UserResponse::from)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * 사용자 목록 조회 (삭제되지 않은 사용자만, keyset 페이지)
+     * - WHERE deleted = false AND id > :afterId ORDER BY id LIMIT :limit + 1
+     * - 엔티티 대신 UserSummary 프로젝션 (응답 컬럼만, 관리 엔티티/스냅샷 없음)
+     * - limit + 1 건을 읽어 다음 페이지 존재 여부 판단
+     *
+     * @param afterId 이전 페이지의 마지막 id (첫 페이지는 null)
+     * @param limit   페이지 크기 (MAX_LIMIT 초과 시 MAX_LIMIT)
+     */
+    public UserPage getUsers(Long afterId, int limit) {
+        int size = clampLimit(limit);
+        List<UserSummary> rows = userRepository.findActivePage(afterId != null ? afterId : 0L, Limit.of(size + 1));
+        return UserPage.of(rows, size);
+    }
+
+    /**
+     * OAuth 제공자별 사용자 목록 조회 (삭제되지 않은 사용자만, keyset 페이지)
+     * - (provider, id) 인덱스로 필터 + 정렬 (provider는 소문자로 저장)
+     */
+    public UserPage getUsersByProvider(String provider, Long afterId, int limit) {
+        int size = clampLimit(limit);
+        List<UserSummary> rows = userRepository.findActivePageByProvider(
+                User.normalizeProvider(provider), afterId != null ? afterId : 0L, Limit.of(size + 1));
+        return UserPage.of(rows, size);
+    }
+
+    /**
+     * 활성 사용자 수 (Redis 카운터, 최초 1회만 DB 집계)
+     *
+     * @param approximate true면 PostgreSQL 통계 기반 근사값 (대시보드용)
+     */
+    public long countActive(boolean approximate) {
+        return approximate ? userCounters.approximateActive() : userCounters.active();
+    }
+
+    /**
+     * OAuth 제공자별 활성 사용자 수 (Redis 카운터, 최초 1회만 DB 집계)
+     */
+    public long countByProvider(String provider) {
+        return userCounters.activeByProvider(provider);
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * keyset 페이지 결과
+     *
+     * @param nextCursor 다음 페이지의 afterId (마지막 페이지면 null)
+     */
+    public record UserPage(List<UserResponse> users, Long nextCursor, int limit) {
+
+        static UserPage of(List<UserSummary> rows, int limit) {
+            boolean hasNext = rows.size() > limit;
+            List<UserResponse> users = rows.stream()
+                    .limit(limit)
+                    .map(UserResponse::from)
+                    .toList();
+            Long nextCursor = hasNext ? users.get(users.size() - 1).getId() : null;
+            return new UserPage(users, nextCursor, limit);
+        }
     }
 }
 
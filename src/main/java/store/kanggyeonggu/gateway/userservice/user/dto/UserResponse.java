@@ -4,7 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
 import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.repository.UserSummary;
 
 import java.time.LocalDateTime;
 
@@ -41,5 +43,34 @@ public class UserResponse {
                 .enabled(user.getEnabled())
                 .build();
     }
-}
 
+    public static UserResponse from(CachedUser user) {
+        return UserResponse.builder()
+                .id(user.id())
+                .provider(user.provider())
+                .providerId(user.providerId())
+                .nickname(user.nickname())
+                .name(user.name())
+                .profileImageUrl(user.profileImageUrl())
+                .email(user.email())
+                .createdAt(user.createdAt())
+                .lastLoginAt(user.lastLoginAt())
+                .enabled(user.enabled())
+                .build();
+    }
+
+    public static UserResponse from(UserSummary user) {
+        return UserResponse.builder()
+                .id(user.id())
+                .provider(user.provider())
+                .providerId(user.providerId())
+                .nickname(user.nickname())
+                .name(user.name())
+                .profileImageUrl(user.profileImageUrl())
+                .email(user.email())
+                .createdAt(user.createdAt())
+                .lastLoginAt(user.lastLoginAt())
+                .enabled(user.enabled())
+                .build();
+    }
+}
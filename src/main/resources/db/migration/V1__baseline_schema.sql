@@ -0,0 +1,36 @@
+-- ============================================================================
+-- 기준 스키마 (기존 ddl-auto: update 로 만들어진 테이블과 동일)
+-- 이미 테이블이 있는 DB는 baseline-on-migrate 로 이 버전을 건너뜀
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    provider          VARCHAR(20)  NOT NULL,
+    provider_id       VARCHAR(255) NOT NULL,
+    nickname          VARCHAR(100),
+    name              VARCHAR(100),
+    profile_image_url VARCHAR(500),
+    email             VARCHAR(255),
+    created_at        TIMESTAMP(6) NOT NULL,
+    last_login_at     TIMESTAMP(6),
+    enabled           BOOLEAN      NOT NULL,
+    deleted           BOOLEAN      NOT NULL,
+    deleted_at        TIMESTAMP(6),
+    -- OAuth Upsert (ON CONFLICT (provider, provider_id)) 대상
+    CONSTRAINT uk_users_provider_provider_id UNIQUE (provider, provider_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    token       VARCHAR(255) NOT NULL,
+    device_info VARCHAR(500),
+    ip_address  VARCHAR(45),
+    issued_at   TIMESTAMP(6) NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked     BOOLEAN      NOT NULL,
+    revoked_at  TIMESTAMP(6),
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
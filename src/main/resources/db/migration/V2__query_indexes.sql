@@ -0,0 +1,26 @@
+-- ============================================================================
+-- 조회 인덱스 (CONCURRENTLY: 쓰기를 막지 않음, Flyway가 트랜잭션 밖에서 실행)
+-- 기존 엔티티 @Index 로 만들어진 인덱스는 IF NOT EXISTS 로 유지
+-- ============================================================================
+
+-- Provider별 keyset 페이지 / 내보내기 (WHERE provider = ? AND id > ? ORDER BY id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_provider_id_seq
+    ON users (provider, id);
+
+-- 활성 사용자 조회 (findByProviderAndProviderIdAndDeletedFalse), 탈퇴 사용자는 인덱스에서 제외
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_provider_provider_id
+    ON users (provider, provider_id)
+    WHERE deleted = false;
+
+-- 사용자 삭제 시 FK 검사
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_user_id
+    ON refresh_tokens (user_id);
+
+-- 사용자별 유효 토큰 조회 / 전체 무효화 (revokeAllByUserId, findValidTokensByUser)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_active_user_id
+    ON refresh_tokens (user_id)
+    WHERE revoked = false;
+
+-- 만료 토큰 정리 (RefreshTokenCleanupScheduler)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expires_at
+    ON refresh_tokens (expires_at);
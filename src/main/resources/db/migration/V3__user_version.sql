@@ -0,0 +1,11 @@
+-- ============================================================================
+-- 사용자 행 버전 / 변경 시각 (조건부 GET: ETag, Last-Modified)
+-- 상수 DEFAULT 컬럼 추가는 테이블 재작성 없음 (PostgreSQL 11+)
+-- ============================================================================
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+UPDATE users
+SET updated_at = COALESCE(last_login_at, created_at)
+WHERE updated_at IS NULL;
@@ -0,0 +1,131 @@
+package store.kanggyeonggu.gateway;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.repository.OAuthUpsertResult;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 PostgreSQL (Testcontainers) 에 Flyway 마이그레이션 적용 후 부팅 (ddl-auto: validate)
+ *
+ * - 마이그레이션 스키마와 엔티티 매핑이 일치하지 않으면 컨텍스트 시작 실패
+ * - 부분 인덱스 생성 확인, 네이티브 Upsert / last_login_at 갱신 / 프로젝션 조회가 실제 스키마에서 동작하는지 확인
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=schema-migration-test-secret-key-0123456789abcdef",
+        "kakao.rest-api-key=test",
+        "naver.client-id=test",
+        "naver.client-secret=test",
+        "google.client-id=test",
+        "google.client-secret=test",
+        "app.oauth.http.warmup-enabled=false",
+        "app.oauth.google-id-token.enabled=false",
+        "app.token-cleanup.enabled=false",
+        "app.user-count.reconcile.enabled=false"
+})
+class SchemaMigrationTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    // RedisConfig 는 spring.data.redis.* 값으로 직접 연결 팩토리를 만듦
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.data.redis.password", () -> "");
+        registry.add("spring.data.redis.ssl.enabled", () -> "false");
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void appliesAllMigrations() {
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .toList();
+
+        assertThat(applied).containsExactly("1", "2", "3");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void createsPartialIndexes() {
+        assertThat(indexDefinition("idx_users_active_provider_provider_id"))
+                .contains("(provider, provider_id)")
+                .contains("WHERE (deleted = false)");
+        assertThat(indexDefinition("idx_refresh_tokens_active_user_id"))
+                .contains("(user_id)")
+                .contains("WHERE (revoked = false)");
+    }
+
+    @Test
+    void upsertsAndReadsUsersOnMigratedSchema() {
+        OAuthUpsertResult created = userRepository.upsertOAuthUser("KAKAO", "schema-test-1", "별명", null, null);
+        OAuthUpsertResult again = userRepository.upsertOAuthUser("kakao", "schema-test-1", "별명", null, null);
+
+        assertThat(created.created()).isTrue();
+        assertThat(again.created()).isFalse();
+        assertThat(again.user().getId()).isEqualTo(created.user().getId());
+
+        CachedUser snapshot = userRepository.findSnapshotById(created.user().getId()).orElseThrow();
+        assertThat(snapshot.provider()).isEqualTo("kakao");
+        assertThat(snapshot.name()).isEqualTo("별명");
+        assertThat(snapshot.deleted()).isFalse();
+    }
+
+    @Test
+    void touchLastLoginReturnsNewVersions() {
+        Long id = userRepository.upsertOAuthUser("kakao", "schema-test-touch", "별명", null, null).user().getId();
+        long before = userRepository.findSnapshotById(id).orElseThrow().version();
+        LocalDateTime loginAt = LocalDateTime.now().plusMinutes(1);
+
+        Map<Long, Long> touched = userRepository.touchLastLogin(List.of(id), loginAt, loginAt);
+        // staleBefore 이후에 이미 갱신된 사용자는 건너뜀
+        Map<Long, Long> skipped = userRepository.touchLastLogin(List.of(id), loginAt, loginAt.minusMinutes(5));
+
+        assertThat(touched).containsExactly(Map.entry(id, before + 1));
+        assertThat(skipped).isEmpty();
+        CachedUser snapshot = userRepository.findSnapshotById(id).orElseThrow();
+        assertThat(snapshot.version()).isEqualTo(before + 1);
+        assertThat(snapshot.updatedAt()).isEqualTo(snapshot.lastLoginAt());
+    }
+
+    private String indexDefinition(String name) {
+        return jdbcTemplate.queryForObject(
+                "SELECT indexdef FROM pg_indexes WHERE indexname = ?", String.class, name);
+    }
+}
@@ -0,0 +1,54 @@
+package store.kanggyeonggu.gateway.common.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청별 비동기 타임아웃: 핸들러가 지정한 요청만 AsyncWebRequest 타임아웃이 바뀌는지 확인
+ */
+class RequestAsyncTimeoutTests {
+
+    private static final long GLOBAL_TIMEOUT_MS = 15_000;
+
+    private final RequestAsyncTimeout interceptor = new RequestAsyncTimeout();
+
+    @Test
+    void appliesTimeoutSetByHandler() throws Exception {
+        MockHttpServletRequest request = asyncRequest();
+        RequestAsyncTimeout.set(new ServletWebRequest(request), Duration.ofMinutes(5));
+
+        long timeout = startAsync(request);
+
+        assertThat(timeout).isEqualTo(Duration.ofMinutes(5).toMillis());
+    }
+
+    @Test
+    void keepsGlobalTimeoutForOtherRequests() throws Exception {
+        assertThat(startAsync(asyncRequest())).isEqualTo(GLOBAL_TIMEOUT_MS);
+    }
+
+    // RequestMappingHandlerAdapter 와 같은 순서: 전역 타임아웃 설정 → 인터셉터 → 비동기 시작
+    private long startAsync(MockHttpServletRequest request) throws Exception {
+        StandardServletAsyncWebRequest asyncWebRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncWebRequest.setTimeout(GLOBAL_TIMEOUT_MS);
+
+        interceptor.beforeConcurrentHandling(asyncWebRequest, () -> null);
+        asyncWebRequest.startAsync();
+
+        return request.getAsyncContext().getTimeout();
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
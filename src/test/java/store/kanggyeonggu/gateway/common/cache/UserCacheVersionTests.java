@@ -0,0 +1,182 @@
+package store.kanggyeonggu.gateway.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceProperties;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+import store.kanggyeonggu.gateway.common.repository.OAuthUpsertResult;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.oauthservice.service.OAuthUserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사용자 캐시 L2 버전 조건부 쓰기 (Lua) 를 로컬 Redis (Testcontainers) 에서 확인
+ *
+ * - 이전 버전 스냅샷은 더 새 해시 / patch·evict 가 남긴 floor 를 덮어쓰지 못함
+ * - 변경과 경합한 미스 로드는 DB를 다시 읽음
+ * - 로그인 Upsert 만으로 (로그인 후속 작업 없이) 버전/ETag 가 새 행을 따름
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserCacheVersionTests {
+
+    private static final long USER_ID = 42L;
+    private static final String KEY = UserCache.KEY_PREFIX + USER_ID;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private IoExecutor ioExecutor;
+    private UserRepository userRepository;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        ioExecutor = new IoExecutor();
+        userRepository = mock(UserRepository.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepository, redisTemplate, ioExecutor, new UserCacheProperties(),
+                new KeyspaceStats(redisTemplate, new KeyspaceProperties(), meterRegistry), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void olderSnapshotDoesNotOverwriteNewer() {
+        userCache.putAll(List.of(user(2, "새 별명")));
+        userCache.putAll(List.of(user(1, "이전 별명")));
+
+        assertThat(l2Field(CachedUser.VERSION)).isEqualTo("2");
+        assertThat(l2Field(CachedUser.NICKNAME)).isEqualTo("새 별명");
+    }
+
+    @Test
+    void evictLeavesFloorForOlderSnapshots() {
+        userCache.putAll(List.of(user(1, "별명")));
+        userCache.evict(USER_ID, 2);
+
+        userCache.putAll(List.of(user(1, "별명")));
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+
+        userCache.putAll(List.of(user(2, "별명")));
+        assertThat(l2Field(CachedUser.VERSION)).isEqualTo("2");
+    }
+
+    @Test
+    void evictWithoutVersionBlocksSnapshotsWhenNothingCached() {
+        userCache.evict(USER_ID);
+        userCache.putAll(List.of(user(5, "별명")));
+
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+    }
+
+    @Test
+    void missLoadRacingAnUpdateRereadsDb() {
+        // DB 조회 직후 다른 트랜잭션이 커밋하고 무효화 (floor = 2)
+        when(userRepository.findSnapshotById(USER_ID))
+                .thenAnswer(invocation -> {
+                    userCache.evict(USER_ID, 2);
+                    return Optional.of(user(1, "이전 별명"));
+                })
+                .thenReturn(Optional.of(user(2, "새 별명")));
+
+        CachedUser loaded = userCache.get(USER_ID).orElseThrow();
+
+        assertThat(loaded.version()).isEqualTo(2);
+        assertThat(loaded.nickname()).isEqualTo("새 별명");
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+    }
+
+    @Test
+    void patchAppliesOnlyOnThePreviousVersion() {
+        userCache.putAll(List.of(user(1, "별명")));
+
+        userCache.patch(USER_ID, Map.of(CachedUser.NICKNAME, "바뀐 별명", CachedUser.VERSION, "2"));
+        assertThat(l2Field(CachedUser.VERSION)).isEqualTo("2");
+        assertThat(l2Field(CachedUser.NICKNAME)).isEqualTo("바뀐 별명");
+
+        // 버전 3 변경을 놓친 해시에 버전 4 부분 갱신 → 삭제 (다음 조회에서 DB 로드)
+        userCache.patch(USER_ID, Map.of(CachedUser.NAME, "이름", CachedUser.VERSION, "4"));
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+
+        userCache.putAll(List.of(user(3, "별명")));
+        assertThat(redisTemplate.hasKey(KEY)).isFalse();
+    }
+
+    @Test
+    void loginUpsertWithoutPostLoginQueueMovesTheETag() {
+        userCache.putAll(List.of(user(1, "이전 별명")));
+        UserVersion before = userCache.getVersion(USER_ID).orElseThrow();
+
+        // 네이티브 Upsert 가 행을 변경 (엔티티 리스너 없음), 로그인 후속 작업은 실행되지 않음
+        CachedUser row = user(2, "새 별명");
+        User updated = User.builder()
+                .id(USER_ID).provider(row.provider()).providerId(row.providerId())
+                .nickname(row.nickname()).name(row.name())
+                .createdAt(row.createdAt()).lastLoginAt(row.lastLoginAt())
+                .version(row.version()).updatedAt(row.updatedAt())
+                .build();
+        when(userRepository.upsertOAuthUser(eq("kakao"), eq("31415"), any(), any(), any()))
+                .thenReturn(new OAuthUpsertResult(updated, false, false, true));
+        when(userRepository.findSnapshotById(USER_ID)).thenReturn(Optional.of(row));
+        new OAuthUserService(userRepository, userCache, mock(UserCounters.class))
+                .upsertUser("kakao", "31415", "새 별명", null, null);
+
+        UserVersion after = userCache.getVersion(USER_ID).orElseThrow();
+        assertThat(after.version()).isEqualTo(2);
+        assertThat(after.eTag("user")).isNotEqualTo(before.eTag("user"));
+        assertThat(after.lastModified()).isGreaterThan(before.lastModified());
+
+        // 늦게 도착한 Upsert 이전 스냅샷은 floor 에 막힘
+        userCache.putAll(List.of(user(1, "이전 별명")));
+        assertThat(l2Field(CachedUser.VERSION)).isEqualTo("2");
+    }
+
+    private String l2Field(String field) {
+        return (String) redisTemplate.opsForHash().get(KEY, field);
+    }
+
+    private static CachedUser user(long version, String nickname) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new CachedUser(USER_ID, "kakao", "31415", nickname, "이름", null, null,
+                now, now, true, false, version, now.plusMinutes(version));
+    }
+}
@@ -0,0 +1,146 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CompactRedisSerializer 형식/호환성
+ *
+ * - compact / json 쓰기 왕복, 기존 JSON 값 읽기 (dual-read)
+ * - MAGIC 바이트로 형식 판별, LZ4 압축 플래그
+ * - null / 빈 값, 문자열, 등록되지 않은 타입
+ */
+class CompactRedisSerializerTests {
+
+    private static final int LZ4_THRESHOLD = 1024;
+
+    record Session(String userId, LocalDateTime loginAt) {
+    }
+
+    private final CompactRedisSerializer compact = new CompactRedisSerializer(true, LZ4_THRESHOLD)
+            .register(3, Session.class);
+    private final CompactRedisSerializer json = new CompactRedisSerializer(false, LZ4_THRESHOLD)
+            .register(3, Session.class);
+
+    @Test
+    void roundTripsMapInCompactFormat() {
+        Map<String, Object> value = userInfo();
+
+        byte[] bytes = compact.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(CompactRedisSerializer.VERSION);
+        assertThat(bytes[3] & 0x01).isZero();
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void roundTripsRegisteredRecordInCompactFormat() {
+        Session value = new Session("42", LocalDateTime.of(2025, 1, 1, 12, 0, 30));
+
+        byte[] bytes = compact.serialize(value);
+
+        assertThat(bytes[2]).isEqualTo((byte) 3);
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void storesStringsAsUtf8InCompactFormat() {
+        String value = "eyJhbGciOiJIUzI1NiJ9.사용자";
+
+        byte[] bytes = compact.serialize(value);
+
+        assertThat(new String(bytes, 4, bytes.length - 4, StandardCharsets.UTF_8)).isEqualTo(value);
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void roundTripsEmptyString() {
+        assertThat(compact.deserialize(compact.serialize(""))).isEqualTo("");
+        assertThat(json.deserialize(json.serialize(""))).isEqualTo("");
+    }
+
+    @Test
+    void compressesLargeValuesWithLz4() {
+        String value = "token-".repeat(LZ4_THRESHOLD);
+
+        byte[] bytes = compact.serialize(value);
+
+        assertThat(bytes[3] & 0x01).isEqualTo(1);
+        assertThat(bytes.length).isLessThan(value.length());
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void writesLegacyJsonWhenJsonFormatSelected() {
+        Map<String, Object> value = userInfo();
+
+        byte[] bytes = json.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(json.deserialize(bytes)).isEqualTo(value);
+        // json 으로 쓴 값은 compact 쓰기 인스턴스도 읽음
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void readsValuesWrittenByLegacySerializer() {
+        Map<String, Object> value = userInfo();
+        byte[] legacyMap = CompactRedisSerializer.legacyJsonSerializer().serialize(value);
+        byte[] legacyString = CompactRedisSerializer.legacyJsonSerializer().serialize("jwt-token");
+
+        assertThat(compact.deserialize(legacyMap)).isEqualTo(value);
+        assertThat(compact.deserialize(legacyString)).isEqualTo("jwt-token");
+    }
+
+    @Test
+    void fallsBackToJsonForUnregisteredTypes() {
+        List<String> value = new ArrayList<>(List.of("a", "b"));
+
+        byte[] bytes = compact.serialize(value);
+
+        assertThat(bytes[0]).isNotEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(compact.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void handlesNullAndEmptyValues() {
+        assertThat(compact.serialize(null)).isEmpty();
+        assertThat(compact.deserialize(null)).isNull();
+        assertThat(compact.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void rejectsUnknownVersionAndType() {
+        byte[] unknownVersion = { CompactRedisSerializer.MAGIC, 9, 1, 0 };
+        byte[] unknownType = { CompactRedisSerializer.MAGIC, CompactRedisSerializer.VERSION, 99, 0 };
+        byte[] truncated = { CompactRedisSerializer.MAGIC, CompactRedisSerializer.VERSION };
+
+        assertThatThrownBy(() -> compact.deserialize(unknownVersion)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> compact.deserialize(unknownType)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> compact.deserialize(truncated)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsReusedTypeId() {
+        assertThatThrownBy(() -> compact.register(3, String.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> userInfo() {
+        Map<String, Object> userInfo = new LinkedHashMap<>();
+        userInfo.put("id", 42);
+        userInfo.put("nickname", "사용자");
+        userInfo.put("provider", "kakao");
+        return userInfo;
+    }
+}
@@ -0,0 +1,93 @@
+package store.kanggyeonggu.gateway.common.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Redis 클라이언트 캐싱 미스 로드와 무효화 푸시의 경합
+ *
+ * 무효화 푸시는 Lettuce 이벤트 루프에서 처리되므로 조회 (GET) 와 로컬 저장 사이 어디든 끼어들 수 있음
+ * → 조회 중 무효화를 주입해 이전 값이 로컬에 남지 않는지 확인
+ */
+class RedisTrackingCacheTests {
+
+    private static final String KEY = "access_token:abc";
+
+    private RedisTrackingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RedisTrackingCache(
+                mock(StringRedisTemplate.class),
+                mock(RedisCommandMetrics.class),
+                new RedisClientProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void cachesLoadedValue() {
+        assertThat(cache.loadAndCache(KEY, () -> "token")).isEqualTo("token");
+        assertThat(cache.cached(KEY)).isEqualTo("token");
+    }
+
+    @Test
+    void doesNotCacheValueInvalidatedDuringLoad() {
+        String value = cache.loadAndCache(KEY, () -> {
+            cache.onInvalidate(List.of("invalidate", List.of(KEY)));
+            return "revoked";
+        });
+
+        assertThat(value).isEqualTo("revoked");
+        assertThat(cache.cached(KEY)).isNull();
+    }
+
+    @Test
+    void doesNotCacheValueDuringFlushInvalidation() {
+        // FLUSHDB/FLUSHALL: 키 목록 없이 (null) 전체 무효화
+        cache.loadAndCache(KEY, () -> {
+            cache.onInvalidate(Arrays.<Object>asList("invalidate", null));
+            return "revoked";
+        });
+
+        assertThat(cache.cached(KEY)).isNull();
+    }
+
+    @Test
+    void doesNotCacheValueWhenDisconnectedDuringLoad() {
+        cache.loadAndCache(KEY, () -> {
+            cache.onDisconnected();
+            return "revoked";
+        });
+
+        assertThat(cache.cached(KEY)).isNull();
+    }
+
+    @Test
+    void invalidationOfOtherKeyKeepsLoadedValue() {
+        cache.loadAndCache(KEY, () -> {
+            cache.onInvalidate(List.of("invalidate", List.of("access_token:other")));
+            return "token";
+        });
+
+        assertThat(cache.cached(KEY)).isEqualTo("token");
+    }
+
+    @Test
+    void olderConcurrentLoadIsNotCached() {
+        cache.loadAndCache(KEY, () -> {
+            // 같은 키의 나중 로드가 먼저 끝남 → 앞선 로드의 이전 값이 덮어쓰지 않음
+            cache.loadAndCache(KEY, () -> "new");
+            return "old";
+        });
+
+        assertThat(cache.cached(KEY)).isNull();
+    }
+}
@@ -0,0 +1,165 @@
+package store.kanggyeonggu.gateway.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceProperties;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인스턴스 간 Refresh grace window 를 로컬 Redis (Testcontainers) 에서 확인
+ *
+ * 같은 Redis 를 쓰는 TokenRefreshService 두 개 = 인스턴스 두 개
+ * - 회전한 인스턴스가 남긴 토큰 쌍을 다른 인스턴스가 그대로 돌려받음 (Redis 에는 암호문만)
+ * - 회전 커밋 후 Redis 기록 전에 도착한 요청은 기록될 때까지 기다려 같은 쌍을 받음
+ * - grace 값은 grace-period-ms 뒤 만료
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TokenRefreshGraceTests {
+
+    private static final String OLD_TOKEN = "old-refresh-token";
+    private static final long GRACE_PERIOD_MS = 500;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private IoExecutor ioExecutor;
+
+    private RefreshTokenService rotatingTokens;
+    private RefreshTokenService otherTokens;
+    private TokenRefreshService rotating;
+    private TokenRefreshService other;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        ioExecutor = new IoExecutor();
+
+        User user = User.builder().id(42L).nickname("별명").build();
+        rotatingTokens = mock(RefreshTokenService.class);
+        when(rotatingTokens.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.of(user));
+        when(rotatingTokens.rotateRefreshToken(OLD_TOKEN)).thenReturn("new-refresh-token");
+        otherTokens = mock(RefreshTokenService.class);
+
+        rotating = service(rotatingTokens, "new-access-token");
+        other = service(otherTokens, "other-access-token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void secondInstanceGetsSamePairFromGraceKey() {
+        // 다른 인스턴스에는 이미 회전된 토큰 → DB 조회 실패
+        when(otherTokens.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.empty());
+
+        RefreshResult first = rotating.refresh(OLD_TOKEN);
+        RefreshResult second = other.refresh(OLD_TOKEN);
+
+        assertThat(first).isEqualTo(RefreshResult.success("new-access-token", "new-refresh-token"));
+        assertThat(second).isEqualTo(first);
+        verify(otherTokens, never()).rotateRefreshToken(anyString());
+
+        // Redis 에는 암호문만 남음
+        String stored = redisTemplate.opsForValue().get(TokenRefreshService.graceKey(OLD_TOKEN));
+        assertThat(stored).isNotNull().doesNotContain("new-access-token").doesNotContain("new-refresh-token");
+    }
+
+    @Test
+    void instanceLosingTheRotationRaceWaitsForGracePair() {
+        // 다른 인스턴스도 DB 검증은 통과했지만 회전에서 짐 (rotateRefreshToken → null)
+        User user = User.builder().id(42L).nickname("별명").build();
+        when(otherTokens.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.of(user));
+        when(otherTokens.rotateRefreshToken(OLD_TOKEN)).thenAnswer(invocation -> {
+            rotating.refresh(OLD_TOKEN);
+            return null;
+        });
+
+        RefreshResult result = other.refresh(OLD_TOKEN);
+
+        assertThat(result).isEqualTo(RefreshResult.success("new-access-token", "new-refresh-token"));
+    }
+
+    @Test
+    void instanceArrivingBeforeGraceWriteWaitsForGracePair() throws Exception {
+        // 회전 인스턴스가 DB 무효화는 커밋했지만 Redis 기록 전 → 다른 인스턴스는 DB 조회 실패 + 최근 무효화
+        when(otherTokens.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.empty());
+        when(otherTokens.isRecentlyRevoked(OLD_TOKEN, GRACE_PERIOD_MS)).thenReturn(true);
+
+        CompletableFuture<RefreshResult> second = CompletableFuture.supplyAsync(() -> other.refresh(OLD_TOKEN));
+        Thread.sleep(200);
+        assertThat(second).isNotDone();
+
+        RefreshResult first = rotating.refresh(OLD_TOKEN);
+
+        assertThat(first).isEqualTo(RefreshResult.success("new-access-token", "new-refresh-token"));
+        assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo(first);
+        verify(otherTokens, never()).rotateRefreshToken(anyString());
+    }
+
+    @Test
+    void gracePairExpiresAfterTtl() throws InterruptedException {
+        when(otherTokens.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.empty());
+        String key = TokenRefreshService.graceKey(OLD_TOKEN);
+
+        rotating.refresh(OLD_TOKEN);
+        assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, GRACE_PERIOD_MS);
+
+        Thread.sleep(GRACE_PERIOD_MS + 200);
+
+        assertThat(redisTemplate.hasKey(key)).isFalse();
+        assertThat(other.refresh(OLD_TOKEN)).isEqualTo(RefreshResult.failure(RefreshResult.Status.INVALID_TOKEN));
+    }
+
+    private TokenRefreshService service(RefreshTokenService refreshTokenService, String accessToken) {
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(anyLong(), anyString())).thenReturn(accessToken);
+        when(jwtService.getExpiration()).thenReturn(60_000L);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenRefreshService service = new TokenRefreshService(refreshTokenService, mock(AccessTokenService.class),
+                jwtService, redisTemplate, ioExecutor,
+                new KeyspaceStats(redisTemplate, new KeyspaceProperties(), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(service, "gracePeriodMs", GRACE_PERIOD_MS);
+        ReflectionTestUtils.setField(service, "graceWaitMs", 1000L);
+        return service;
+    }
+}
@@ -0,0 +1,140 @@
+package store.kanggyeonggu.gateway.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+
+import javax.crypto.AEADBadTagException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Access Token 갱신: 인스턴스 내부 병합 (single-flight) 과 grace 값 암호화
+ *
+ * - 같은 토큰의 동시 갱신은 회전 1회, 모두 같은 토큰 쌍
+ * - grace 값 (AES-GCM) 은 같은 기존 토큰 / 같은 키에서만 복호화
+ * 인스턴스 간 grace window 와 TTL 은 TokenRefreshGraceTests (Redis) 에서 확인
+ */
+class TokenRefreshServiceTests {
+
+    private static final String OLD_TOKEN = "old-refresh-token";
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    private RefreshTokenService refreshTokenService;
+    private JwtService jwtService;
+    private IoExecutor ioExecutor;
+    private MeterRegistry meterRegistry;
+    private TokenRefreshService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        refreshTokenService = mock(RefreshTokenService.class);
+        jwtService = mock(JwtService.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        ioExecutor = new IoExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+
+        service = new TokenRefreshService(refreshTokenService, mock(AccessTokenService.class), jwtService,
+                redisTemplate, ioExecutor, mock(KeyspaceStats.class), meterRegistry);
+
+        User user = User.builder().id(42L).nickname("별명").build();
+        when(refreshTokenService.getUserByRefreshToken(OLD_TOKEN)).thenReturn(Optional.of(user));
+        when(jwtService.generateToken(anyLong(), anyString())).thenReturn("new-access-token");
+        when(jwtService.getExpiration()).thenReturn(60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.destroy();
+    }
+
+    @Test
+    void concurrentRefreshesOfSameTokenRotateOnce() throws Exception {
+        // 나머지 요청이 모두 진행 중인 회전에 병합될 때까지 회전을 붙잡아 둠
+        CountDownLatch release = new CountDownLatch(1);
+        when(refreshTokenService.rotateRefreshToken(OLD_TOKEN)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "new-refresh-token";
+        });
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            List<Future<RefreshResult>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(clients.submit(() -> service.refresh(OLD_TOKEN)));
+            }
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (localCoalesced() < CONCURRENT_REQUESTS - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<RefreshResult> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS))
+                        .isEqualTo(RefreshResult.success("new-access-token", "new-refresh-token"));
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(localCoalesced()).isEqualTo(CONCURRENT_REQUESTS - 1);
+        verify(refreshTokenService, times(1)).rotateRefreshToken(OLD_TOKEN);
+        verify(jwtService, times(1)).generateToken(anyLong(), anyString());
+    }
+
+    @Test
+    void sealedGracePairRoundTrips() throws Exception {
+        String key = TokenRefreshService.graceKey(OLD_TOKEN);
+        String pair = "new-access-token\nnew-refresh-token";
+
+        String sealed = service.seal(OLD_TOKEN, key, pair);
+
+        assertThat(sealed).doesNotContain("new-access-token").doesNotContain("new-refresh-token");
+        assertThat(TokenRefreshService.open(OLD_TOKEN, key, sealed)).isEqualTo(pair);
+        // IV 가 매번 달라 같은 값도 다른 암호문
+        assertThat(service.seal(OLD_TOKEN, key, pair)).isNotEqualTo(sealed);
+    }
+
+    @Test
+    void sealedGracePairIsRejectedUnderDifferentKey() throws Exception {
+        String key = TokenRefreshService.graceKey(OLD_TOKEN);
+        String sealed = service.seal(OLD_TOKEN, key, "new-access-token\nnew-refresh-token");
+
+        // 다른 Refresh Token 에서 유도한 암호화 키
+        assertThatThrownBy(() -> TokenRefreshService.open("other-refresh-token", key, sealed))
+                .isInstanceOf(AEADBadTagException.class);
+        // 다른 grace 키로 옮겨진 값 (AAD 불일치)
+        assertThatThrownBy(() -> TokenRefreshService.open(
+                OLD_TOKEN, TokenRefreshService.graceKey("other-refresh-token"), sealed))
+                .isInstanceOf(AEADBadTagException.class);
+    }
+
+    private double localCoalesced() {
+        return meterRegistry.get("auth.refresh.coalesced").tag("scope", "local").counter().count();
+    }
+}
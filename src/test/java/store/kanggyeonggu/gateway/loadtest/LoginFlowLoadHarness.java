@@ -0,0 +1,312 @@
+package store.kanggyeonggu.gateway.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로그인 흐름 부하 테스트 도구
+ *
+ * loadtest 프로파일로 띄운 서버 (OAuth Provider 시뮬레이터 사용) 를 대상으로
+ * 가상 사용자마다 아래 사이클을 반복하고, 단계별 처리량과 지연 분포 (p50/p99/p999) 를 출력
+ *
+ * 사이클:
+ * 1. login   : GET  /auth/{provider}/callback?code=user-{n} → 302 (token, refresh_token 쿠키)
+ * 2. me      : GET  /api/users/me (Bearer)
+ * 3. refresh : POST /api/auth/refresh (refresh_token 쿠키)
+ * 4. logout  : POST /api/auth/logout (Bearer + 쿠키)
+ *
+ * 실행:
+ * SPRING_PROFILES_ACTIVE=loadtest ./gradlew bootRun
+ * ./gradlew loadTest -Dloadtest.concurrency=100 -Dloadtest.duration-seconds=60
+ *
+ * 옵션 (시스템 프로퍼티):
+ * - loadtest.base-url (http://localhost:8080)
+ * - loadtest.concurrency (50) : 동시 가상 사용자 수
+ * - loadtest.duration-seconds (60) : 측정 시간
+ * - loadtest.warmup-seconds (10) : 측정 전 예열 시간 (집계 제외)
+ * - loadtest.providers (kakao,naver,google)
+ * - loadtest.users (10000) : 인가 코드 user-{n} 의 n 범위
+ */
+public class LoginFlowLoadHarness {
+
+    // 기록 가능한 최대 지연 (60초, 마이크로초 단위)
+    private static final long MAX_LATENCY_MICROS = 60_000_000L;
+
+    private static final List<String> STAGES = List.of("login", "me", "refresh", "logout", "cycle");
+
+    private static final Pattern ACCESS_TOKEN_JSON = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern REFRESH_COOKIE = Pattern.compile("refresh_token=([^;]*)");
+
+    private final URI baseUri;
+    private final List<String> providers;
+    private final int users;
+    private final HttpClient httpClient;
+
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private volatile boolean recording;
+
+    LoginFlowLoadHarness(URI baseUri, List<String> providers, int users) {
+        this.baseUri = baseUri;
+        this.providers = providers;
+        this.users = users;
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        for (String stage : STAGES) {
+            // 1µs ~ 60s 범위, 유효숫자 3자리
+            latencies.put(stage, new ConcurrentHistogram(1, MAX_LATENCY_MICROS, 3));
+            errors.put(stage, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(System.getProperty("loadtest.base-url", "http://localhost:8080"));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        List<String> providers = List.of(System.getProperty("loadtest.providers", "kakao,naver,google").split(","));
+        int users = Integer.getInteger("loadtest.users", 10000);
+
+        System.out.printf("▶ 부하 테스트 시작: target=%s, concurrency=%d, warmup=%ds, duration=%ds, providers=%s, users=%d%n",
+                baseUri, concurrency, warmupSeconds, durationSeconds, providers, users);
+
+        LoginFlowLoadHarness harness = new LoginFlowLoadHarness(baseUri, providers, users);
+        harness.run(concurrency, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(durationSeconds));
+    }
+
+    void run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                virtualUsers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        runCycle();
+                    }
+                });
+            }
+
+            Thread.sleep(warmup.toMillis());
+            resetStats();
+            recording = true;
+            long measureStart = System.nanoTime();
+
+            virtualUsers.shutdown();
+            while (!virtualUsers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // 측정 종료까지 대기
+            }
+
+            recording = false;
+            report(Duration.ofNanos(System.nanoTime() - measureStart));
+        }
+    }
+
+    // ========================================
+    // 사이클
+    // ========================================
+
+    private void runCycle() {
+        long cycleStart = System.nanoTime();
+        String provider = providers.get(ThreadLocalRandom.current().nextInt(providers.size()));
+        String code = "user-" + ThreadLocalRandom.current().nextInt(users);
+
+        // 1. login
+        String[] session = stage("login", () -> login(provider, code));
+        if (session == null) {
+            return;
+        }
+
+        // 2. me
+        Boolean meOk = stage("me", () -> me(session[0]));
+        if (meOk == null) {
+            return;
+        }
+
+        // 3. refresh
+        String[] refreshed = stage("refresh", () -> refresh(session[1]));
+        if (refreshed == null) {
+            return;
+        }
+
+        // 4. logout
+        Boolean loggedOut = stage("logout", () -> logout(refreshed[0], refreshed[1]));
+        if (loggedOut == null) {
+            return;
+        }
+
+        record("cycle", System.nanoTime() - cycleStart);
+    }
+
+    private String[] login(String provider, String code) throws Exception {
+        HttpResponse<Void> response = httpClient.send(
+                HttpRequest.newBuilder(baseUri.resolve("/auth/" + provider + "/callback?code=" + code))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        String location = response.headers().firstValue("Location").orElse("");
+        String accessToken = queryParam(location, "token");
+        String refreshToken = refreshCookie(response);
+
+        if (response.statusCode() != 302 || accessToken == null || refreshToken == null) {
+            throw new IllegalStateException("login 실패: status=" + response.statusCode() + ", location=" + location);
+        }
+        return new String[] { accessToken, refreshToken };
+    }
+
+    private Boolean me(String accessToken) throws Exception {
+        HttpResponse<Void> response = httpClient.send(
+                HttpRequest.newBuilder(baseUri.resolve("/api/users/me"))
+                        .header("Authorization", "Bearer " + accessToken)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        expectOk("me", response);
+        return true;
+    }
+
+    private String[] refresh(String refreshToken) throws Exception {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(baseUri.resolve("/api/auth/refresh"))
+                        .header("Cookie", "refresh_token=" + refreshToken)
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        expectOk("refresh", response);
+
+        Matcher matcher = ACCESS_TOKEN_JSON.matcher(response.body());
+        String newRefreshToken = refreshCookie(response);
+        if (!matcher.find() || newRefreshToken == null) {
+            throw new IllegalStateException("refresh 응답에 토큰 없음");
+        }
+        return new String[] { matcher.group(1), newRefreshToken };
+    }
+
+    private Boolean logout(String accessToken, String refreshToken) throws Exception {
+        HttpResponse<Void> response = httpClient.send(
+                HttpRequest.newBuilder(baseUri.resolve("/api/auth/logout"))
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header("Cookie", "refresh_token=" + refreshToken)
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        expectOk("logout", response);
+        return true;
+    }
+
+    // ========================================
+    // 측정
+    // ========================================
+
+    @FunctionalInterface
+    private interface Step<T> {
+        T call() throws Exception;
+    }
+
+    private <T> T stage(String name, Step<T> step) {
+        long start = System.nanoTime();
+        try {
+            T result = step.call();
+            record(name, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            if (recording) {
+                errors.get(name).incrementAndGet();
+            }
+            return null;
+        }
+    }
+
+    private void record(String stage, long elapsedNanos) {
+        if (recording) {
+            latencies.get(stage).recordValue(Math.max(1, elapsedNanos / 1000));
+        }
+    }
+
+    private void resetStats() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(counter -> counter.set(0));
+    }
+
+    private void report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+
+        System.out.println();
+        System.out.printf("■ 결과 (측정 %.1fs)%n", seconds);
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "stage", "count", "errors", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+
+        for (String stage : STAGES) {
+            Histogram histogram = latencies.get(stage);
+            System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    stage,
+                    histogram.getTotalCount(),
+                    errors.get(stage).get(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    // ========================================
+    // 유틸
+    // ========================================
+
+    private static void expectOk(String stage, HttpResponse<?> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(stage + " 실패: status=" + response.statusCode());
+        }
+    }
+
+    private static String refreshCookie(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            Matcher matcher = REFRESH_COOKIE.matcher(header);
+            if (matcher.find() && !matcher.group(1).isEmpty()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    private static String queryParam(String url, String name) {
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+        for (String pair : url.substring(queryStart + 1).split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,223 @@
+package store.kanggyeonggu.gateway.oauthservice.google;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.oauthservice.config.GoogleIdTokenProperties;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthTimeoutProperties;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 구글 id_token 로컬 검증
+ *
+ * 로컬에서 만든 RSA 키로 서명하고, JWKS 응답은 WebClient 교환 함수로 대신 돌려줌 (네트워크 없음)
+ * - 서명 / iss / aud / exp 검증
+ * - kid 교체: 모르는 kid면 JWKS 재조회, 최소 간격 안에서는 재조회하지 않음
+ */
+class GoogleIdTokenVerifierTests {
+
+    private static final String CLIENT_ID = "client-id.apps.googleusercontent.com";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, KeyPair> published = new LinkedHashMap<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private GoogleIdTokenProperties properties;
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        published.put("key-1", rsaKeyPair());
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    fetches.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=3600")
+                            .body(jwks())
+                            .build());
+                })
+                .build();
+
+        properties = new GoogleIdTokenProperties();
+        verifier = new GoogleIdTokenVerifier(webClient, properties, new OAuthTimeoutProperties(), objectMapper);
+        ReflectionTestUtils.setField(verifier, "googleClientId", CLIENT_ID);
+        ReflectionTestUtils.setField(verifier, "googleJwksUri", "https://www.googleapis.com/oauth2/v3/certs");
+    }
+
+    @Test
+    void acceptsTokenFromBothGoogleIssuers() {
+        for (String issuer : List.of("accounts.google.com", "https://accounts.google.com")) {
+            Claims claims = verify(token("key-1", builder -> builder.issuer(issuer)));
+
+            assertThat(claims.getIssuer()).isEqualTo(issuer);
+            assertThat(claims.getSubject()).isEqualTo("1234567890");
+        }
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void rejectsBadSignature() {
+        // 같은 kid, 다른 키로 서명
+        String forged = sign(rsaKeyPair(), "key-1", UnaryOperator.identity());
+
+        assertThatThrownBy(() -> verify(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        String token = token("key-1", builder -> builder.issuer("https://accounts.example.com"));
+
+        assertThatThrownBy(() -> verify(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("발급자");
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        String token = token("key-1", builder -> builder.audience().single("other-client"));
+
+        assertThatThrownBy(() -> verify(token)).isInstanceOf(IncorrectClaimException.class);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        // clock-skew (60초) 를 넘겨 만료
+        Instant expiredAt = Instant.now().minusSeconds(properties.getClockSkewSeconds() + 60);
+        String token = token("key-1", builder -> builder.expiration(Date.from(expiredAt)));
+
+        assertThatThrownBy(() -> verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void acceptsTokenExpiredWithinClockSkew() {
+        Instant expiredAt = Instant.now().minusSeconds(properties.getClockSkewSeconds() / 2);
+        String token = token("key-1", builder -> builder.expiration(Date.from(expiredAt)));
+
+        assertThat(verify(token).getSubject()).isEqualTo("1234567890");
+    }
+
+    @Test
+    void rejectsTokenWithoutExpiration() {
+        String token = token("key-1", builder -> builder.expiration(null));
+
+        assertThatThrownBy(() -> verify(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exp");
+    }
+
+    @Test
+    void refetchesJwksForUnknownKidAfterRotation() {
+        properties.setMinRefreshIntervalMs(0);
+        verify(token("key-1", UnaryOperator.identity()));
+
+        // 구글이 key-1 을 내리고 key-2 로 교체
+        published.clear();
+        published.put("key-2", rsaKeyPair());
+
+        Claims claims = verify(token("key-2", UnaryOperator.identity()));
+
+        assertThat(claims.getSubject()).isEqualTo("1234567890");
+        assertThat(fetches).hasValue(2);
+        // 교체된 키 목록만 캐시에 남음
+        assertThatThrownBy(() -> verify(token("key-1", UnaryOperator.identity())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void doesNotRefetchUnknownKidWithinMinRefreshInterval() {
+        verify(token("key-1", UnaryOperator.identity()));
+        published.put("key-2", rsaKeyPair());
+
+        assertThatThrownBy(() -> verify(token("key-2", UnaryOperator.identity())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("kid");
+        assertThat(fetches).hasValue(1);
+    }
+
+    private Claims verify(String idToken) {
+        return verifier.verify(idToken).block();
+    }
+
+    private String token(String kid, UnaryOperator<JwtBuilder> customizer) {
+        return sign(published.get(kid), kid, customizer);
+    }
+
+    private static String sign(KeyPair keyPair, String kid, UnaryOperator<JwtBuilder> customizer) {
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(CLIENT_ID).and()
+                .subject("1234567890")
+                .claim("email", "user@example.com")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)));
+        return customizer.apply(builder)
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private String jwks() {
+        List<Map<String, String>> keys = published.entrySet().stream()
+                .map(entry -> {
+                    RSAPublicKey key = (RSAPublicKey) entry.getValue().getPublic();
+                    return Map.of(
+                            "kty", "RSA",
+                            "alg", "RS256",
+                            "use", "sig",
+                            "kid", entry.getKey(),
+                            "n", base64Url(key.getModulus()),
+                            "e", base64Url(key.getPublicExponent()));
+                })
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(Map.of("keys", keys));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+    }
+
+    private static KeyPair rsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
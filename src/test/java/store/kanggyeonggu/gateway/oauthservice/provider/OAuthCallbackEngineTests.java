@@ -0,0 +1,134 @@
+package store.kanggyeonggu.gateway.oauthservice.provider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionTimedOutException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.oauthservice.config.OAuthBulkheadProperties;
+import store.kanggyeonggu.gateway.oauthservice.service.OAuthLoginService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * OAuth 콜백 엔진: bulkhead 한도 반환 시점과 persist 타임아웃 메트릭
+ *
+ * - persist 중 구독이 취소돼도 저장이 끝날 때까지 한도를 점유
+ * - persist 전 취소는 바로 반환
+ * - DB 트랜잭션 타임아웃은 outcome=timeout
+ */
+class OAuthCallbackEngineTests {
+
+    private static final String PROVIDER = "kakao";
+    private static final OAuthProfile PROFILE = new OAuthProfile(PROVIDER, "123", "별명", null, null);
+
+    private IoExecutor ioExecutor;
+    private MeterRegistry meterRegistry;
+    private OAuthProvider provider;
+    private OAuthCallbackEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ioExecutor = new IoExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+
+        provider = mock(OAuthProvider.class);
+        when(provider.name()).thenReturn(PROVIDER);
+        when(provider.exchangeCode("code")).thenReturn(Mono.just(OAuthTokens.of("access")));
+        when(provider.fetchProfile(OAuthTokens.of("access"))).thenReturn(Mono.just(PROFILE));
+
+        OAuthBulkheadProperties bulkheadProperties = new OAuthBulkheadProperties();
+        bulkheadProperties.setMaxConcurrent(1);
+
+        engine = new OAuthCallbackEngine(List.of(provider), mock(OAuthLoginService.class), ioExecutor,
+                bulkheadProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.destroy();
+    }
+
+    @Test
+    void cancelledCallbackHoldsPermitUntilPersistFinishes() throws Exception {
+        CountDownLatch persisting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Disposable subscription = engine.process(PROVIDER, "code", profile -> {
+            persisting.countDown();
+            awaitQuietly(release);
+            return "saved";
+        }).subscribe();
+        assertThat(persisting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 비동기 요청 타임아웃 / 클라이언트 연결 끊김
+        subscription.dispose();
+
+        assertThat(inflight()).isEqualTo(1);
+        assertThatThrownBy(() -> engine.process(PROVIDER, "code", profile -> "other").block())
+                .isInstanceOf(OAuthBulkheadFullException.class);
+
+        release.countDown();
+        awaitInflight(0);
+
+        assertThat(engine.process(PROVIDER, "code", profile -> "next").block()).isEqualTo("next");
+    }
+
+    @Test
+    void callbackCancelledBeforePersistReleasesPermit() {
+        when(provider.exchangeCode("slow")).thenReturn(Mono.never());
+
+        Disposable subscription = engine.process(PROVIDER, "slow", profile -> "saved").subscribe();
+        assertThat(inflight()).isEqualTo(1);
+
+        subscription.dispose();
+
+        assertThat(inflight()).isEqualTo(0);
+    }
+
+    @Test
+    void persistTransactionTimeoutIsTaggedAsTimeout() throws Exception {
+        assertThatThrownBy(() -> engine.process(PROVIDER, "code", profile -> {
+            throw new TransactionTimedOutException("deadline reached");
+        }).block()).isInstanceOf(TransactionTimedOutException.class);
+
+        assertThat(meterRegistry.get("oauth.callback.stage")
+                .tag("stage", "persist")
+                .tag("outcome", "timeout")
+                .timer()
+                .count()).isEqualTo(1);
+        awaitInflight(0);
+    }
+
+    private double inflight() {
+        return meterRegistry.get("oauth.callback.inflight").tag("provider", PROVIDER).gauge().value();
+    }
+
+    private void awaitInflight(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (inflight() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(inflight()).isEqualTo(expected);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package store.kanggyeonggu.gateway.oauthservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import store.kanggyeonggu.gateway.common.async.IoExecutor;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.cache.UserCacheProperties;
+import store.kanggyeonggu.gateway.common.cache.UserCounters;
+import store.kanggyeonggu.gateway.common.entity.User;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceProperties;
+import store.kanggyeonggu.gateway.common.redis.KeyspaceStats;
+import store.kanggyeonggu.gateway.common.repository.OAuthUpsertResult;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.oauthservice.config.PostLoginQueueProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로그인 후속 작업이 버려져도 사용자 캐시가 Upsert 결과를 따르는지 로컬 Redis (Testcontainers) 에서 확인
+ *
+ * 네이티브 Upsert 는 엔티티 리스너를 거치지 않으므로 OAuthUserService 가 직접 무효화
+ * - 큐가 가득 차 작업이 버려져도 다음 조회는 DB의 새 버전
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostLoginQueueDropTests {
+
+    private static final long USER_ID = 42L;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private IoExecutor ioExecutor;
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private OAuthUserService userService;
+    private PostLoginQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+
+        ioExecutor = new IoExecutor();
+        userRepository = mock(UserRepository.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KeyspaceStats keyspaceStats = new KeyspaceStats(redisTemplate, new KeyspaceProperties(), meterRegistry);
+        userCache = new UserCache(userRepository, redisTemplate, ioExecutor, new UserCacheProperties(),
+                keyspaceStats, meterRegistry);
+        userService = new OAuthUserService(userRepository, userCache, mock(UserCounters.class));
+
+        // 워커를 시작하지 않은 용량 1 큐: 두 번째 작업부터 버려짐 (queue_full)
+        PostLoginQueueProperties properties = new PostLoginQueueProperties();
+        properties.setCapacity(1);
+        queue = new PostLoginQueue(userService, userCache, mock(RedisTemplate.class), properties,
+                keyspaceStats, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ioExecutor.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void droppedEventDoesNotLeaveThePreLoginSnapshot() {
+        userCache.putAll(List.of(snapshot(1, "이전 별명", false)));
+        assertThat(userCache.get(USER_ID).orElseThrow().version()).isEqualTo(1);
+
+        User updated = upsertReturns(2, "새 별명", false);
+        queue.submit(updated, null);
+        assertThat(queue.submit(updated, null)).isFalse();
+
+        CachedUser read = userCache.get(USER_ID).orElseThrow();
+        assertThat(read.version()).isEqualTo(2);
+        assertThat(read.nickname()).isEqualTo("새 별명");
+    }
+
+    @Test
+    void restoredAccountIsNotReadAsDeletedAfterDrop() {
+        userCache.putAll(List.of(snapshot(3, "별명", true)));
+
+        User restored = upsertReturns(4, "별명", false);
+        queue.submit(restored, null);
+        assertThat(queue.submit(restored, null)).isFalse();
+
+        assertThat(userCache.get(USER_ID).orElseThrow().deleted()).isFalse();
+        assertThat(userCache.getVersion(USER_ID).orElseThrow().version()).isEqualTo(4);
+    }
+
+    // Upsert 가 행을 변경해 버전을 올렸고 DB 에도 그 값이 있음
+    private User upsertReturns(long version, String nickname, boolean deleted) {
+        CachedUser row = snapshot(version, nickname, deleted);
+        User user = User.builder()
+                .id(USER_ID).provider(row.provider()).providerId(row.providerId())
+                .nickname(nickname).name(row.name())
+                .createdAt(row.createdAt()).lastLoginAt(row.lastLoginAt())
+                .deleted(deleted).version(version).updatedAt(row.updatedAt())
+                .build();
+        when(userRepository.upsertOAuthUser(eq("kakao"), eq("31415"), any(), any(), any()))
+                .thenReturn(new OAuthUpsertResult(user, false, false, true));
+        when(userRepository.findSnapshotById(USER_ID)).thenReturn(Optional.of(row));
+
+        return userService.upsertUser("kakao", "31415", nickname, null, null);
+    }
+
+    private static CachedUser snapshot(long version, String nickname, boolean deleted) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new CachedUser(USER_ID, "kakao", "31415", nickname, "이름", null, null,
+                now, now, true, deleted, version, now.plusMinutes(version));
+    }
+}
@@ -0,0 +1,101 @@
+package store.kanggyeonggu.gateway.userservice.profile;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import store.kanggyeonggu.gateway.common.cache.CachedUser;
+import store.kanggyeonggu.gateway.common.cache.UserCache;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.userservice.profile.dto.ProfileUpdateRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 프로필 수정 → 사용자 캐시 부분 갱신 (ProfileService + 엔티티 리스너 + UserCache)
+ *
+ * saveAndFlush 의 @PostUpdate 무효화 (UserCacheInvalidationListener) 가
+ * 커밋 후 부분 갱신보다 먼저 해시를 지우지 않는지 실제 트랜잭션으로 확인
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=profile-cache-test-secret-key-0123456789abcdef",
+        "kakao.rest-api-key=test",
+        "naver.client-id=test",
+        "naver.client-secret=test",
+        "google.client-id=test",
+        "google.client-secret=test",
+        "app.oauth.http.warmup-enabled=false",
+        "app.oauth.google-id-token.enabled=false",
+        "app.token-cleanup.enabled=false",
+        "app.user-count.reconcile.enabled=false"
+})
+class ProfileServiceCacheTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    // RedisConfig 는 spring.data.redis.* 값으로 직접 연결 팩토리를 만듦
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.data.redis.password", () -> "");
+        registry.add("spring.data.redis.ssl.enabled", () -> "false");
+    }
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    void profileUpdatePatchesCachedHashInsteadOfEvicting() {
+        Long id = userRepository.upsertOAuthUser("kakao", "profile-cache-1", "별명", null, null).user().getId();
+        long before = userCache.get(id).orElseThrow().version();
+        String key = UserCache.KEY_PREFIX + id;
+        assertThat(redisTemplate.hasKey(key)).isTrue();
+
+        profileService.updateProfile(id, new ProfileUpdateRequest("바뀐 별명", null, null, null));
+
+        // 해시가 남아 있고 (무효화되지 않음) 변경 필드와 새 버전이 반영됨
+        assertThat(redisTemplate.hasKey(key)).isTrue();
+        assertThat(redisTemplate.opsForHash().get(key, CachedUser.NICKNAME)).isEqualTo("바뀐 별명");
+        assertThat(redisTemplate.opsForHash().get(key, CachedUser.VERSION)).isEqualTo(String.valueOf(before + 1));
+
+        CachedUser cached = userCache.get(id).orElseThrow();
+        assertThat(cached.nickname()).isEqualTo("바뀐 별명");
+        assertThat(cached.version()).isEqualTo(before + 1);
+        assertThat(userRepository.findSnapshotById(id).orElseThrow().version()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void unchangedProfileUpdateLeavesCacheAsIs() {
+        Long id = userRepository.upsertOAuthUser("kakao", "profile-cache-2", "별명", null, null).user().getId();
+        long before = userCache.get(id).orElseThrow().version();
+        String key = UserCache.KEY_PREFIX + id;
+
+        profileService.updateProfile(id, new ProfileUpdateRequest(null, " ", null, null));
+
+        assertThat(redisTemplate.opsForHash().get(key, CachedUser.VERSION)).isEqualTo(String.valueOf(before));
+    }
+}
@@ -0,0 +1,71 @@
+package store.kanggyeonggu.gateway.userservice.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import store.kanggyeonggu.gateway.common.repository.UserRepository;
+import store.kanggyeonggu.gateway.common.repository.UserSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CSV 내보내기: RFC 4180 이스케이프와 수식 주입 방지
+ *
+ * 제공자에서 받은 값 (nickname, name, email, profile_image_url) 이
+ * 스프레드시트에서 수식으로 실행되지 않도록 ' 를 붙이고 따옴표로 감싸는지 확인
+ */
+class UserExportServiceTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    @Test
+    void formulaLikeValuesArePrefixedAndQuoted() throws Exception {
+        String row = exportSingleRow(user("=HYPERLINK(\"http://evil\",\"x\")", "+1", "-2", "@SUM(A1)"));
+
+        assertThat(row).isEqualTo("1,kakao,123,"
+                + "\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\","
+                + "\"'+1\","
+                + "\"'-2\","
+                + "\"'@SUM(A1)\","
+                + "2025-01-02T03:04:05,,true");
+    }
+
+    @Test
+    void tabAndCarriageReturnPrefixesAreNeutralized() throws Exception {
+        String row = exportSingleRow(user("\tcmd", "\r=1+1", "plain", null));
+
+        assertThat(row).isEqualTo("1,kakao,123,\"'\tcmd\",\"'\r=1+1\",plain,,2025-01-02T03:04:05,,true");
+    }
+
+    @Test
+    void ordinaryValuesKeepRfc4180Escaping() throws Exception {
+        String row = exportSingleRow(user("별명", "Kim, \"K\"", "https://img/a-b.png", "a-b@example.com"));
+
+        assertThat(row).isEqualTo("1,kakao,123,별명,\"Kim, \"\"K\"\"\",https://img/a-b.png,a-b@example.com,"
+                + "2025-01-02T03:04:05,,true");
+    }
+
+    private static String exportSingleRow(UserSummary user) throws Exception {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.streamActive()).thenReturn(Stream.of(user));
+        UserExportService service = new UserExportService(userRepository, new ObjectMapper().findAndRegisterModules());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(service.export(null, UserExportService.Format.CSV, out)).isEqualTo(1);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(2);
+        return lines[1];
+    }
+
+    private static UserSummary user(String nickname, String name, String profileImageUrl, String email) {
+        return new UserSummary(1L, "kakao", "123", nickname, name, profileImageUrl, email,
+                CREATED_AT, null, true);
+    }
+}